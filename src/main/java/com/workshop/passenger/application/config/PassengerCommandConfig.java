@@ -0,0 +1,68 @@
+package com.workshop.passenger.application.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workshop.passenger.infraestructure.concurrency.StripedSerialExecutor;
+import com.workshop.passenger.infraestructure.outbox.EventSink;
+import com.workshop.passenger.infraestructure.outbox.FileEventSink;
+import com.workshop.passenger.infraestructure.outbox.InMemoryEventSink;
+import com.workshop.passenger.infraestructure.outbox.OutboxRelay;
+import com.workshop.passenger.infraestructure.outbox.PassengerOutbox;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.nio.file.Path;
+
+@Configuration
+public class PassengerCommandConfig {
+
+    @Bean(destroyMethod = "close")
+    public StripedSerialExecutor passengerCommandExecutor(PassengerCommandProperties commandProperties,
+                                                          MeterRegistry meterRegistry) {
+        PassengerCommandProperties.Serialization serialization = commandProperties.getSerialization();
+        StripedSerialExecutor passengerCommandExecutor = serialization.isEnabled()
+                ? new StripedSerialExecutor(serialization.getStripes(), serialization.getTaskTimeout())
+                : StripedSerialExecutor.disabled();
+        passengerCommandExecutor.bindTo(meterRegistry, "passengers.commands.serialization");
+        return passengerCommandExecutor;
+    }
+
+    @Bean
+    public PassengerOutbox passengerOutbox(PassengerCommandProperties commandProperties,
+                                           ReactiveMongoDatabaseFactory databaseFactory,
+                                           ReactiveMongoTemplate mongoTemplate,
+                                           MeterRegistry meterRegistry) {
+        PassengerCommandProperties.Outbox outbox = commandProperties.getOutbox();
+        PassengerOutbox passengerOutbox = outbox.isEnabled()
+                ? new PassengerOutbox(mongoTemplate,
+                        TransactionalOperator.create(new ReactiveMongoTransactionManager(databaseFactory)), outbox.getMaxAttempts())
+                : PassengerOutbox.disabled();
+        passengerOutbox.bindTo(meterRegistry, "passengers.outbox");
+        return passengerOutbox;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public OutboxRelay passengerOutboxRelay(PassengerCommandProperties commandProperties,
+                                            ReactiveMongoTemplate mongoTemplate,
+                                            ObjectMapper objectMapper,
+                                            MeterRegistry meterRegistry) {
+        PassengerCommandProperties.Outbox outbox = commandProperties.getOutbox();
+        PassengerCommandProperties.Outbox.Relay relay = outbox.getRelay();
+        OutboxRelay passengerOutboxRelay = outbox.isEnabled() && relay.isEnabled()
+                ? new OutboxRelay(mongoTemplate, eventSink(relay, objectMapper), relay.getBatchSize(), relay.getPollInterval(),
+                        relay.getLeaseDuration())
+                : OutboxRelay.disabled();
+        passengerOutboxRelay.bindTo(meterRegistry, "passengers.outbox.relay");
+        return passengerOutboxRelay;
+    }
+
+    private static EventSink eventSink(PassengerCommandProperties.Outbox.Relay relay, ObjectMapper objectMapper) {
+        return relay.getSink() == PassengerCommandProperties.Outbox.Sink.MEMORY
+                ? new InMemoryEventSink()
+                : new FileEventSink(Path.of(relay.getFilePath()), objectMapper);
+    }
+}
@@ -0,0 +1,91 @@
+package com.workshop.passenger.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "passengers.commands")
+public class PassengerCommandProperties {
+
+    private Retry retry = new Retry();
+
+    private Serialization serialization = new Serialization();
+
+    private Bulk bulk = new Bulk();
+
+    private TripBuckets tripBuckets = new TripBuckets();
+
+    private Outbox outbox = new Outbox();
+
+    @Data
+    public static class Retry {
+
+        private int maxAttempts = 3;
+
+        private Duration minBackoff = Duration.ofMillis(10);
+
+        private Duration maxBackoff = Duration.ofMillis(200);
+    }
+
+    @Data
+    public static class Serialization {
+
+        private boolean enabled = false;
+
+        private int stripes = 64;
+
+        private Duration taskTimeout = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class Bulk {
+
+        private int batchSize = 500;
+
+        private int concurrency = 2;
+    }
+
+    @Data
+    public static class TripBuckets {
+
+        private boolean enabled = false;
+
+        private int inlineLimit = 50;
+
+        private int bucketSize = 100;
+    }
+
+    @Data
+    public static class Outbox {
+
+        private boolean enabled = false;
+
+        private int maxAttempts = 3;
+
+        private Relay relay = new Relay();
+
+        @Data
+        public static class Relay {
+
+            private boolean enabled = true;
+
+            private int batchSize = 100;
+
+            private Duration pollInterval = Duration.ofSeconds(1);
+
+            private Duration leaseDuration = Duration.ofSeconds(30);
+
+            private Sink sink = Sink.FILE;
+
+            private String filePath = "passenger-events.jsonl";
+        }
+
+        public enum Sink {
+            MEMORY, FILE
+        }
+    }
+}
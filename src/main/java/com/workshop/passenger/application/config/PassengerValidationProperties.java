@@ -0,0 +1,22 @@
+package com.workshop.passenger.application.config;
+
+import com.workshop.passenger.domain.operations.UnavailableDependencyPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "passengers.validation")
+public class PassengerValidationProperties {
+
+    private int concurrency = 8;
+
+    private UnavailableDependencyPolicy unavailableDependencies = UnavailableDependencyPolicy.REJECT;
+
+    private boolean checkStops = false;
+
+    private boolean checkSchedule = false;
+
+    private boolean checkOverlaps = false;
+}
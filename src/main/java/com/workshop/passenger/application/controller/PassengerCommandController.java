@@ -1,14 +1,19 @@
 package com.workshop.passenger.application.controller;
 
+import com.workshop.passenger.application.dto.BulkPassengerResult;
+import com.workshop.passenger.application.dto.BulkTripResult;
 import com.workshop.passenger.application.dto.PassengerUpdateDTO;
+import com.workshop.passenger.application.dto.TripAssignment;
 import com.workshop.passenger.application.response.service.PassengerResponseService;
 import com.workshop.passenger.application.services.PassengerCommandService;
 import com.workshop.passenger.domain.model.aggregates.Passenger;
 import com.workshop.passenger.domain.model.entities.Trip;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
@@ -34,6 +39,13 @@ public class PassengerCommandController {
                 .doOnSuccess(response -> logger.info("Successfully created passenger with NAME: {}", response.getBody().getName()));
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkPassengerResult> createPassengers(@RequestBody Flux<Passenger> passengers) {
+        logger.info("Attempting to bulk create passengers");
+        return passengerCommandService.createPassengers(passengers)
+                .doOnComplete(() -> logger.info("Successfully processed bulk passenger creation"));
+    }
+
     @PutMapping("/{id}")
     public Mono<ResponseEntity<Passenger>> updatePassenger(
             @PathVariable String id,
@@ -62,6 +74,13 @@ public class PassengerCommandController {
                 .doOnSuccess(response -> logger.info("Successfully added trip with ID: {} to passenger with ID: {}", trip.getTripId(), id));
     }
 
+    @PostMapping(value = "/trips:batch", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkTripResult> addTripsToPassengers(@RequestBody Flux<TripAssignment> assignments) {
+        logger.info("Attempting to add a batch of trips to passengers");
+        return passengerCommandService.addTripsToPassengers(assignments)
+                .doOnComplete(() -> logger.info("Successfully processed trip batch"));
+    }
+
     @DeleteMapping("/{passengerId}/trips/{tripId}")
     public Mono<ResponseEntity<Passenger>> removeTripFromPassenger(
             @PathVariable String passengerId,
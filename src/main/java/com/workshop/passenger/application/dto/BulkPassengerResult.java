@@ -0,0 +1,25 @@
+package com.workshop.passenger.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkPassengerResult {
+
+    private long index;
+
+    private String passengerId;
+
+    private Status status;
+
+    private String message;
+
+    public enum Status {
+        CREATED, REJECTED, FAILED
+    }
+}
@@ -0,0 +1,27 @@
+package com.workshop.passenger.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkTripResult {
+
+    private long index;
+
+    private String passengerId;
+
+    private String tripId;
+
+    private Status status;
+
+    private String message;
+
+    public enum Status {
+        ADDED, DUPLICATE, REJECTED, NOT_FOUND, FAILED
+    }
+}
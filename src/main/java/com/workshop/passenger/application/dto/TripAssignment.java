@@ -0,0 +1,25 @@
+package com.workshop.passenger.application.dto;
+
+import com.workshop.passenger.domain.model.entities.Trip;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TripAssignment {
+
+    @NotBlank(message = "Passenger ID is required")
+    private String passengerId;
+
+    @NotNull(message = "Trip is required")
+    @Valid
+    private Trip trip;
+}
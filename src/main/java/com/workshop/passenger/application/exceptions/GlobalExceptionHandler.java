@@ -1,7 +1,12 @@
 package com.workshop.passenger.application.exceptions;
 
+import com.workshop.passenger.domain.exception.DependencyUnavailableException;
+import com.workshop.passenger.domain.exception.InvalidTripException;
 import com.workshop.passenger.domain.exception.PassengerNotFoundException;
+import com.workshop.passenger.domain.exception.TripConflictException;
 import com.workshop.passenger.domain.exception.TripNotFoundException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConversionException;
@@ -15,10 +20,15 @@ import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Pattern DUPLICATE_KEY_FIELD = Pattern.compile("dup key: \\{ ?\"?([\\w.]+)\"?\\s*:");
+
     @ExceptionHandler(PassengerNotFoundException.class)
     public Mono<ResponseEntity<ErrorResponse>> handlePassengerNotFoundException(PassengerNotFoundException ex) {
         ErrorResponse errorResponse = ErrorResponse.builder()
@@ -39,6 +49,58 @@ public class GlobalExceptionHandler {
         return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse));
     }
 
+    @ExceptionHandler(InvalidTripException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleInvalidTrip(InvalidTripException ex) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .message(ex.getMessage())
+                .errorCode("INVALID_TRIP")
+                .status(HttpStatus.BAD_REQUEST)
+                .build();
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse));
+    }
+
+    @ExceptionHandler(TripConflictException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleTripConflict(TripConflictException ex) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .message(ex.getMessage())
+                .errorCode("TRIP_CONFLICT")
+                .status(HttpStatus.CONFLICT)
+                .build();
+        return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse));
+    }
+
+    @ExceptionHandler(DependencyUnavailableException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleDependencyUnavailable(DependencyUnavailableException ex) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .message(ex.getMessage())
+                .errorCode("DEPENDENCY_UNAVAILABLE")
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .build();
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .message(ex.getMessage())
+                .errorCode("CONCURRENT_MODIFICATION")
+                .status(HttpStatus.CONFLICT)
+                .build();
+        return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse));
+    }
+
+    @ExceptionHandler(DuplicateKeyException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleDuplicateKey(DuplicateKeyException ex) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .message(duplicateField(ex)
+                        .map(field -> "A passenger with this " + field + " already exists")
+                        .orElse("A passenger with the same unique details already exists"))
+                .errorCode("DUPLICATE_PASSENGER")
+                .status(HttpStatus.CONFLICT)
+                .build();
+        return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public Mono<ResponseEntity<ErrorResponse>> handleIllegalArgument(IllegalArgumentException e, WebRequest request) {
         ErrorResponse errorResponse = ErrorResponse.builder()
@@ -104,4 +166,9 @@ public class GlobalExceptionHandler {
                 .build();
         return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse));
     }
+
+    private static Optional<String> duplicateField(DuplicateKeyException ex) {
+        Matcher matcher = DUPLICATE_KEY_FIELD.matcher(String.valueOf(ex.getMessage()));
+        return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+    }
 }
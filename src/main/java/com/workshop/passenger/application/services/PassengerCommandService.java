@@ -1,19 +1,27 @@
 package com.workshop.passenger.application.services;
 
+import com.workshop.passenger.application.dto.BulkPassengerResult;
+import com.workshop.passenger.application.dto.BulkTripResult;
 import com.workshop.passenger.application.dto.PassengerUpdateDTO;
+import com.workshop.passenger.application.dto.TripAssignment;
 import com.workshop.passenger.domain.model.aggregates.Passenger;
 import com.workshop.passenger.domain.model.entities.Trip;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface PassengerCommandService {
 
     Mono<Passenger> createPassenger(Passenger passenger);
 
+    Flux<BulkPassengerResult> createPassengers(Flux<Passenger> passengers);
+
     Mono<Passenger> updatePassenger(String passengerId, PassengerUpdateDTO updatedPassengerDto);
 
     Mono<Void> deletePassenger(String passengerId);
 
     Mono<Passenger> addTripToPassenger(String passengerId, Trip trip);
 
+    Flux<BulkTripResult> addTripsToPassengers(Flux<TripAssignment> assignments);
+
     Mono<Passenger> removeTripFromPassenger(String passengerId, String tripId);
 }
@@ -1,17 +1,49 @@
 package com.workshop.passenger.application.services;
 
+import com.workshop.passenger.application.config.PassengerCommandProperties;
+import com.workshop.passenger.application.config.PassengerValidationProperties;
+import com.workshop.passenger.application.dto.BulkPassengerResult;
+import com.workshop.passenger.application.dto.BulkTripResult;
 import com.workshop.passenger.application.dto.PassengerUpdateDTO;
+import com.workshop.passenger.application.dto.TripAssignment;
+import com.workshop.passenger.domain.exception.InvalidPassengerException;
+import com.workshop.passenger.domain.exception.TripConflictException;
 import com.workshop.passenger.domain.model.aggregates.Passenger;
 import com.workshop.passenger.domain.model.entities.Trip;
+import com.workshop.passenger.domain.model.events.PassengerEvent;
 import com.workshop.passenger.domain.model.mapper.PassengerMapper;
 import com.workshop.passenger.domain.operations.PassengerTripOperations;
 import com.workshop.passenger.domain.operations.PassengerTripValidator;
+import com.workshop.passenger.domain.operations.PassengerValidationOperations;
 import com.workshop.passenger.domain.operations.PassengerValidator;
+import com.workshop.passenger.domain.operations.TripOverlapIndex;
+import com.workshop.passenger.domain.operations.TripValidationRules;
 import com.workshop.passenger.domain.repository.PassengerCommandRepository;
 import com.workshop.passenger.infraestructure.Route.service.RouteService;
 import com.workshop.passenger.infraestructure.Vehicle.service.VehicleService;
+import com.workshop.passenger.infraestructure.concurrency.StripedSerialExecutor;
+import com.workshop.passenger.infraestructure.outbox.PassengerOutbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.types.ObjectId;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.retry.Retry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 public class PassengerCommandServiceImpl implements PassengerCommandService {
@@ -19,56 +51,489 @@ public class PassengerCommandServiceImpl implements PassengerCommandService {
     private final PassengerCommandRepository passengerCommandRepository;
     private final RouteService routeService;
     private final VehicleService vehicleService;
+    private final PassengerValidationProperties validationProperties;
+    private final PassengerCommandProperties commandProperties;
+    private final StripedSerialExecutor commandExecutor;
+    private final PassengerOutbox passengerOutbox;
+    private final MeterRegistry meterRegistry;
+    private final Counter conflictRetries;
+    private final Counter ignoredDuplicateTrips;
+    private final Counter rejectedDuplicateTrips;
+    private final Counter archivedTrips;
+    private final Timer commandTimer;
 
     public PassengerCommandServiceImpl(PassengerCommandRepository passengerCommandRepository,
                                        RouteService routeService,
-                                       VehicleService vehicleService) {
+                                       VehicleService vehicleService,
+                                       PassengerValidationProperties validationProperties,
+                                       PassengerCommandProperties commandProperties,
+                                       StripedSerialExecutor commandExecutor,
+                                       PassengerOutbox passengerOutbox,
+                                       MeterRegistry meterRegistry) {
         this.passengerCommandRepository = passengerCommandRepository;
         this.routeService = routeService;
         this.vehicleService = vehicleService;
+        this.validationProperties = validationProperties;
+        this.commandProperties = commandProperties;
+        this.commandExecutor = commandExecutor;
+        this.passengerOutbox = passengerOutbox;
+        this.meterRegistry = meterRegistry;
+        this.conflictRetries = meterRegistry.counter("passengers.commands.conflict-retries");
+        this.ignoredDuplicateTrips = meterRegistry.counter("passengers.trips.duplicates", "outcome", "ignored");
+        this.rejectedDuplicateTrips = meterRegistry.counter("passengers.trips.duplicates", "outcome", "rejected");
+        this.archivedTrips = meterRegistry.counter("passengers.trips.archived");
+        this.commandTimer = Timer.builder("passengers.commands.duration")
+                .tag("mode", commandExecutor.isEnabled() ? "serialized" : "concurrent")
+                .register(meterRegistry);
     }
 
     @Override
     public Mono<Passenger> createPassenger(Passenger passenger) {
-        return PassengerTripValidator.validateTripsInPassenger(passenger, routeService, vehicleService)
-                .then(passengerCommandRepository.save(passenger));
+        return validateTrips(passenger)
+                .then(passengerOutbox.transactional(Mono.defer(() -> recorded(passengerCommandRepository.save(PassengerMapper.copyOf(passenger)),
+                        PassengerEvent::created))));
+    }
+
+    @Override
+    public Flux<BulkPassengerResult> createPassengers(Flux<Passenger> passengers) {
+        PassengerCommandProperties.Bulk bulk = commandProperties.getBulk();
+        return passengers.index()
+                .buffer(bulk.getBatchSize())
+                .flatMapSequential(this::createPassengerChunk, bulk.getConcurrency())
+                .doOnNext(result -> meterRegistry.counter("passengers.bulk.records", "status", result.getStatus().name()).increment());
     }
 
     @Override
     public Mono<Passenger> updatePassenger(String passengerId, PassengerUpdateDTO updatedPassengerDto) {
-        return PassengerValidator.findPassengerById(passengerCommandRepository, passengerId)
+        boolean profileOnly = updatedPassengerDto.getTrips() == null;
+        return retryOnConflict(Mono.defer(() -> profileOnly
+                        ? PassengerValidator.findPassengerProfile(passengerCommandRepository, passengerId)
+                        : PassengerValidator.findPassengerById(passengerCommandRepository, passengerId))
                 .flatMap(existingPassenger -> {
+                    Passenger storedPassenger = PassengerMapper.copyOf(existingPassenger);
                     PassengerMapper.mapToExistingPassenger(updatedPassengerDto, existingPassenger);
-                    PassengerTripValidator.initializeTripsIfNull(existingPassenger);
-                    return PassengerTripValidator.validateTripsInPassenger(existingPassenger, routeService, vehicleService)
-                            .then(passengerCommandRepository.save(existingPassenger));
-                });
+                    if (!profileOnly) {
+                        PassengerTripValidator.initializeTripsIfNull(existingPassenger);
+                    }
+                    return (profileOnly ? Mono.<Void>empty() : PassengerTripValidator.validateChangedTrips(storedPassenger.getTrips(),
+                                    existingPassenger, routeService, vehicleService, tripValidationRules()))
+                            .then(Mono.defer(() -> {
+                                Map<String, Object> changedFields = PassengerMapper.changedFields(storedPassenger, existingPassenger);
+                                if (profileOnly) {
+                                    changedFields.remove("trips");
+                                }
+                                if (changedFields.isEmpty()) {
+                                    return profileOnly
+                                            ? PassengerValidator.findPassengerById(passengerCommandRepository, passengerId)
+                                            : Mono.just(existingPassenger);
+                                }
+                                return onPassenger(passengerId, () -> passengerOutbox.transactional(recorded(passengerCommandRepository.setFields(passengerId,
+                                                storedPassenger.getVersion(), changedFields),
+                                        updated -> PassengerEvent.updated(passengerId, updated.getVersion(), changedFields))))
+                                        .switchIfEmpty(PassengerValidationOperations.passengerNotFound("Passenger not found for ID: " + passengerId));
+                            }));
+                }));
     }
 
 
     @Override
     public Mono<Void> deletePassenger(String passengerId) {
-        return PassengerValidator.findPassengerById(passengerCommandRepository, passengerId)
-                .flatMap(passenger -> passengerCommandRepository.deleteById(passengerId).then());
+        return onPassenger(passengerId, () -> passengerOutbox.transactional(PassengerValidator.deletePassengerById(passengerCommandRepository, passengerId)
+                .flatMap(removed -> (commandProperties.getTripBuckets().isEnabled()
+                        ? passengerCommandRepository.deleteArchivedTrips(passengerId).then()
+                        : Mono.<Void>empty())
+                        .then(passengerOutbox.append(() -> PassengerEvent.deleted(passengerId, nextVersion(removed.getVersion())))))));
     }
 
 
     @Override
     public Mono<Passenger> addTripToPassenger(String passengerId, Trip trip) {
-        return PassengerValidator.findPassengerById(passengerCommandRepository, passengerId)
-                .flatMap(passenger ->
-                        PassengerTripValidator.validateTripDependencies(trip, routeService, vehicleService)
-                                .then(Mono.defer(() -> {
-                                    PassengerTripOperations.addTrip(passenger, trip);
-                                    return passengerCommandRepository.save(passenger);
-                                }))
-                );
+        boolean rejectOverlaps = validationProperties.isCheckOverlaps() && TripOverlapIndex.isTimed(trip);
+        return PassengerTripValidator.validateTripDependencies(trip, routeService, vehicleService, tripValidationRules())
+                .then(onPassenger(passengerId, () -> passengerOutbox.transactional(recorded(rejectOverlaps
+                                ? passengerCommandRepository.pushNonOverlappingTrip(passengerId, trip)
+                                : passengerCommandRepository.pushTrip(passengerId, trip),
+                        passenger -> PassengerEvent.tripAdded(passengerId, passenger.getVersion(), trip))
+                        .flatMap(passenger -> archiveOldTrips(passengerId, passenger))
+                        .switchIfEmpty(Mono.defer(() -> rejectedPush(passengerId, trip, rejectOverlaps))))))
+                .switchIfEmpty(PassengerValidationOperations.passengerNotFound("Passenger not found for ID: " + passengerId));
+    }
+
+    private Mono<Passenger> archiveOldTrips(String passengerId, Passenger passenger) {
+        PassengerCommandProperties.TripBuckets tripBuckets = commandProperties.getTripBuckets();
+        if (!tripBuckets.isEnabled()) {
+            return Mono.just(passenger);
+        }
+        return passengerCommandRepository.hasMoreTripsThan(passengerId, tripBuckets.getInlineLimit() + tripBuckets.getBucketSize() - 1)
+                .filter(Boolean::booleanValue)
+                .flatMap(full -> passengerCommandRepository.findById(passengerId))
+                .flatMap(stored -> {
+                    List<List<Trip>> buckets = PassengerTripOperations.oldestTripBuckets(stored.getTrips(),
+                            tripBuckets.getInlineLimit(), tripBuckets.getBucketSize());
+                    if (buckets.isEmpty()) {
+                        return Mono.<Passenger>empty();
+                    }
+                    List<String> tripIds = buckets.stream().flatMap(List::stream).map(Trip::getTripId).toList();
+                    return recorded(passengerCommandRepository.archiveTrips(passengerId, stored.getVersion(), buckets),
+                            archived -> PassengerEvent.tripsArchived(passengerId, archived.getVersion(), tripIds))
+                            .doOnNext(archived -> archivedTrips.increment((double) buckets.size() * tripBuckets.getBucketSize()));
+                })
+                .defaultIfEmpty(passenger);
+    }
+
+    private Mono<Passenger> rejectedPush(String passengerId, Trip trip, boolean rejectOverlaps) {
+        return passengerCommandRepository.findWithTrip(passengerId, trip.getTripId())
+                .flatMap(stored -> {
+                    Trip existing = stored.getTrips() == null ? null : stored.findTrip(trip.getTripId());
+                    if (existing != null) {
+                        if (PassengerTripOperations.isSameTrip(existing, trip)) {
+                            ignoredDuplicateTrips.increment();
+                            return passengerCommandRepository.findById(passengerId);
+                        }
+                        rejectedDuplicateTrips.increment();
+                        return Mono.error(new TripConflictException("Trip " + trip.getTripId()
+                                + " already exists for passenger " + passengerId));
+                    }
+                    if (!rejectOverlaps) {
+                        return Mono.error(new OptimisticLockingFailureException("Passenger " + passengerId + " was modified concurrently"));
+                    }
+                    return passengerCommandRepository.findTripTimes(passengerId)
+                            .flatMap(scheduled -> {
+                                TripOverlapIndex index = new TripOverlapIndex();
+                                if (scheduled.getTrips() != null) {
+                                    scheduled.getTrips().forEach(index::add);
+                                }
+                                Trip conflict = index.findOverlap(trip);
+                                return Mono.error(conflict == null
+                                        ? new TripConflictException("Trip " + trip.getTripId()
+                                        + " overlaps an existing trip of passenger " + passengerId)
+                                        : PassengerTripValidator.overlapError(trip, conflict));
+                            });
+                });
+    }
+
+    @Override
+    public Flux<BulkTripResult> addTripsToPassengers(Flux<TripAssignment> assignments) {
+        PassengerCommandProperties.Bulk bulk = commandProperties.getBulk();
+        return assignments.index()
+                .buffer(bulk.getBatchSize())
+                .flatMapSequential(this::addTripChunk, bulk.getConcurrency())
+                .doOnNext(result -> meterRegistry.counter("passengers.bulk.trips", "status", result.getStatus().name()).increment());
     }
 
     @Override
     public Mono<Passenger> removeTripFromPassenger(String passengerId, String tripId) {
-        return PassengerValidator.findPassengerById(passengerCommandRepository, passengerId)
-                .flatMap(passenger -> PassengerTripValidator.validateAndRemoveTrip(passenger, tripId))
-                .flatMap(passengerCommandRepository::save);
+        return onPassenger(passengerId, () -> passengerOutbox.transactional(
+                        recorded(passengerCommandRepository.pullTrip(passengerId, tripId),
+                                passenger -> PassengerEvent.tripRemoved(passengerId, passenger.getVersion(), tripId))
+                                .switchIfEmpty(Mono.defer(() -> recorded(pullArchivedTrip(passengerId, tripId),
+                                        passenger -> PassengerEvent.tripRemoved(passengerId, passenger.getVersion(), tripId)))))
+                .switchIfEmpty(Mono.defer(() -> passengerCommandRepository.existsById(passengerId)
+                        .flatMap(exists -> exists
+                                ? PassengerValidationOperations.<Passenger>tripNotFound(tripId)
+                                : PassengerValidationOperations.<Passenger>passengerNotFound("Passenger not found for ID: " + passengerId)))));
+    }
+
+    private Mono<Passenger> pullArchivedTrip(String passengerId, String tripId) {
+        if (!commandProperties.getTripBuckets().isEnabled()) {
+            return Mono.empty();
+        }
+        return passengerCommandRepository.pullArchivedTrip(passengerId, tripId)
+                .filter(Boolean::booleanValue)
+                .flatMap(pulled -> passengerCommandRepository.incrementVersion(passengerId));
+    }
+
+    private Flux<BulkPassengerResult> createPassengerChunk(List<Tuple2<Long, Passenger>> chunk) {
+        List<Passenger> passengers = chunk.stream().map(Tuple2::getT2).toList();
+        passengers.forEach(PassengerTripValidator::initializeTripsIfNull);
+        TripValidationRules rules = tripValidationRules();
+        return validateWellFormed(passengers, passenger -> PassengerValidator.recordError(passenger, rules),
+                wellFormed -> PassengerTripValidator.validateTripsInPassengers(wellFormed, routeService, vehicleService, rules))
+                .flatMapMany(rejections -> {
+                    List<Integer> acceptedPositions = new ArrayList<>();
+                    List<Passenger> accepted = new ArrayList<>();
+                    for (int i = 0; i < passengers.size(); i++) {
+                        if (!rejections.containsKey(i)) {
+                            Passenger passenger = passengers.get(i);
+                            if (passenger.getId() == null) {
+                                passenger.setId(new ObjectId());
+                            }
+                            if (passenger.getVersion() == null) {
+                                passenger.setVersion(0L);
+                            }
+                            acceptedPositions.add(i);
+                            accepted.add(passenger);
+                        }
+                    }
+                    return insertRecorded(accepted)
+                            .onErrorResume(error -> {
+                                Map<Integer, String> failures = new HashMap<>();
+                                for (int i = 0; i < accepted.size(); i++) {
+                                    failures.put(i, error.getMessage());
+                                }
+                                return Mono.just(failures);
+                            })
+                            .flatMapIterable(writeFailures -> {
+                                List<BulkPassengerResult> results = new ArrayList<>(chunk.size());
+                                for (int i = 0; i < chunk.size(); i++) {
+                                    results.add(bulkResult(chunk.get(i), rejections.get(i), null));
+                                }
+                                writeFailures.forEach((acceptedIndex, message) -> {
+                                    int position = acceptedPositions.get(acceptedIndex);
+                                    results.set(position, bulkResult(chunk.get(position), null, message));
+                                });
+                                return results;
+                            });
+                });
+    }
+
+    private Flux<BulkTripResult> addTripChunk(List<Tuple2<Long, TripAssignment>> chunk) {
+        List<TripAssignment> assignments = chunk.stream().map(Tuple2::getT2).toList();
+        TripValidationRules rules = tripValidationRules();
+        return validateWellFormed(assignments, assignment -> assignmentError(assignment, rules),
+                wellFormed -> PassengerTripValidator.validateEachTrip(wellFormed.stream().map(TripAssignment::getTrip).toList(),
+                        routeService, vehicleService, rules))
+                .map(rejections -> withBatchRejections(chunk, rejections))
+                .flatMapMany(rejections -> {
+                    Set<Integer> pushed = new HashSet<>();
+                    return retryOnConflict(Mono.defer(() -> pushTripChunk(chunk, rejections, pushed)))
+                            .onErrorResume(error -> Mono.just(failedTripResults(chunk, rejections, error.getMessage())))
+                            .flatMapIterable(results -> results);
+                });
+    }
+
+    private Mono<List<BulkTripResult>> pushTripChunk(List<Tuple2<Long, TripAssignment>> chunk, Map<Integer, RuntimeException> rejections,
+                                                     Set<Integer> pushed) {
+        Set<String> passengerIds = new LinkedHashSet<>();
+        Set<String> tripIds = new LinkedHashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (!rejections.containsKey(i)) {
+                passengerIds.add(chunk.get(i).getT2().getPassengerId());
+                tripIds.add(chunk.get(i).getT2().getTrip().getTripId());
+            }
+        }
+        if (passengerIds.isEmpty()) {
+            return Mono.just(failedTripResults(chunk, rejections, null));
+        }
+        return passengerCommandRepository.findTrips(passengerIds, tripIds)
+                .collectMap(passenger -> passenger.getId().toHexString())
+                .flatMap(stored -> {
+                    List<BulkTripResult> results = new ArrayList<>(chunk.size());
+                    Map<String, Long> expectedVersions = new HashMap<>();
+                    Map<String, List<Trip>> tripsByPassenger = new LinkedHashMap<>();
+                    for (int i = 0; i < chunk.size(); i++) {
+                        Tuple2<Long, TripAssignment> record = chunk.get(i);
+                        TripAssignment assignment = record.getT2();
+                        if (rejections.containsKey(i)) {
+                            results.add(tripResult(record, BulkTripResult.Status.REJECTED, rejections.get(i).getMessage()));
+                            continue;
+                        }
+                        Passenger passenger = stored.get(assignment.getPassengerId());
+                        Trip existing = passenger == null || passenger.getTrips() == null ? null
+                                : passenger.findTrip(assignment.getTrip().getTripId());
+                        if (passenger == null) {
+                            results.add(tripResult(record, BulkTripResult.Status.NOT_FOUND,
+                                    "Passenger not found for ID: " + assignment.getPassengerId()));
+                        } else if (existing == null) {
+                            pushed.add(i);
+                            expectedVersions.put(assignment.getPassengerId(), passenger.getVersion());
+                            tripsByPassenger.computeIfAbsent(assignment.getPassengerId(), id -> new ArrayList<>()).add(assignment.getTrip());
+                            results.add(tripResult(record, BulkTripResult.Status.ADDED, null));
+                        } else if (!PassengerTripOperations.isSameTrip(existing, assignment.getTrip())) {
+                            rejectedDuplicateTrips.increment();
+                            results.add(tripResult(record, BulkTripResult.Status.REJECTED, "Trip " + existing.getTripId()
+                                    + " already exists for passenger " + assignment.getPassengerId()));
+                        } else if (pushed.contains(i)) {
+                            results.add(tripResult(record, BulkTripResult.Status.ADDED, null));
+                        } else {
+                            ignoredDuplicateTrips.increment();
+                            results.add(tripResult(record, BulkTripResult.Status.DUPLICATE, null));
+                        }
+                    }
+                    if (tripsByPassenger.isEmpty()) {
+                        return Mono.just(results);
+                    }
+                    return passengerOutbox.transactional(Mono.defer(() -> passengerCommandRepository.pushTrips(expectedVersions, tripsByPassenger))
+                                    .then(passengerOutbox.appendAll(() -> tripsAdded(expectedVersions, tripsByPassenger))))
+                            .thenReturn(results);
+                });
+    }
+
+    private Mono<Map<Integer, String>> insertRecorded(List<Passenger> passengers) {
+        if (!passengerOutbox.isEnabled() || passengers.isEmpty()) {
+            return passengerCommandRepository.bulkInsert(passengers);
+        }
+        return passengerOutbox.transactional(Mono.defer(() -> passengerCommandRepository.bulkInsert(passengers))
+                        .flatMap(writeFailures -> writeFailures.isEmpty()
+                                ? passengerOutbox.appendAll(() -> passengers.stream().map(PassengerEvent::created).toList())
+                                .thenReturn(writeFailures)
+                                : Mono.error(new ChunkWriteFailures(writeFailures))))
+                .onErrorResume(ChunkWriteFailures.class, rejected -> {
+                    List<Integer> remainingPositions = new ArrayList<>();
+                    for (int i = 0; i < passengers.size(); i++) {
+                        if (!rejected.writeFailures.containsKey(i)) {
+                            remainingPositions.add(i);
+                        }
+                    }
+                    return insertRecorded(remainingPositions.stream().map(passengers::get).toList())
+                            .map(retryFailures -> {
+                                Map<Integer, String> writeFailures = new HashMap<>(rejected.writeFailures);
+                                retryFailures.forEach((position, message) -> writeFailures.put(remainingPositions.get(position), message));
+                                return writeFailures;
+                            });
+                });
+    }
+
+    private static List<PassengerEvent> tripsAdded(Map<String, Long> expectedVersions, Map<String, List<Trip>> tripsByPassenger) {
+        List<PassengerEvent> events = new ArrayList<>();
+        tripsByPassenger.forEach((passengerId, trips) -> {
+            Long version = expectedVersions.get(passengerId);
+            for (Trip trip : trips) {
+                version = nextVersion(version);
+                events.add(PassengerEvent.tripAdded(passengerId, version, trip));
+            }
+        });
+        return events;
+    }
+
+    private static <T> Mono<Map<Integer, RuntimeException>> validateWellFormed(List<T> records, Function<T, RuntimeException> recordError,
+                                                                             Function<List<T>, Mono<Map<Integer, RuntimeException>>> validate) {
+        Map<Integer, RuntimeException> rejections = new HashMap<>();
+        List<Integer> wellFormedPositions = new ArrayList<>();
+        for (int i = 0; i < records.size(); i++) {
+            RuntimeException error = recordError.apply(records.get(i));
+            if (error != null) {
+                rejections.put(i, error);
+            } else {
+                wellFormedPositions.add(i);
+            }
+        }
+        if (wellFormedPositions.isEmpty()) {
+            return Mono.just(rejections);
+        }
+        return validate.apply(wellFormedPositions.stream().map(records::get).toList())
+                .map(dependencyRejections -> {
+                    dependencyRejections.forEach((position, error) -> rejections.put(wellFormedPositions.get(position), error));
+                    return rejections;
+                });
+    }
+
+    private static RuntimeException assignmentError(TripAssignment assignment, TripValidationRules rules) {
+        if (assignment.getPassengerId() == null || assignment.getPassengerId().isBlank()) {
+            return new InvalidPassengerException("Passenger ID is required");
+        }
+        if (!ObjectId.isValid(assignment.getPassengerId())) {
+            return new InvalidPassengerException("Invalid passenger ID: " + assignment.getPassengerId());
+        }
+        return PassengerTripValidator.recordError(assignment.getTrip(), rules);
+    }
+
+    private Map<Integer, RuntimeException> withBatchRejections(List<Tuple2<Long, TripAssignment>> chunk,
+                                                               Map<Integer, RuntimeException> rejections) {
+        Map<Integer, RuntimeException> merged = new HashMap<>(rejections);
+        Map<String, Set<String>> tripIds = new HashMap<>();
+        Map<String, TripOverlapIndex> indexes = new HashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (merged.containsKey(i)) {
+                continue;
+            }
+            TripAssignment assignment = chunk.get(i).getT2();
+            Trip trip = assignment.getTrip();
+            if (!tripIds.computeIfAbsent(assignment.getPassengerId(), id -> new HashSet<>()).add(trip.getTripId())) {
+                rejectedDuplicateTrips.increment();
+                merged.put(i, new TripConflictException("Trip " + trip.getTripId() + " is assigned to passenger "
+                        + assignment.getPassengerId() + " more than once"));
+                continue;
+            }
+            if (!validationProperties.isCheckOverlaps()) {
+                continue;
+            }
+            Trip conflict = indexes.computeIfAbsent(assignment.getPassengerId(), id -> new TripOverlapIndex()).add(trip);
+            if (conflict != null) {
+                merged.put(i, PassengerTripValidator.overlapError(trip, conflict));
+            }
+        }
+        return merged;
+    }
+
+    private static List<BulkTripResult> failedTripResults(List<Tuple2<Long, TripAssignment>> chunk,
+                                                          Map<Integer, RuntimeException> rejections, String writeFailure) {
+        List<BulkTripResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            RuntimeException rejection = rejections.get(i);
+            results.add(rejection != null
+                    ? tripResult(chunk.get(i), BulkTripResult.Status.REJECTED, rejection.getMessage())
+                    : tripResult(chunk.get(i), BulkTripResult.Status.FAILED, writeFailure));
+        }
+        return results;
+    }
+
+    private static BulkTripResult tripResult(Tuple2<Long, TripAssignment> record, BulkTripResult.Status status, String message) {
+        TripAssignment assignment = record.getT2();
+        return BulkTripResult.builder()
+                .index(record.getT1())
+                .passengerId(assignment.getPassengerId())
+                .tripId(assignment.getTrip() == null ? null : assignment.getTrip().getTripId())
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private static BulkPassengerResult bulkResult(Tuple2<Long, Passenger> record, RuntimeException rejection, String writeFailure) {
+        Passenger passenger = record.getT2();
+        BulkPassengerResult.BulkPassengerResultBuilder result = BulkPassengerResult.builder()
+                .index(record.getT1())
+                .passengerId(passenger.getId() == null ? null : passenger.getId().toHexString());
+        if (rejection != null) {
+            return result.status(BulkPassengerResult.Status.REJECTED).message(rejection.getMessage()).build();
+        }
+        if (writeFailure != null) {
+            return result.status(BulkPassengerResult.Status.FAILED).message(writeFailure).build();
+        }
+        return result.status(BulkPassengerResult.Status.CREATED).build();
+    }
+
+    private static Long nextVersion(Long version) {
+        return version == null ? 1L : version + 1;
+    }
+
+    private Mono<Void> validateTrips(Passenger passenger) {
+        return PassengerTripValidator.validateTripsInPassenger(passenger, routeService, vehicleService, tripValidationRules());
+    }
+
+    private TripValidationRules tripValidationRules() {
+        return new TripValidationRules(validationProperties.getUnavailableDependencies(), validationProperties.isCheckStops(),
+                validationProperties.isCheckSchedule(), validationProperties.isCheckOverlaps(), validationProperties.getConcurrency());
+    }
+
+    private <T> Mono<T> recorded(Mono<T> write, Function<T, PassengerEvent> event) {
+        return write.flatMap(result -> passengerOutbox.append(() -> event.apply(result)).thenReturn(result));
+    }
+
+    private <T> Mono<T> onPassenger(String passengerId, Supplier<Mono<T>> command) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return commandExecutor.execute(passengerId, command)
+                    .doFinally(signal -> sample.stop(commandTimer));
+        });
+    }
+
+    private <T> Mono<T> retryOnConflict(Mono<T> command) {
+        PassengerCommandProperties.Retry retry = commandProperties.getRetry();
+        return command.retryWhen(Retry.backoff(retry.getMaxAttempts(), retry.getMinBackoff())
+                .maxBackoff(retry.getMaxBackoff())
+                .filter(OptimisticLockingFailureException.class::isInstance)
+                .doBeforeRetry(signal -> conflictRetries.increment())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    private static final class ChunkWriteFailures extends RuntimeException {
+
+        private final Map<Integer, String> writeFailures;
+
+        private ChunkWriteFailures(Map<Integer, String> writeFailures) {
+            super(writeFailures.size() + " passengers in the chunk could not be inserted", null, false, false);
+            this.writeFailures = writeFailures;
+        }
     }
 }
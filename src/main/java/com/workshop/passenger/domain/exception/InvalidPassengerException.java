@@ -0,0 +1,7 @@
+package com.workshop.passenger.domain.exception;
+
+public class InvalidPassengerException extends RuntimeException {
+    public InvalidPassengerException(String message) {
+        super(message);
+    }
+}
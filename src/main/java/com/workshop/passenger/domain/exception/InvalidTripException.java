@@ -0,0 +1,7 @@
+package com.workshop.passenger.domain.exception;
+
+public class InvalidTripException extends RuntimeException {
+    public InvalidTripException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.workshop.passenger.domain.exception;
+
+public class TripConflictException extends RuntimeException {
+    public TripConflictException(String message) {
+        super(message);
+    }
+}
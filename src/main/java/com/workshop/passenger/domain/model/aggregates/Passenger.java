@@ -1,12 +1,20 @@
 package com.workshop.passenger.domain.model.aggregates;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.workshop.passenger.domain.model.entities.Trip;
+import com.workshop.passenger.domain.model.valueobjects.TripIndex;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import javax.validation.Valid;
@@ -46,4 +54,31 @@ public class Passenger {
     @NotEmpty(message = "Passenger must have at least one trip")
     @Valid
     private List<Trip> trips;
+
+    @Version
+    private Long version;
+
+    @Transient
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final TripIndex tripIndex = new TripIndex();
+
+    public boolean hasTrip(String tripId) {
+        return tripIndex.contains(trips, tripId);
+    }
+
+    public Trip findTrip(String tripId) {
+        int position = tripIndex.positionOf(trips, tripId);
+        return position < 0 ? null : trips.get(position);
+    }
+
+    public void addTrip(Trip trip) {
+        tripIndex.add(trips, trip);
+    }
+
+    public boolean removeTrip(String tripId) {
+        return tripIndex.remove(trips, tripId);
+    }
 }
@@ -1,5 +1,6 @@
 package com.workshop.passenger.domain.model.entities;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -40,4 +41,7 @@ public class Trip {
     @Min(value = 0, message = "Fare must be positive")
     private double fare;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean pendingValidation;
+
 }
@@ -0,0 +1,46 @@
+package com.workshop.passenger.domain.model.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "PassengerTripBucket")
+public class TripBucket {
+
+    @Id
+    private String id;
+
+    private String passengerId;
+
+    private String archiveId;
+
+    private LocalDateTime firstStartTime;
+
+    private LocalDateTime lastStartTime;
+
+    private int size;
+
+    private List<Trip> trips;
+
+    public static TripBucket of(String passengerId, String archiveId, List<Trip> trips) {
+        return TripBucket.builder()
+                .id(passengerId + "-" + trips.get(0).getTripId() + "-" + archiveId)
+                .passengerId(passengerId)
+                .archiveId(archiveId)
+                .firstStartTime(trips.get(0).getStartTime())
+                .lastStartTime(trips.get(trips.size() - 1).getStartTime())
+                .size(trips.size())
+                .trips(trips)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.workshop.passenger.domain.model.events;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.workshop.passenger.domain.model.aggregates.Passenger;
+import com.workshop.passenger.domain.model.entities.Trip;
+import com.workshop.passenger.domain.model.mapper.PassengerMapper;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "PassengerOutbox")
+public class PassengerEvent {
+
+    @Id
+    @JsonSerialize(using = ToStringSerializer.class)
+    private ObjectId id;
+
+    private String passengerId;
+
+    private Type type;
+
+    private Long version;
+
+    private LocalDateTime occurredAt;
+
+    private Map<String, Object> payload;
+
+    public static PassengerEvent created(Passenger passenger) {
+        return of(passenger.getId().toHexString(), Type.PASSENGER_CREATED, passenger.getVersion(),
+                PassengerMapper.changedFields(new Passenger(), passenger));
+    }
+
+    public static PassengerEvent updated(String passengerId, Long version, Map<String, Object> changedFields) {
+        return of(passengerId, Type.PASSENGER_UPDATED, version, changedFields);
+    }
+
+    public static PassengerEvent deleted(String passengerId, Long version) {
+        return of(passengerId, Type.PASSENGER_DELETED, version, Map.of());
+    }
+
+    public static PassengerEvent tripAdded(String passengerId, Long version, Trip trip) {
+        return of(passengerId, Type.TRIP_ADDED, version, Map.of("trip", trip));
+    }
+
+    public static PassengerEvent tripRemoved(String passengerId, Long version, String tripId) {
+        return of(passengerId, Type.TRIP_REMOVED, version, Map.of("tripId", tripId));
+    }
+
+    public static PassengerEvent tripsArchived(String passengerId, Long version, List<String> tripIds) {
+        return of(passengerId, Type.TRIPS_ARCHIVED, version, Map.of("tripIds", tripIds));
+    }
+
+    private static PassengerEvent of(String passengerId, Type type, Long version, Map<String, Object> payload) {
+        return PassengerEvent.builder()
+                .passengerId(passengerId)
+                .type(type)
+                .version(version)
+                .occurredAt(LocalDateTime.now())
+                .payload(payload)
+                .build();
+    }
+
+    public enum Type {
+        PASSENGER_CREATED, PASSENGER_UPDATED, PASSENGER_DELETED, TRIP_ADDED, TRIP_REMOVED, TRIPS_ARCHIVED
+    }
+}
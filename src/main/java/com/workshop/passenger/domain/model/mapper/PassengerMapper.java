@@ -2,8 +2,14 @@ package com.workshop.passenger.domain.model.mapper;
 
 import com.workshop.passenger.application.dto.PassengerUpdateDTO;
 import com.workshop.passenger.domain.model.aggregates.Passenger;
+import com.workshop.passenger.domain.model.entities.Trip;
 import org.modelmapper.ModelMapper;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 public class PassengerMapper {
 
     private static final ModelMapper modelMapper = new ModelMapper();
@@ -14,4 +20,48 @@ public class PassengerMapper {
     public static void mapToExistingPassenger(PassengerUpdateDTO source, Passenger target) {
         modelMapper.map(source, target);
     }
+
+    public static Passenger copyOf(Passenger passenger) {
+        return Passenger.builder()
+                .id(passenger.getId())
+                .name(passenger.getName())
+                .email(passenger.getEmail())
+                .phone(passenger.getPhone())
+                .preferredPaymentMethod(passenger.getPreferredPaymentMethod())
+                .registeredAt(passenger.getRegisteredAt())
+                .trips(passenger.getTrips() == null ? null : passenger.getTrips().stream().map(PassengerMapper::copyOf).toList())
+                .version(passenger.getVersion())
+                .build();
+    }
+
+    public static Map<String, Object> changedFields(Passenger stored, Passenger updated) {
+        Map<String, Object> changedFields = new LinkedHashMap<>();
+        putIfChanged(changedFields, "name", stored.getName(), updated.getName());
+        putIfChanged(changedFields, "email", stored.getEmail(), updated.getEmail());
+        putIfChanged(changedFields, "phone", stored.getPhone(), updated.getPhone());
+        putIfChanged(changedFields, "preferredPaymentMethod", stored.getPreferredPaymentMethod(), updated.getPreferredPaymentMethod());
+        putIfChanged(changedFields, "registeredAt", stored.getRegisteredAt(), updated.getRegisteredAt());
+        putIfChanged(changedFields, "trips", stored.getTrips(), updated.getTrips());
+        return changedFields;
+    }
+
+    private static Trip copyOf(Trip trip) {
+        return Trip.builder()
+                .tripId(trip.getTripId())
+                .routeId(trip.getRouteId())
+                .vehicleId(trip.getVehicleId())
+                .startTime(trip.getStartTime())
+                .endTime(trip.getEndTime())
+                .startStop(trip.getStartStop())
+                .endStop(trip.getEndStop())
+                .fare(trip.getFare())
+                .pendingValidation(trip.getPendingValidation())
+                .build();
+    }
+
+    private static void putIfChanged(Map<String, Object> changedFields, String field, Object stored, Object updated) {
+        if (!Objects.equals(stored, updated)) {
+            changedFields.put(field, updated);
+        }
+    }
 }
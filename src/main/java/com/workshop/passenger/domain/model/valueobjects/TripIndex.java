@@ -0,0 +1,105 @@
+package com.workshop.passenger.domain.model.valueobjects;
+
+import com.workshop.passenger.domain.model.entities.Trip;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class TripIndex {
+
+    private List<Trip> indexedTrips;
+    private int indexedSize;
+    private Map<String, Integer> positions;
+    private boolean duplicates;
+
+    public boolean contains(List<Trip> trips, String tripId) {
+        return positionOf(trips, tripId) >= 0;
+    }
+
+    public int positionOf(List<Trip> trips, String tripId) {
+        if (trips == null || tripId == null || trips.isEmpty()) {
+            return -1;
+        }
+        Integer position = positions(trips).get(tripId);
+        if (position != null && tripId.equals(trips.get(position).getTripId())) {
+            return position;
+        }
+        int scanned = scan(trips, tripId);
+        if (scanned >= 0 || position != null) {
+            rebuild(trips);
+        }
+        return scanned;
+    }
+
+    public void add(List<Trip> trips, Trip trip) {
+        trips.add(trip);
+        if (indexedTrips != trips || indexedSize != trips.size() - 1) {
+            invalidate();
+            return;
+        }
+        indexedSize++;
+        if (trip.getTripId() != null && positions.putIfAbsent(trip.getTripId(), trips.size() - 1) != null) {
+            duplicates = true;
+        }
+    }
+
+    public boolean remove(List<Trip> trips, String tripId) {
+        if (trips == null || tripId == null) {
+            return false;
+        }
+        int position = positionOf(trips, tripId);
+        if (position < 0) {
+            return false;
+        }
+        if (duplicates) {
+            trips.removeIf(trip -> tripId.equals(trip.getTripId()));
+        } else {
+            trips.remove(position);
+        }
+        invalidate();
+        return true;
+    }
+
+    public boolean isBuilt() {
+        return positions != null;
+    }
+
+    public void invalidate() {
+        indexedTrips = null;
+        indexedSize = 0;
+        positions = null;
+        duplicates = false;
+    }
+
+    private Map<String, Integer> positions(List<Trip> trips) {
+        if (positions == null || indexedTrips != trips || indexedSize != trips.size()) {
+            rebuild(trips);
+        }
+        return positions;
+    }
+
+    private static int scan(List<Trip> trips, String tripId) {
+        for (int position = 0; position < trips.size(); position++) {
+            if (tripId.equals(trips.get(position).getTripId())) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private void rebuild(List<Trip> trips) {
+        Map<String, Integer> rebuilt = new HashMap<>(Math.max(16, trips.size() * 4 / 3 + 1));
+        boolean rebuiltDuplicates = false;
+        for (int position = 0; position < trips.size(); position++) {
+            String tripId = trips.get(position).getTripId();
+            if (tripId != null && rebuilt.putIfAbsent(tripId, position) != null) {
+                rebuiltDuplicates = true;
+            }
+        }
+        indexedTrips = trips;
+        indexedSize = trips.size();
+        positions = rebuilt;
+        duplicates = rebuiltDuplicates;
+    }
+}
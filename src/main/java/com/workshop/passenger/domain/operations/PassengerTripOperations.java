@@ -3,20 +3,51 @@ package com.workshop.passenger.domain.operations;
 import com.workshop.passenger.domain.model.aggregates.Passenger;
 import com.workshop.passenger.domain.model.entities.Trip;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
 public class PassengerTripOperations {
 
     private PassengerTripOperations() {
     }
 
     public static void addTrip(Passenger passenger, Trip trip) {
-        passenger.getTrips().add(trip);
+        passenger.addTrip(trip);
     }
 
-    public static void removeTrip(Passenger passenger, String tripId) {
-        passenger.getTrips().removeIf(trip -> trip.getTripId().equals(tripId));
+    public static boolean removeTrip(Passenger passenger, String tripId) {
+        return passenger.removeTrip(tripId);
     }
 
     public static boolean hasTrip(Passenger passenger, String tripId) {
-        return passenger.getTrips().stream().anyMatch(trip -> trip.getTripId().equals(tripId));
+        return passenger.hasTrip(tripId);
+    }
+
+    public static List<List<Trip>> oldestTripBuckets(List<Trip> trips, int inlineLimit, int bucketSize) {
+        if (trips == null || bucketSize <= 0 || trips.size() < inlineLimit + bucketSize) {
+            return List.of();
+        }
+        List<Trip> oldestFirst = trips.stream()
+                .sorted(Comparator.comparing(Trip::getStartTime, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+        int bucketCount = (trips.size() - inlineLimit) / bucketSize;
+        List<List<Trip>> buckets = new ArrayList<>(bucketCount);
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            buckets.add(oldestFirst.subList(bucket * bucketSize, (bucket + 1) * bucketSize));
+        }
+        return buckets;
+    }
+
+    public static boolean isSameTrip(Trip first, Trip second) {
+        return Objects.equals(first.getTripId(), second.getTripId())
+                && Objects.equals(first.getRouteId(), second.getRouteId())
+                && Objects.equals(first.getVehicleId(), second.getVehicleId())
+                && Objects.equals(first.getStartTime(), second.getStartTime())
+                && Objects.equals(first.getEndTime(), second.getEndTime())
+                && Objects.equals(first.getStartStop(), second.getStartStop())
+                && Objects.equals(first.getEndStop(), second.getEndStop())
+                && Double.compare(first.getFare(), second.getFare()) == 0;
     }
 }
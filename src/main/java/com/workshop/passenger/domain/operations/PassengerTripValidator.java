@@ -1,14 +1,27 @@
 package com.workshop.passenger.domain.operations;
 
+import com.workshop.passenger.domain.exception.DependencyUnavailableException;
+import com.workshop.passenger.domain.exception.InvalidTripException;
 import com.workshop.passenger.domain.exception.PassengerNotFoundException;
+import com.workshop.passenger.domain.exception.TripConflictException;
 import com.workshop.passenger.domain.exception.TripNotFoundException;
 import com.workshop.passenger.domain.model.aggregates.Passenger;
 import com.workshop.passenger.domain.model.entities.Trip;
+import com.workshop.passenger.infraestructure.Route.model.valueobjects.RouteIndex;
 import com.workshop.passenger.infraestructure.Route.service.RouteService;
 import com.workshop.passenger.infraestructure.Vehicle.service.VehicleService;
+import com.workshop.passenger.infraestructure.client.DownstreamUnavailableException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class PassengerTripValidator {
 
@@ -16,26 +29,238 @@ public class PassengerTripValidator {
     }
 
     public static Mono<Passenger> validateAndRemoveTrip(Passenger passenger, String tripId) {
-        if (!PassengerTripOperations.hasTrip(passenger, tripId)) {
+        if (!PassengerTripOperations.removeTrip(passenger, tripId)) {
             return Mono.error(new TripNotFoundException(tripId));
         }
-        PassengerTripOperations.removeTrip(passenger, tripId);
         return Mono.just(passenger);
     }
 
-    public static Mono<Void> validateTripsInPassenger(Passenger passenger, RouteService routeService, VehicleService vehicleService) {
-        return Mono.when(passenger.getTrips().stream()
-                .map(trip -> validateTripDependencies(trip, routeService, vehicleService))
-                .toArray(Mono[]::new));
+    public static RuntimeException recordError(Trip trip, TripValidationRules rules) {
+        if (trip == null) {
+            return new InvalidTripException("Trip is required");
+        }
+        if (isBlank(trip.getTripId())) {
+            return new InvalidTripException("Trip ID is required");
+        }
+        if (isBlank(trip.getRouteId())) {
+            return new InvalidTripException("Route ID is required for trip " + trip.getTripId());
+        }
+        if (isBlank(trip.getVehicleId())) {
+            return new InvalidTripException("Vehicle ID is required for trip " + trip.getTripId());
+        }
+        if (rules.checkStops() && (isBlank(trip.getStartStop()) || isBlank(trip.getEndStop()))) {
+            return new InvalidTripException("Start and end stops are required for trip " + trip.getTripId());
+        }
+        if ((rules.checkSchedule() || trip.getStartTime() != null || trip.getEndTime() != null)
+                && (trip.getStartTime() == null || trip.getEndTime() == null)) {
+            return new InvalidTripException("Start and end times are required for trip " + trip.getTripId());
+        }
+        if (trip.getStartTime() != null && trip.getEndTime().isBefore(trip.getStartTime())) {
+            return new InvalidTripException("Trip " + trip.getTripId() + " ends before it starts");
+        }
+        if (trip.getFare() < 0) {
+            return new InvalidTripException("Fare must be positive for trip " + trip.getTripId());
+        }
+        return null;
+    }
+
+    public static Mono<Void> validateTripsInPassenger(Passenger passenger, RouteService routeService, VehicleService vehicleService,
+                                                      TripValidationRules rules) {
+        RuntimeException overlap = rules.checkOverlaps() ? overlapError(passenger.getTrips()) : null;
+        if (overlap != null) {
+            return Mono.error(overlap);
+        }
+        return validateTrips(passenger.getTrips(), routeService, vehicleService, rules);
+    }
+
+    public static Mono<Map<Integer, RuntimeException>> validateTripsInPassengers(List<Passenger> passengers, RouteService routeService,
+                                                                               VehicleService vehicleService, TripValidationRules rules) {
+        List<Trip> trips = passengers.stream()
+                .flatMap(passenger -> passenger.getTrips().stream())
+                .toList();
+        return resolveDependencies(trips, routeService, vehicleService, rules.concurrency())
+                .map(resolutions -> {
+                    Map<Integer, RuntimeException> rejections = new HashMap<>();
+                    for (int i = 0; i < passengers.size(); i++) {
+                        List<Trip> passengerTrips = passengers.get(i).getTrips();
+                        RuntimeException error = rules.checkOverlaps() ? overlapError(passengerTrips) : null;
+                        if (error == null) {
+                            error = firstTripError(passengerTrips, resolutions, rules);
+                        }
+                        if (error != null) {
+                            rejections.put(i, error);
+                        }
+                    }
+                    return rejections;
+                });
+    }
+
+    public static Mono<Map<Integer, RuntimeException>> validateEachTrip(List<Trip> trips, RouteService routeService,
+                                                                      VehicleService vehicleService, TripValidationRules rules) {
+        return resolveDependencies(trips, routeService, vehicleService, rules.concurrency())
+                .map(resolutions -> {
+                    Map<Integer, RuntimeException> rejections = new HashMap<>();
+                    for (int i = 0; i < trips.size(); i++) {
+                        RuntimeException error = firstTripError(List.of(trips.get(i)), resolutions, rules);
+                        if (error != null) {
+                            rejections.put(i, error);
+                        }
+                    }
+                    return rejections;
+                });
+    }
+
+    public static Mono<Void> validateChangedTrips(List<Trip> previousTrips, Passenger passenger, RouteService routeService,
+                                                  VehicleService vehicleService, TripValidationRules rules) {
+        Map<String, Trip> previousById = previousTrips == null ? Map.of() : previousTrips.stream()
+                .collect(Collectors.toMap(Trip::getTripId, trip -> trip, (first, second) -> first));
+        List<Trip> changedTrips = passenger.getTrips().stream()
+                .filter(trip -> needsValidation(previousById.get(trip.getTripId()), trip, rules))
+                .toList();
+        RuntimeException overlap = rules.checkOverlaps() ? changedTripOverlapError(passenger.getTrips(), previousById) : null;
+        if (overlap != null) {
+            return Mono.error(overlap);
+        }
+        return validateTrips(changedTrips, routeService, vehicleService, rules);
+    }
+
+    private static RuntimeException overlapError(List<Trip> trips) {
+        if (trips == null) {
+            return null;
+        }
+        TripOverlapIndex.Overlap overlap = TripOverlapIndex.findFirstOverlap(trips);
+        return overlap == null ? null : overlapError(overlap.trip(), overlap.conflictingTrip());
+    }
+
+    private static RuntimeException changedTripOverlapError(List<Trip> trips, Map<String, Trip> previousById) {
+        TripOverlapIndex index = new TripOverlapIndex();
+        List<Trip> changedTimes = new ArrayList<>();
+        for (Trip trip : trips) {
+            Trip previous = previousById.get(trip.getTripId());
+            if (previous != null && Objects.equals(previous.getStartTime(), trip.getStartTime())
+                    && Objects.equals(previous.getEndTime(), trip.getEndTime())) {
+                index.add(trip);
+            } else {
+                changedTimes.add(trip);
+            }
+        }
+        for (Trip trip : changedTimes) {
+            Trip conflict = index.add(trip);
+            if (conflict != null) {
+                return overlapError(trip, conflict);
+            }
+        }
+        return null;
+    }
+
+    public static TripConflictException overlapError(Trip trip, Trip conflictingTrip) {
+        return new TripConflictException("Trip " + trip.getTripId() + " overlaps trip " + conflictingTrip.getTripId());
+    }
+
+    private static boolean needsValidation(Trip previous, Trip current, TripValidationRules rules) {
+        return previous == null
+                || Boolean.TRUE.equals(previous.getPendingValidation())
+                || !Objects.equals(previous.getRouteId(), current.getRouteId())
+                || !Objects.equals(previous.getVehicleId(), current.getVehicleId())
+                || rules.checkStops() && (!Objects.equals(previous.getStartStop(), current.getStartStop())
+                || !Objects.equals(previous.getEndStop(), current.getEndStop()))
+                || rules.checkSchedule() && (!Objects.equals(previous.getStartTime(), current.getStartTime())
+                || !Objects.equals(previous.getEndTime(), current.getEndTime()));
+    }
+
+    private static Mono<Void> validateTrips(List<Trip> trips, RouteService routeService, VehicleService vehicleService,
+                                            TripValidationRules rules) {
+        return resolveDependencies(trips, routeService, vehicleService, rules.concurrency())
+                .flatMap(resolutions -> {
+                    RuntimeException error = firstTripError(trips, resolutions, rules);
+                    return error == null ? Mono.<Void>empty() : Mono.error(error);
+                });
+    }
+
+    private static Mono<Map<Dependency, Resolved>> resolveDependencies(List<Trip> trips, RouteService routeService,
+                                                                       VehicleService vehicleService, int concurrency) {
+        Set<String> routeIds = trips.stream().map(Trip::getRouteId).collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<String> vehicleIds = trips.stream().map(Trip::getVehicleId).collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Flux<Mono<Resolved>> lookups = Flux.concat(
+                Flux.fromIterable(routeIds)
+                        .map(routeId -> resolve(routeService.getRouteIndex(routeId), new Dependency(DependencyType.ROUTE, routeId))),
+                Flux.fromIterable(vehicleIds)
+                        .map(vehicleId -> resolve(vehicleService.getVehicleById(vehicleId), new Dependency(DependencyType.VEHICLE, vehicleId))));
+
+        return Flux.merge(lookups, concurrency)
+                .collectMap(Resolved::dependency);
+    }
+
+    public static Mono<Void> validateTripDependencies(Trip trip, RouteService routeService, VehicleService vehicleService,
+                                                      TripValidationRules rules) {
+        return validateTrips(List.of(trip), routeService, vehicleService, rules);
+    }
+
+    private static Mono<Resolved> resolve(Mono<?> lookup, Dependency dependency) {
+        return lookup.map(value -> new Resolved(dependency, Resolution.FOUND, value))
+                .defaultIfEmpty(new Resolved(dependency, Resolution.MISSING, null))
+                .onErrorResume(DownstreamUnavailableException.class, unavailable -> Mono.just(new Resolved(dependency, Resolution.UNAVAILABLE, null)));
+    }
+
+    private static RuntimeException firstTripError(List<Trip> trips, Map<Dependency, Resolved> resolutions,
+                                                   TripValidationRules rules) {
+        for (Trip trip : trips) {
+            Resolved routeResolution = resolutions.get(new Dependency(DependencyType.ROUTE, trip.getRouteId()));
+            Resolution route = routeResolution == null ? null : routeResolution.resolution();
+            Resolution vehicle = resolution(resolutions, new Dependency(DependencyType.VEHICLE, trip.getVehicleId()));
+            if (route == Resolution.MISSING) {
+                return new PassengerNotFoundException("Route not found for ID: " + trip.getRouteId());
+            }
+            if (vehicle == Resolution.MISSING) {
+                return new PassengerNotFoundException("Vehicle not found for ID: " + trip.getVehicleId());
+            }
+            if (route == Resolution.UNAVAILABLE || vehicle == Resolution.UNAVAILABLE) {
+                if (rules.unavailableDependencies() == UnavailableDependencyPolicy.REJECT) {
+                    return route == Resolution.UNAVAILABLE
+                            ? new DependencyUnavailableException("Route service unavailable, cannot validate route ID: " + trip.getRouteId())
+                            : new DependencyUnavailableException("Vehicle service unavailable, cannot validate vehicle ID: " + trip.getVehicleId());
+                }
+                trip.setPendingValidation(true);
+            } else if (trip.getPendingValidation() != null) {
+                trip.setPendingValidation(null);
+            }
+            if (route == Resolution.FOUND && routeResolution.value() instanceof RouteIndex routeIndex) {
+                RuntimeException error = rules.checkStops() ? stopError(trip, routeIndex) : null;
+                if (error == null && rules.checkSchedule()) {
+                    error = scheduleError(trip, routeIndex);
+                }
+                if (error != null) {
+                    return error;
+                }
+            }
+        }
+        return null;
     }
 
-    public static Mono<Void> validateTripDependencies(Trip trip, RouteService routeService, VehicleService vehicleService) {
-        return Mono.zip(
-                routeService.getRouteById(trip.getRouteId())
-                        .switchIfEmpty(Mono.error(new PassengerNotFoundException("Route not found for ID: " + trip.getRouteId()))),
-                vehicleService.getVehicleById(trip.getVehicleId())
-                        .switchIfEmpty(Mono.error(new PassengerNotFoundException("Vehicle not found for ID: " + trip.getVehicleId())))
-        ).then();
+    private static RuntimeException stopError(Trip trip, RouteIndex routeIndex) {
+        return switch (routeIndex.checkStops(trip.getStartStop(), trip.getEndStop())) {
+            case UNKNOWN_START -> new InvalidTripException("Stop " + trip.getStartStop() + " is not on route " + trip.getRouteId());
+            case UNKNOWN_END -> new InvalidTripException("Stop " + trip.getEndStop() + " is not on route " + trip.getRouteId());
+            case WRONG_DIRECTION -> new InvalidTripException("Stop " + trip.getEndStop() + " does not come after stop "
+                    + trip.getStartStop() + " on route " + trip.getRouteId());
+            case VALID, NOT_CHECKED -> null;
+        };
+    }
+
+    private static RuntimeException scheduleError(Trip trip, RouteIndex routeIndex) {
+        return switch (routeIndex.checkSchedule(trip.getStartTime(), trip.getEndTime())) {
+            case END_BEFORE_START -> new InvalidTripException("Trip " + trip.getTripId() + " ends before it starts");
+            case NO_DEPARTURE -> new InvalidTripException("Route " + trip.getRouteId() + " has no departure at " + trip.getStartTime());
+            case AFTER_CLOSE -> new InvalidTripException("Trip " + trip.getTripId() + " ends at " + trip.getEndTime()
+                    + ", after route " + trip.getRouteId() + " stops operating");
+            case VALID, NOT_CHECKED -> null;
+        };
+    }
+
+    private static Resolution resolution(Map<Dependency, Resolved> resolutions, Dependency dependency) {
+        Resolved resolved = resolutions.get(dependency);
+        return resolved == null ? null : resolved.resolution();
     }
 
     public static void initializeTripsIfNull(Passenger passenger) {
@@ -43,4 +268,22 @@ public class PassengerTripValidator {
             passenger.setTrips(new ArrayList<>());
         }
     }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private enum DependencyType {
+        ROUTE, VEHICLE
+    }
+
+    private enum Resolution {
+        FOUND, MISSING, UNAVAILABLE
+    }
+
+    private record Dependency(DependencyType type, String id) {
+    }
+
+    private record Resolved(Dependency dependency, Resolution resolution, Object value) {
+    }
 }
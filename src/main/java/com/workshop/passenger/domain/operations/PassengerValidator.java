@@ -1,12 +1,18 @@
 package com.workshop.passenger.domain.operations;
 
+import com.workshop.passenger.domain.exception.InvalidPassengerException;
 import com.workshop.passenger.domain.exception.PassengerNotFoundException;
 import com.workshop.passenger.domain.model.aggregates.Passenger;
+import com.workshop.passenger.domain.model.entities.Trip;
 import com.workshop.passenger.domain.repository.PassengerCommandRepository;
 import reactor.core.publisher.Mono;
 
+import java.util.regex.Pattern;
+
 public class PassengerValidator {
 
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+");
+
     private PassengerValidator() {
     }
 
@@ -14,4 +20,51 @@ public class PassengerValidator {
         return passengerCommandRepository.findById(passengerId)
                 .switchIfEmpty(Mono.error(new PassengerNotFoundException("Passenger not found for ID: " + passengerId)));
     }
+
+    public static Mono<Passenger> findPassengerProfile(PassengerCommandRepository passengerCommandRepository, String passengerId) {
+        return passengerCommandRepository.findProfile(passengerId)
+                .switchIfEmpty(Mono.error(new PassengerNotFoundException("Passenger not found for ID: " + passengerId)));
+    }
+
+    public static Mono<Passenger> findPassengerWithTrip(PassengerCommandRepository passengerCommandRepository, String passengerId,
+                                                        String tripId) {
+        return passengerCommandRepository.findWithTrip(passengerId, tripId)
+                .switchIfEmpty(Mono.error(new PassengerNotFoundException("Passenger not found for ID: " + passengerId)));
+    }
+
+    public static Mono<Passenger> deletePassengerById(PassengerCommandRepository passengerCommandRepository, String passengerId) {
+        return passengerCommandRepository.deletePassenger(passengerId)
+                .switchIfEmpty(Mono.error(new PassengerNotFoundException("Passenger not found for ID: " + passengerId)));
+    }
+
+    public static RuntimeException recordError(Passenger passenger, TripValidationRules rules) {
+        if (isBlank(passenger.getName())) {
+            return new InvalidPassengerException("Name is required");
+        }
+        if (isBlank(passenger.getEmail())) {
+            return new InvalidPassengerException("Email is required");
+        }
+        if (!EMAIL.matcher(passenger.getEmail()).matches()) {
+            return new InvalidPassengerException("Invalid email format: " + passenger.getEmail());
+        }
+        if (isBlank(passenger.getPhone())) {
+            return new InvalidPassengerException("Phone number is required");
+        }
+        if (isBlank(passenger.getPreferredPaymentMethod())) {
+            return new InvalidPassengerException("Preferred payment method is required");
+        }
+        if (passenger.getTrips() != null) {
+            for (Trip trip : passenger.getTrips()) {
+                RuntimeException error = PassengerTripValidator.recordError(trip, rules);
+                if (error != null) {
+                    return error;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
 }
@@ -0,0 +1,67 @@
+package com.workshop.passenger.domain.operations;
+
+import com.workshop.passenger.domain.model.entities.Trip;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class TripOverlapIndex {
+
+    private final TreeMap<LocalDateTime, Trip> tripsByStart = new TreeMap<>();
+
+    public static Overlap findFirstOverlap(Iterable<Trip> trips) {
+        TripOverlapIndex index = new TripOverlapIndex();
+        for (Trip trip : trips) {
+            Trip conflict = index.add(trip);
+            if (conflict != null) {
+                return new Overlap(trip, conflict);
+            }
+        }
+        return null;
+    }
+
+    public Trip add(Trip trip) {
+        if (!isTimed(trip)) {
+            return null;
+        }
+        Trip conflict = findOverlap(trip);
+        if (conflict == null) {
+            tripsByStart.put(trip.getStartTime(), trip);
+        }
+        return conflict;
+    }
+
+    public Trip findOverlap(Trip trip) {
+        if (!isTimed(trip)) {
+            return null;
+        }
+        Map.Entry<LocalDateTime, Trip> before = tripsByStart.floorEntry(trip.getStartTime());
+        if (before != null && overlaps(before.getValue(), trip)) {
+            return before.getValue();
+        }
+        Map.Entry<LocalDateTime, Trip> after = tripsByStart.higherEntry(trip.getStartTime());
+        if (after != null && overlaps(after.getValue(), trip)) {
+            return after.getValue();
+        }
+        return null;
+    }
+
+    public int size() {
+        return tripsByStart.size();
+    }
+
+    public static boolean isTimed(Trip trip) {
+        return trip.getStartTime() != null && trip.getEndTime() != null && !trip.getEndTime().isBefore(trip.getStartTime());
+    }
+
+    private static boolean overlaps(Trip first, Trip second) {
+        if (first.getStartTime().equals(second.getStartTime())) {
+            return true;
+        }
+        return first.getStartTime().isBefore(second.getEndTime()) && second.getStartTime().isBefore(first.getEndTime());
+    }
+
+    public record Overlap(Trip trip, Trip conflictingTrip) {
+    }
+}
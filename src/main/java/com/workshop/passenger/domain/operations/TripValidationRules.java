@@ -0,0 +1,14 @@
+package com.workshop.passenger.domain.operations;
+
+import lombok.Builder;
+
+@Builder(toBuilder = true)
+public record TripValidationRules(UnavailableDependencyPolicy unavailableDependencies, boolean checkStops,
+                                  boolean checkSchedule, boolean checkOverlaps, int concurrency) {
+
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    public static TripValidationRules defaults() {
+        return new TripValidationRules(UnavailableDependencyPolicy.REJECT, false, false, false, DEFAULT_CONCURRENCY);
+    }
+}
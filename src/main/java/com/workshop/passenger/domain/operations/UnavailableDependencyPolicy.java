@@ -0,0 +1,5 @@
+package com.workshop.passenger.domain.operations;
+
+public enum UnavailableDependencyPolicy {
+    REJECT, ACCEPT_PENDING
+}
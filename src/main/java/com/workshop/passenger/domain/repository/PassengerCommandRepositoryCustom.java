@@ -0,0 +1,45 @@
+package com.workshop.passenger.domain.repository;
+
+import com.workshop.passenger.domain.model.aggregates.Passenger;
+import com.workshop.passenger.domain.model.entities.Trip;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface PassengerCommandRepositoryCustom {
+
+    Mono<Passenger> pushTrip(String passengerId, Trip trip);
+
+    Mono<Passenger> pushNonOverlappingTrip(String passengerId, Trip trip);
+
+    Mono<Passenger> pullTrip(String passengerId, String tripId);
+
+    Mono<Passenger> findProfile(String passengerId);
+
+    Mono<Passenger> incrementVersion(String passengerId);
+
+    Mono<Passenger> findWithTrip(String passengerId, String tripId);
+
+    Mono<Passenger> findTripTimes(String passengerId);
+
+    Mono<Boolean> hasMoreTripsThan(String passengerId, int count);
+
+    Mono<Passenger> deletePassenger(String passengerId);
+
+    Mono<Passenger> setFields(String passengerId, Long expectedVersion, Map<String, Object> fields);
+
+    Mono<Map<Integer, String>> bulkInsert(List<Passenger> passengers);
+
+    Flux<Passenger> findTrips(Collection<String> passengerIds, Collection<String> tripIds);
+
+    Mono<Void> pushTrips(Map<String, Long> expectedVersions, Map<String, List<Trip>> tripsByPassenger);
+
+    Mono<Passenger> archiveTrips(String passengerId, Long expectedVersion, List<List<Trip>> buckets);
+
+    Mono<Boolean> pullArchivedTrip(String passengerId, String tripId);
+
+    Mono<Long> deleteArchivedTrips(String passengerId);
+}
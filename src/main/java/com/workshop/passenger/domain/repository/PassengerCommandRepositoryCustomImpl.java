@@ -0,0 +1,202 @@
+package com.workshop.passenger.domain.repository;
+
+import com.workshop.passenger.domain.model.aggregates.Passenger;
+import com.workshop.passenger.domain.model.entities.Trip;
+import com.workshop.passenger.domain.model.entities.TripBucket;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class PassengerCommandRepositoryCustomImpl implements PassengerCommandRepositoryCustom {
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public PassengerCommandRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Passenger> pushTrip(String passengerId, Trip trip) {
+        Query query = Query.query(Criteria.where("id").is(passengerId).and("trips.tripId").ne(trip.getTripId()));
+        Update update = new Update().push("trips", trip).inc("version", 1);
+        return mongoTemplate.findAndModify(query, update, RETURN_NEW, Passenger.class);
+    }
+
+    @Override
+    public Mono<Passenger> pushNonOverlappingTrip(String passengerId, Trip trip) {
+        Query query = Query.query(Criteria.where("id").is(passengerId)
+                .and("trips").not().elemMatch(Criteria.where("startTime").lt(trip.getEndTime())
+                        .and("endTime").gt(trip.getStartTime()))
+                .and("trips.tripId").ne(trip.getTripId()));
+        Update update = new Update().push("trips", trip).inc("version", 1);
+        return mongoTemplate.findAndModify(query, update, RETURN_NEW, Passenger.class);
+    }
+
+    @Override
+    public Mono<Passenger> pullTrip(String passengerId, String tripId) {
+        Query query = Query.query(Criteria.where("id").is(passengerId).and("trips.tripId").is(tripId));
+        Update update = new Update().pull("trips", new Document("tripId", tripId)).inc("version", 1);
+        return mongoTemplate.findAndModify(query, update, RETURN_NEW, Passenger.class);
+    }
+
+    @Override
+    public Mono<Passenger> findProfile(String passengerId) {
+        Query query = Query.query(Criteria.where("id").is(passengerId));
+        query.fields().exclude("trips");
+        return mongoTemplate.findOne(query, Passenger.class);
+    }
+
+    @Override
+    public Mono<Passenger> incrementVersion(String passengerId) {
+        return mongoTemplate.findAndModify(Query.query(Criteria.where("id").is(passengerId)), new Update().inc("version", 1),
+                RETURN_NEW, Passenger.class);
+    }
+
+    @Override
+    public Mono<Passenger> findWithTrip(String passengerId, String tripId) {
+        Query query = Query.query(Criteria.where("id").is(passengerId));
+        query.fields().include("version").elemMatch("trips", Criteria.where("tripId").is(tripId));
+        return mongoTemplate.findOne(query, Passenger.class);
+    }
+
+    @Override
+    public Mono<Passenger> findTripTimes(String passengerId) {
+        Query query = Query.query(Criteria.where("id").is(passengerId));
+        query.fields().include("version", "trips.tripId", "trips.startTime", "trips.endTime");
+        return mongoTemplate.findOne(query, Passenger.class);
+    }
+
+    @Override
+    public Mono<Boolean> hasMoreTripsThan(String passengerId, int count) {
+        return mongoTemplate.exists(Query.query(Criteria.where("id").is(passengerId).and("trips." + count).exists(true)),
+                Passenger.class);
+    }
+
+    @Override
+    public Mono<Passenger> deletePassenger(String passengerId) {
+        Query query = Query.query(Criteria.where("id").is(passengerId));
+        query.fields().include("version");
+        return mongoTemplate.findAndRemove(query, Passenger.class);
+    }
+
+    @Override
+    public Mono<Passenger> setFields(String passengerId, Long expectedVersion, Map<String, Object> fields) {
+        Query query = Query.query(Criteria.where("id").is(passengerId).and("version").is(expectedVersion));
+        Update update = new Update();
+        fields.forEach(update::set);
+        update.inc("version", 1);
+        return mongoTemplate.findAndModify(query, update, RETURN_NEW, Passenger.class)
+                .switchIfEmpty(Mono.defer(() -> mongoTemplate.exists(Query.query(Criteria.where("id").is(passengerId)), Passenger.class)
+                        .flatMap(exists -> exists
+                                ? Mono.error(new OptimisticLockingFailureException(
+                                "Passenger " + passengerId + " was modified concurrently, expected version " + expectedVersion))
+                                : Mono.empty())));
+    }
+
+    @Override
+    public Mono<Map<Integer, String>> bulkInsert(List<Passenger> passengers) {
+        if (passengers.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Passenger.class)
+                .insert(passengers)
+                .execute()
+                .<Map<Integer, String>>thenReturn(Map.of())
+                .onErrorResume(error -> writeErrors(error) != null,
+                        error -> Mono.just(writeErrors(error).stream()
+                                .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage,
+                                        (first, second) -> first))));
+    }
+
+    @Override
+    public Flux<Passenger> findTrips(Collection<String> passengerIds, Collection<String> tripIds) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("id").in(passengerIds)),
+                Aggregation.project("version").and(context -> new Document("$filter", new Document("input", "$trips")
+                        .append("as", "trip")
+                        .append("cond", new Document("$in", List.of("$$trip.tripId", List.copyOf(tripIds)))))).as("trips"));
+        return mongoTemplate.aggregate(aggregation, Passenger.class, Passenger.class);
+    }
+
+    @Override
+    public Mono<Void> pushTrips(Map<String, Long> expectedVersions, Map<String, List<Trip>> tripsByPassenger) {
+        if (tripsByPassenger.isEmpty()) {
+            return Mono.empty();
+        }
+        ReactiveBulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Passenger.class);
+        tripsByPassenger.forEach((passengerId, trips) -> bulkOperations.updateOne(
+                Query.query(Criteria.where("id").is(passengerId)
+                        .and("version").is(expectedVersions.get(passengerId))
+                        .and("trips.tripId").nin(trips.stream().map(Trip::getTripId).toList())),
+                new Update().push("trips").each(trips.toArray()).inc("version", trips.size())));
+        return bulkOperations.execute()
+                .flatMap(result -> result.getMatchedCount() == tripsByPassenger.size()
+                        ? Mono.<Void>empty()
+                        : Mono.error(new OptimisticLockingFailureException("Expected to push trips to " + tripsByPassenger.size()
+                        + " passengers but " + result.getMatchedCount() + " were unchanged since they were read")));
+    }
+
+    @Override
+    public Mono<Passenger> archiveTrips(String passengerId, Long expectedVersion, List<List<Trip>> buckets) {
+        String archiveId = new ObjectId().toHexString();
+        List<TripBucket> tripBuckets = buckets.stream().map(trips -> TripBucket.of(passengerId, archiveId, trips)).toList();
+        List<String> archivedTripIds = buckets.stream().flatMap(List::stream).map(Trip::getTripId).toList();
+        Query query = Query.query(Criteria.where("id").is(passengerId).and("version").is(expectedVersion));
+        Update update = new Update()
+                .pull("trips", new Document("tripId", new Document("$in", archivedTripIds)))
+                .inc("version", 1);
+        return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TripBucket.class)
+                .insert(tripBuckets)
+                .execute()
+                .then(Mono.defer(() -> mongoTemplate.findAndModify(query, update, RETURN_NEW, Passenger.class)))
+                .switchIfEmpty(Mono.defer(() -> mongoTemplate.remove(Query.query(Criteria.where("passengerId").is(passengerId)
+                                .and("archiveId").is(archiveId)), TripBucket.class)
+                        .then(Mono.empty())));
+    }
+
+    @Override
+    public Mono<Boolean> pullArchivedTrip(String passengerId, String tripId) {
+        Query query = Query.query(Criteria.where("passengerId").is(passengerId).and("trips.tripId").is(tripId));
+        Update update = new Update().pull("trips", new Document("tripId", tripId)).inc("size", -1);
+        return mongoTemplate.updateFirst(query, update, TripBucket.class)
+                .map(result -> result.getModifiedCount() > 0);
+    }
+
+    @Override
+    public Mono<Long> deleteArchivedTrips(String passengerId) {
+        return mongoTemplate.remove(Query.query(Criteria.where("passengerId").is(passengerId)), TripBucket.class)
+                .map(result -> result.getDeletedCount());
+    }
+
+    private static List<BulkWriteError> writeErrors(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BulkOperationException bulkOperationException) {
+                return bulkOperationException.getErrors();
+            }
+            if (cause instanceof MongoBulkWriteException mongoBulkWriteException) {
+                return mongoBulkWriteException.getWriteErrors();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,115 @@
+package com.workshop.passenger.infraestructure.Route.config;
+
+import com.workshop.passenger.infraestructure.Route.model.aggregates.Route;
+import com.workshop.passenger.infraestructure.Route.model.valueobjects.RouteIndex;
+import com.workshop.passenger.infraestructure.cache.ExpiringCache;
+import com.workshop.passenger.infraestructure.cache.KnownIdFilter;
+import com.workshop.passenger.infraestructure.cache.LocalReplica;
+import com.workshop.passenger.infraestructure.client.BatchingLookup;
+import com.workshop.passenger.infraestructure.client.RequestHedger;
+import com.workshop.passenger.infraestructure.client.SingleFlight;
+import com.workshop.passenger.infraestructure.client.config.DownstreamLookupProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.nio.file.Path;
+
+@Configuration
+public class RouteLookupConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "routes")
+    public DownstreamLookupProperties routeLookupProperties() {
+        DownstreamLookupProperties properties = new DownstreamLookupProperties();
+        properties.getReplica().setCollection("RouteReplica");
+        return properties;
+    }
+
+    @Bean
+    public ExpiringCache<String, RouteIndex> routeCache(@Qualifier("routeLookupProperties") DownstreamLookupProperties properties,
+                                                        MeterRegistry meterRegistry) {
+        DownstreamLookupProperties.Cache cache = properties.getCache();
+        ExpiringCache<String, RouteIndex> routeCache = cache.isEnabled()
+                ? new ExpiringCache<>(cache.getMaxSize(), cache.getTtl(), cache.getNegativeTtl())
+                : ExpiringCache.disabled();
+        routeCache.bindTo(meterRegistry, "routes.cache");
+        return routeCache;
+    }
+
+    @Bean
+    public SingleFlight<String, RouteIndex> routeSingleFlight(MeterRegistry meterRegistry) {
+        SingleFlight<String, RouteIndex> routeSingleFlight = new SingleFlight<>();
+        routeSingleFlight.bindTo(meterRegistry, "routes.single-flight");
+        return routeSingleFlight;
+    }
+
+    @Bean
+    public BatchingLookup<String, Route> routeBatchingLookup(@Qualifier("routeLookupProperties") DownstreamLookupProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        DownstreamLookupProperties.Batch batch = properties.getBatch();
+        BatchingLookup<String, Route> routeBatchingLookup = batch.isEnabled()
+                ? new BatchingLookup<>(batch.getWindow(), batch.getMaxSize(), batch.getFallbackConcurrency())
+                : BatchingLookup.disabled();
+        routeBatchingLookup.bindTo(meterRegistry, "routes.batch");
+        return routeBatchingLookup;
+    }
+
+    @Bean
+    public RequestHedger routeRequestHedger(@Qualifier("routeLookupProperties") DownstreamLookupProperties properties,
+                                            MeterRegistry meterRegistry) {
+        DownstreamLookupProperties.Hedging hedging = properties.getHedging();
+        RequestHedger routeRequestHedger = hedging.isEnabled()
+                ? new RequestHedger(hedging.getPercentile(), hedging.getInitialDelay(), hedging.getMinDelay(),
+                hedging.getBudgetPercent(), hedging.getSampleSize())
+                : RequestHedger.disabled();
+        routeRequestHedger.bindTo(meterRegistry, "routes.hedging");
+        return routeRequestHedger;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public KnownIdFilter routeKnownIds(@Qualifier("routeLookupProperties") DownstreamLookupProperties properties,
+                                       @Qualifier("routeWebClient") WebClient webClient,
+                                       MeterRegistry meterRegistry) {
+        DownstreamLookupProperties.KnownIds knownIds = properties.getKnownIds();
+        String allUrl = properties.getApi().getGetAll();
+        String snapshotPath = knownIds.getSnapshotPath();
+        KnownIdFilter routeKnownIds = knownIds.isEnabled() && allUrl != null && !allUrl.isBlank()
+                ? new KnownIdFilter("routes", knownIds.getExpectedInsertions(), knownIds.getFalsePositiveRate(),
+                        () -> allRoutes(webClient, properties.getApi().getBaseUrl() + allUrl).map(route -> route.getRouteId().toHexString()),
+                        knownIds.getRefreshInterval(), knownIds.getClockSkew(),
+                        snapshotPath == null || snapshotPath.isBlank() ? null : Path.of(snapshotPath))
+                : KnownIdFilter.disabled();
+        routeKnownIds.bindTo(meterRegistry, "routes.known-ids");
+        return routeKnownIds;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public LocalReplica<Route> routeReplica(@Qualifier("routeLookupProperties") DownstreamLookupProperties properties,
+                                            @Qualifier("routeWebClient") WebClient webClient,
+                                            ReactiveMongoTemplate mongoTemplate,
+                                            MeterRegistry meterRegistry) {
+        DownstreamLookupProperties.Replica replica = properties.getReplica();
+        String allUrl = properties.getApi().getGetAll();
+        LocalReplica<Route> routeReplica = replica.isEnabled() && allUrl != null && !allUrl.isBlank()
+                ? new LocalReplica<>("routes", mongoTemplate, Route.class, replica.getCollection(), Route::getRouteId,
+                        () -> allRoutes(webClient, properties.getApi().getBaseUrl() + allUrl), replica.getSyncInterval(),
+                        replica.getMaxStaleness(), replica.isFallbackOnMiss())
+                : LocalReplica.disabled();
+        routeReplica.bindTo(meterRegistry, "routes.replica");
+        return routeReplica;
+    }
+
+    private static Flux<Route> allRoutes(WebClient webClient, String url) {
+        return webClient.get()
+                .uri(url)
+                .retrieve()
+                .bodyToFlux(Route.class)
+                .filter(route -> route.getRouteId() != null);
+    }
+}
@@ -0,0 +1,146 @@
+package com.workshop.passenger.infraestructure.Route.model.valueobjects;
+
+import com.workshop.passenger.infraestructure.Route.model.aggregates.Route;
+import com.workshop.passenger.infraestructure.Route.model.entities.Schedule;
+import com.workshop.passenger.infraestructure.Route.model.entities.Stop;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class RouteIndex {
+
+    private static final int POSITION_BITS = 16;
+    private static final int POSITION_MASK = (1 << POSITION_BITS) - 1;
+
+    private final String routeId;
+    private final Map<String, Integer> stopPositions;
+    private final Window weekdays;
+    private final Window weekends;
+
+    private RouteIndex(String routeId, Map<String, Integer> stopPositions, Window weekdays, Window weekends) {
+        this.routeId = routeId;
+        this.stopPositions = stopPositions;
+        this.weekdays = weekdays;
+        this.weekends = weekends;
+    }
+
+    public static RouteIndex of(Route route) {
+        String routeId = route.getRouteId() == null ? null : route.getRouteId().toHexString();
+        Schedule schedule = route.getSchedule();
+        Window weekdays = schedule == null ? null : Window.of(schedule.getWeekdays());
+        Window weekends = schedule == null ? null : Window.of(schedule.getWeekends());
+        List<Stop> stops = route.getStops();
+        if (stops == null || stops.isEmpty()) {
+            return new RouteIndex(routeId, Map.of(), weekdays, weekends);
+        }
+        Map<String, Integer> stopPositions = new HashMap<>(stops.size() * 4);
+        for (int position = 0; position < Math.min(stops.size(), POSITION_MASK); position++) {
+            Stop stop = stops.get(position);
+            if (stop == null) {
+                continue;
+            }
+            record(stopPositions, stop.getStopId(), position);
+            record(stopPositions, stop.getStopName(), position);
+        }
+        return new RouteIndex(routeId, Map.copyOf(stopPositions), weekdays, weekends);
+    }
+
+    public String getRouteId() {
+        return routeId;
+    }
+
+    public boolean hasStops() {
+        return !stopPositions.isEmpty();
+    }
+
+    public boolean hasStop(String stop) {
+        return stop != null && stopPositions.containsKey(stop);
+    }
+
+    public StopOrder checkStops(String startStop, String endStop) {
+        if (!hasStops() || startStop == null || endStop == null) {
+            return StopOrder.NOT_CHECKED;
+        }
+        Integer start = stopPositions.get(startStop);
+        if (start == null) {
+            return StopOrder.UNKNOWN_START;
+        }
+        Integer end = stopPositions.get(endStop);
+        if (end == null) {
+            return StopOrder.UNKNOWN_END;
+        }
+        return first(start) < last(end) ? StopOrder.VALID : StopOrder.WRONG_DIRECTION;
+    }
+
+    public ScheduleFit checkSchedule(LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime == null || endTime == null) {
+            return ScheduleFit.NOT_CHECKED;
+        }
+        Window window = windowFor(startTime.getDayOfWeek());
+        if (window == null) {
+            return ScheduleFit.NOT_CHECKED;
+        }
+        if (endTime.isBefore(startTime)) {
+            return ScheduleFit.END_BEFORE_START;
+        }
+        int departure = startTime.getHour() * 60 + startTime.getMinute();
+        if (departure < window.firstDeparture() || departure > window.lastDeparture()) {
+            return ScheduleFit.NO_DEPARTURE;
+        }
+        int arrival = endTime.getHour() * 60 + endTime.getMinute();
+        if (!endTime.toLocalDate().equals(startTime.toLocalDate()) || arrival > window.close()) {
+            return ScheduleFit.AFTER_CLOSE;
+        }
+        return ScheduleFit.VALID;
+    }
+
+    public Window windowFor(DayOfWeek day) {
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY ? weekends : weekdays;
+    }
+
+    private static void record(Map<String, Integer> stopPositions, String key, int position) {
+        if (key == null) {
+            return;
+        }
+        stopPositions.merge(key, pack(position, position), (known, added) -> pack(first(known), position));
+    }
+
+    private static int pack(int first, int last) {
+        return first << POSITION_BITS | last;
+    }
+
+    private static int first(int packed) {
+        return packed >>> POSITION_BITS;
+    }
+
+    private static int last(int packed) {
+        return packed & POSITION_MASK;
+    }
+
+    public enum StopOrder {
+        VALID, NOT_CHECKED, UNKNOWN_START, UNKNOWN_END, WRONG_DIRECTION
+    }
+
+    public enum ScheduleFit {
+        VALID, NOT_CHECKED, END_BEFORE_START, NO_DEPARTURE, AFTER_CLOSE
+    }
+
+    public record Window(int firstDeparture, int lastDeparture, int close) {
+
+        private static Window of(WeekSchedule weekSchedule) {
+            if (weekSchedule == null || weekSchedule.getStartTime() == null || weekSchedule.getEndTime() == null) {
+                return null;
+            }
+            int open = weekSchedule.getStartTime().toSecondOfDay() / 60;
+            int close = weekSchedule.getEndTime().toSecondOfDay() / 60;
+            Integer frequency = weekSchedule.getFrequencyMinutes();
+            int lastDeparture = frequency == null || frequency <= 0
+                    ? close
+                    : open + Math.max(close - open - 1, 0) / frequency * frequency;
+            return new Window(open, lastDeparture, close);
+        }
+    }
+}
@@ -1,37 +1,145 @@
 package com.workshop.passenger.infraestructure.Route.service;
 
 import com.workshop.passenger.infraestructure.Route.model.aggregates.Route;
+import com.workshop.passenger.infraestructure.Route.model.valueobjects.RouteIndex;
+import com.workshop.passenger.infraestructure.cache.ExpiringCache;
+import com.workshop.passenger.infraestructure.cache.KnownIdFilter;
+import com.workshop.passenger.infraestructure.cache.LocalReplica;
+import com.workshop.passenger.infraestructure.client.BatchingLookup;
+import com.workshop.passenger.infraestructure.client.BulkLoader;
+import com.workshop.passenger.infraestructure.client.DownstreamGuard;
+import com.workshop.passenger.infraestructure.client.DownstreamUnavailableException;
+import com.workshop.passenger.infraestructure.client.RequestHedger;
+import com.workshop.passenger.infraestructure.client.SingleFlight;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriTemplate;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
 @Service
 public class RouteService {
 
+    private static final Logger logger = LoggerFactory.getLogger(RouteService.class);
+
     private final WebClient webClient;
-    private String baseUrl;
-    private String routeUrl;
+    private final ExpiringCache<String, RouteIndex> routeCache;
+    private final SingleFlight<String, RouteIndex> routeSingleFlight;
+    private final BatchingLookup<String, Route> routeBatchingLookup;
+    private final DownstreamGuard routeGuard;
+    private final RequestHedger routeRequestHedger;
+    private final KnownIdFilter routeKnownIds;
+    private final LocalReplica<Route> routeReplica;
+    private final RouteLoader routeLoader = new RouteLoader();
+    private final UriTemplate routeTemplate;
+    private final UriTemplate routesTemplate;
+    private String routesUrl;
+
+    public RouteService(WebClient webClient, String baseUrl, String routeUrl) {
+        this(webClient, baseUrl, routeUrl, "", ExpiringCache.disabled(), new SingleFlight<>(), BatchingLookup.disabled(), DownstreamGuard.disabled(), RequestHedger.disabled(), KnownIdFilter.disabled(), LocalReplica.disabled());
+    }
 
     @Autowired
-    public RouteService(WebClient webClient,
-                        @Value("${route.api.base-url}") String baseUrl,
-                        @Value("${route.api.get-by-id}") String routeUrl) {
+    public RouteService(@Qualifier("routeWebClient") WebClient webClient,
+                        @Value("${routes.api.base-url}") String baseUrl,
+                        @Value("${routes.api.get-by-id}") String routeUrl,
+                        @Value("${routes.api.get-by-ids:}") String routesUrl,
+                        ExpiringCache<String, RouteIndex> routeCache,
+                        SingleFlight<String, RouteIndex> routeSingleFlight,
+                        BatchingLookup<String, Route> routeBatchingLookup,
+                        @Qualifier("routeGuard") DownstreamGuard routeGuard,
+                        RequestHedger routeRequestHedger,
+                        KnownIdFilter routeKnownIds,
+                        LocalReplica<Route> routeReplica) {
         this.webClient = webClient;
-        this.routeUrl = routeUrl;
-        this.baseUrl = baseUrl;
+        this.routeTemplate = new UriTemplate(baseUrl + routeUrl);
+        this.routesTemplate = routesUrl == null || routesUrl.isBlank() ? null : new UriTemplate(baseUrl + routesUrl);
+        this.routesUrl = routesUrl;
+        this.routeCache = routeCache;
+        this.routeSingleFlight = routeSingleFlight;
+        this.routeBatchingLookup = routeBatchingLookup;
+        this.routeGuard = routeGuard;
+        this.routeRequestHedger = routeRequestHedger;
+        this.routeKnownIds = routeKnownIds;
+        this.routeReplica = routeReplica;
     }
 
     public Mono<Route> getRouteById(String idString) {
+        return lookup(idString, this::loadRoute);
+    }
+
+    public Mono<RouteIndex> getRouteIndex(String idString) {
+        return lookup(idString, id -> routeCache.get(id, key -> routeSingleFlight.execute(key, routeId -> loadRoute(routeId).map(RouteIndex::of))));
+    }
+
+    private <T> Mono<T> lookup(String idString, Function<String, Mono<T>> loader) {
+        if (!routeKnownIds.mightExist(idString)) {
+            return Mono.empty();
+        }
+        return loader.apply(idString)
+                .switchIfEmpty(Mono.fromRunnable(() -> routeKnownIds.recordMissing(idString)))
+                .onErrorMap(error -> !(error instanceof DownstreamUnavailableException) && DownstreamGuard.isDownstreamFailure(error),
+                        error -> {
+                            logger.error("Error calling Route microservice: {}", error.getMessage());
+                            return new DownstreamUnavailableException("Route microservice failed: " + error.getMessage(), error);
+                        });
+    }
+
+    private Mono<Route> loadRoute(String idString) {
+        return routeReplica.get(idString, id -> routeBatchingLookup.get(id, routeLoader));
+    }
+
+    private Mono<Route> fetchRouteById(String idString) {
         return webClient.get()
-                .uri(baseUrl + routeUrl, idString)
+                .uri(routeTemplate.expand(idString))
                 .retrieve()
                 .bodyToMono(Route.class)
-                .onErrorResume(error -> {
-                    System.err.println("Error calling Route microservice: " + error.getMessage());
-                    return Mono.empty();
-                });
+                .onErrorResume(WebClientResponseException.NotFound.class, notFound -> Mono.empty());
+    }
+
+    private Mono<Map<String, Route>> fetchRoutesByIds(Collection<String> idStrings) {
+        return webClient.get()
+                .uri(routesTemplate.expand(String.join(",", idStrings)))
+                .retrieve()
+                .bodyToFlux(Route.class)
+                .filter(route -> route.getRouteId() != null)
+                .collectMap(route -> route.getRouteId().toHexString());
+    }
+
+    private class RouteLoader implements BulkLoader<String, Route> {
+
+        private volatile boolean bulkAvailable = true;
+
+        @Override
+        public Mono<Route> load(String idString) {
+            return routeRequestHedger.execute(() -> routeGuard.execute(() -> fetchRouteById(idString)));
+        }
+
+        @Override
+        public boolean supportsBulk() {
+            return bulkAvailable && routesTemplate != null;
+        }
+
+        @Override
+        public Mono<Map<String, Route>> loadAll(Collection<String> idStrings) {
+            return routeGuard.execute(() -> fetchRoutesByIds(idStrings))
+                    .doOnError(error -> {
+                        if (error instanceof WebClientResponseException.NotFound
+                                || error instanceof WebClientResponseException.MethodNotAllowed) {
+                            logger.warn("Route microservice has no bulk endpoint at {}, using single lookups", routesUrl);
+                            bulkAvailable = false;
+                        }
+                    });
+        }
     }
 
 }
@@ -0,0 +1,102 @@
+package com.workshop.passenger.infraestructure.Vehicle.config;
+
+import com.workshop.passenger.infraestructure.Vehicle.model.aggregates.Vehicle;
+import com.workshop.passenger.infraestructure.cache.KnownIdFilter;
+import com.workshop.passenger.infraestructure.cache.LocalReplica;
+import com.workshop.passenger.infraestructure.client.BatchingLookup;
+import com.workshop.passenger.infraestructure.client.RequestHedger;
+import com.workshop.passenger.infraestructure.client.SingleFlight;
+import com.workshop.passenger.infraestructure.client.config.DownstreamLookupProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.nio.file.Path;
+
+@Configuration
+public class VehicleLookupConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "vehicles")
+    public DownstreamLookupProperties vehicleLookupProperties() {
+        DownstreamLookupProperties properties = new DownstreamLookupProperties();
+        properties.getReplica().setCollection("VehicleReplica");
+        return properties;
+    }
+
+    @Bean
+    public SingleFlight<String, Vehicle> vehicleSingleFlight(MeterRegistry meterRegistry) {
+        SingleFlight<String, Vehicle> vehicleSingleFlight = new SingleFlight<>();
+        vehicleSingleFlight.bindTo(meterRegistry, "vehicles.single-flight");
+        return vehicleSingleFlight;
+    }
+
+    @Bean
+    public BatchingLookup<String, Vehicle> vehicleBatchingLookup(@Qualifier("vehicleLookupProperties") DownstreamLookupProperties properties,
+                                                                 MeterRegistry meterRegistry) {
+        DownstreamLookupProperties.Batch batch = properties.getBatch();
+        BatchingLookup<String, Vehicle> vehicleBatchingLookup = batch.isEnabled()
+                ? new BatchingLookup<>(batch.getWindow(), batch.getMaxSize(), batch.getFallbackConcurrency())
+                : BatchingLookup.disabled();
+        vehicleBatchingLookup.bindTo(meterRegistry, "vehicles.batch");
+        return vehicleBatchingLookup;
+    }
+
+    @Bean
+    public RequestHedger vehicleRequestHedger(@Qualifier("vehicleLookupProperties") DownstreamLookupProperties properties,
+                                              MeterRegistry meterRegistry) {
+        DownstreamLookupProperties.Hedging hedging = properties.getHedging();
+        RequestHedger vehicleRequestHedger = hedging.isEnabled()
+                ? new RequestHedger(hedging.getPercentile(), hedging.getInitialDelay(), hedging.getMinDelay(),
+                hedging.getBudgetPercent(), hedging.getSampleSize())
+                : RequestHedger.disabled();
+        vehicleRequestHedger.bindTo(meterRegistry, "vehicles.hedging");
+        return vehicleRequestHedger;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public KnownIdFilter vehicleKnownIds(@Qualifier("vehicleLookupProperties") DownstreamLookupProperties properties,
+                                         @Qualifier("vehicleWebClient") WebClient webClient,
+                                         MeterRegistry meterRegistry) {
+        DownstreamLookupProperties.KnownIds knownIds = properties.getKnownIds();
+        String allUrl = properties.getApi().getGetAll();
+        String snapshotPath = knownIds.getSnapshotPath();
+        KnownIdFilter vehicleKnownIds = knownIds.isEnabled() && allUrl != null && !allUrl.isBlank()
+                ? new KnownIdFilter("vehicles", knownIds.getExpectedInsertions(), knownIds.getFalsePositiveRate(),
+                        () -> allVehicles(webClient, properties.getApi().getBaseUrl() + allUrl).map(vehicle -> vehicle.getVehicleId().toHexString()),
+                        knownIds.getRefreshInterval(), knownIds.getClockSkew(),
+                        snapshotPath == null || snapshotPath.isBlank() ? null : Path.of(snapshotPath))
+                : KnownIdFilter.disabled();
+        vehicleKnownIds.bindTo(meterRegistry, "vehicles.known-ids");
+        return vehicleKnownIds;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public LocalReplica<Vehicle> vehicleReplica(@Qualifier("vehicleLookupProperties") DownstreamLookupProperties properties,
+                                                @Qualifier("vehicleWebClient") WebClient webClient,
+                                                ReactiveMongoTemplate mongoTemplate,
+                                                MeterRegistry meterRegistry) {
+        DownstreamLookupProperties.Replica replica = properties.getReplica();
+        String allUrl = properties.getApi().getGetAll();
+        LocalReplica<Vehicle> vehicleReplica = replica.isEnabled() && allUrl != null && !allUrl.isBlank()
+                ? new LocalReplica<>("vehicles", mongoTemplate, Vehicle.class, replica.getCollection(), Vehicle::getVehicleId,
+                        () -> allVehicles(webClient, properties.getApi().getBaseUrl() + allUrl), replica.getSyncInterval(),
+                        replica.getMaxStaleness(), replica.isFallbackOnMiss())
+                : LocalReplica.disabled();
+        vehicleReplica.bindTo(meterRegistry, "vehicles.replica");
+        return vehicleReplica;
+    }
+
+    private static Flux<Vehicle> allVehicles(WebClient webClient, String url) {
+        return webClient.get()
+                .uri(url)
+                .retrieve()
+                .bodyToFlux(Vehicle.class)
+                .filter(vehicle -> vehicle.getVehicleId() != null);
+    }
+}
@@ -1,36 +1,126 @@
 package com.workshop.passenger.infraestructure.Vehicle.service;
 
 import com.workshop.passenger.infraestructure.Vehicle.model.aggregates.Vehicle;
+import com.workshop.passenger.infraestructure.cache.KnownIdFilter;
+import com.workshop.passenger.infraestructure.cache.LocalReplica;
+import com.workshop.passenger.infraestructure.client.BatchingLookup;
+import com.workshop.passenger.infraestructure.client.BulkLoader;
+import com.workshop.passenger.infraestructure.client.DownstreamGuard;
+import com.workshop.passenger.infraestructure.client.DownstreamUnavailableException;
+import com.workshop.passenger.infraestructure.client.RequestHedger;
+import com.workshop.passenger.infraestructure.client.SingleFlight;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriTemplate;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Map;
+
 @Service
 public class VehicleService {
 
+    private static final Logger logger = LoggerFactory.getLogger(VehicleService.class);
+
     private final WebClient webClient;
-    private String baseUrl;
-    private String vehicleUrl;
+    private final SingleFlight<String, Vehicle> vehicleSingleFlight;
+    private final BatchingLookup<String, Vehicle> vehicleBatchingLookup;
+    private final DownstreamGuard vehicleGuard;
+    private final RequestHedger vehicleRequestHedger;
+    private final KnownIdFilter vehicleKnownIds;
+    private final LocalReplica<Vehicle> vehicleReplica;
+    private final VehicleLoader vehicleLoader = new VehicleLoader();
+    private final UriTemplate vehicleTemplate;
+    private final UriTemplate vehiclesTemplate;
+    private String vehiclesUrl;
+
+    public VehicleService(WebClient webClient, String baseUrl, String vehicleUrl) {
+        this(webClient, baseUrl, vehicleUrl, "", new SingleFlight<>(), BatchingLookup.disabled(), DownstreamGuard.disabled(), RequestHedger.disabled(), KnownIdFilter.disabled(), LocalReplica.disabled());
+    }
 
     @Autowired
-    public VehicleService(WebClient webClient,
+    public VehicleService(@Qualifier("vehicleWebClient") WebClient webClient,
                           @Value("${vehicles.api.base-url}") String baseUrl,
-                          @Value("${vehicles.api.get-by-id}") String vehicleUrl) {
+                          @Value("${vehicles.api.get-by-id}") String vehicleUrl,
+                          @Value("${vehicles.api.get-by-ids:}") String vehiclesUrl,
+                          SingleFlight<String, Vehicle> vehicleSingleFlight,
+                          BatchingLookup<String, Vehicle> vehicleBatchingLookup,
+                          @Qualifier("vehicleGuard") DownstreamGuard vehicleGuard,
+                          RequestHedger vehicleRequestHedger,
+                          KnownIdFilter vehicleKnownIds,
+                          LocalReplica<Vehicle> vehicleReplica) {
         this.webClient = webClient;
-        this.vehicleUrl = vehicleUrl;
-        this.baseUrl = baseUrl;
+        this.vehicleTemplate = new UriTemplate(baseUrl + vehicleUrl);
+        this.vehiclesTemplate = vehiclesUrl == null || vehiclesUrl.isBlank() ? null : new UriTemplate(baseUrl + vehiclesUrl);
+        this.vehiclesUrl = vehiclesUrl;
+        this.vehicleSingleFlight = vehicleSingleFlight;
+        this.vehicleBatchingLookup = vehicleBatchingLookup;
+        this.vehicleGuard = vehicleGuard;
+        this.vehicleRequestHedger = vehicleRequestHedger;
+        this.vehicleKnownIds = vehicleKnownIds;
+        this.vehicleReplica = vehicleReplica;
     }
 
     public Mono<Vehicle> getVehicleById(String idString) {
+        if (!vehicleKnownIds.mightExist(idString)) {
+            return Mono.empty();
+        }
+        return vehicleReplica.get(idString, id -> vehicleSingleFlight.execute(id, key -> vehicleBatchingLookup.get(key, vehicleLoader)))
+                .switchIfEmpty(Mono.fromRunnable(() -> vehicleKnownIds.recordMissing(idString)))
+                .onErrorMap(error -> !(error instanceof DownstreamUnavailableException) && DownstreamGuard.isDownstreamFailure(error),
+                        error -> {
+                            logger.error("Error calling Vehicle microservice: {}", error.getMessage());
+                            return new DownstreamUnavailableException("Vehicle microservice failed: " + error.getMessage(), error);
+                        });
+    }
+
+    private Mono<Vehicle> fetchVehicleById(String idString) {
         return webClient.get()
-                .uri(baseUrl + vehicleUrl, idString)
+                .uri(vehicleTemplate.expand(idString))
                 .retrieve()
                 .bodyToMono(Vehicle.class)
-                .onErrorResume(error -> {
-                    System.err.println("Error calling Vehicle microservice: " + error.getMessage());
-                    return Mono.empty();
-                });
+                .onErrorResume(WebClientResponseException.NotFound.class, notFound -> Mono.empty());
+    }
+
+    private Mono<Map<String, Vehicle>> fetchVehiclesByIds(Collection<String> idStrings) {
+        return webClient.get()
+                .uri(vehiclesTemplate.expand(String.join(",", idStrings)))
+                .retrieve()
+                .bodyToFlux(Vehicle.class)
+                .filter(vehicle -> vehicle.getVehicleId() != null)
+                .collectMap(vehicle -> vehicle.getVehicleId().toHexString());
+    }
+
+    private class VehicleLoader implements BulkLoader<String, Vehicle> {
+
+        private volatile boolean bulkAvailable = true;
+
+        @Override
+        public Mono<Vehicle> load(String idString) {
+            return vehicleRequestHedger.execute(() -> vehicleGuard.execute(() -> fetchVehicleById(idString)));
+        }
+
+        @Override
+        public boolean supportsBulk() {
+            return bulkAvailable && vehiclesTemplate != null;
+        }
+
+        @Override
+        public Mono<Map<String, Vehicle>> loadAll(Collection<String> idStrings) {
+            return vehicleGuard.execute(() -> fetchVehiclesByIds(idStrings))
+                    .doOnError(error -> {
+                        if (error instanceof WebClientResponseException.NotFound
+                                || error instanceof WebClientResponseException.MethodNotAllowed) {
+                            logger.warn("Vehicle microservice has no bulk endpoint at {}, using single lookups", vehiclesUrl);
+                            bulkAvailable = false;
+                        }
+                    });
+        }
     }
 }
@@ -0,0 +1,141 @@
+package com.workshop.passenger.infraestructure.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public class ExpiringCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final Clock clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public ExpiringCache(int maxSize, Duration ttl, Duration negativeTtl) {
+        this(maxSize, ttl, negativeTtl, Clock.systemUTC());
+    }
+
+    public ExpiringCache(int maxSize, Duration ttl, Duration negativeTtl, Clock clock) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Cache max size must not be negative");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ExpiringCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static <K, V> ExpiringCache<K, V> disabled() {
+        return new ExpiringCache<>(0, Duration.ZERO, Duration.ZERO);
+    }
+
+    public Mono<V> get(K key, Function<K, Mono<V>> loader) {
+        if (maxSize == 0) {
+            return loader.apply(key);
+        }
+        return Mono.defer(() -> {
+            Entry<V> cached = lookup(key);
+            if (cached != null) {
+                hits.increment();
+                return Mono.justOrEmpty(cached.value());
+            }
+            misses.increment();
+            return loader.apply(key)
+                    .doOnNext(value -> store(key, value, ttlMillis))
+                    .switchIfEmpty(Mono.fromRunnable(() -> store(key, null, negativeTtlMillis)));
+        });
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long expirationCount() {
+        return expirations.sum();
+    }
+
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder(name + ".hits", this, ExpiringCache::hitCount).register(registry);
+        FunctionCounter.builder(name + ".misses", this, ExpiringCache::missCount).register(registry);
+        FunctionCounter.builder(name + ".evictions", this, ExpiringCache::evictionCount).register(registry);
+        FunctionCounter.builder(name + ".expirations", this, ExpiringCache::expirationCount).register(registry);
+        Gauge.builder(name + ".size", this, ExpiringCache::size).register(registry);
+    }
+
+    private Entry<V> lookup(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() <= clock.millis()) {
+                entries.remove(key);
+                expirations.increment();
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private void store(K key, V value, long ttl) {
+        if (ttl <= 0) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, clock.millis() + ttl));
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
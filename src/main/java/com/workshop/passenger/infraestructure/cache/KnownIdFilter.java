@@ -0,0 +1,245 @@
+package com.workshop.passenger.infraestructure.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class KnownIdFilter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(KnownIdFilter.class);
+
+    private final String name;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Supplier<Flux<String>> source;
+    private final Duration refreshInterval;
+    private final Duration clockSkew;
+    private final Path snapshotPath;
+    private final Clock clock;
+
+    private volatile Snapshot current;
+    private volatile long lastRefreshNanos;
+    private Disposable refresher;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    public KnownIdFilter(String name, long expectedInsertions, double falsePositiveRate, Supplier<Flux<String>> source,
+                         Duration refreshInterval, Duration clockSkew, Path snapshotPath) {
+        this(name, expectedInsertions, falsePositiveRate, source, refreshInterval, clockSkew, snapshotPath, Clock.systemUTC());
+    }
+
+    public KnownIdFilter(String name, long expectedInsertions, double falsePositiveRate, Supplier<Flux<String>> source,
+                         Duration refreshInterval, Duration clockSkew, Path snapshotPath, Clock clock) {
+        this.name = name;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.source = source;
+        this.refreshInterval = refreshInterval;
+        this.clockSkew = clockSkew;
+        this.snapshotPath = snapshotPath;
+        this.clock = clock;
+    }
+
+    public static KnownIdFilter disabled() {
+        return new KnownIdFilter("disabled", 0, 0.5, null, Duration.ZERO, Duration.ZERO, null);
+    }
+
+    public boolean isEnabled() {
+        return source != null;
+    }
+
+    public synchronized void start() {
+        if (!isEnabled() || refresher != null) {
+            return;
+        }
+        loadSnapshot();
+        refresher = Flux.interval(Duration.ZERO, refreshInterval, Schedulers.boundedElastic())
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh().onErrorResume(error -> Mono.empty()))
+                .subscribe();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (refresher != null) {
+            refresher.dispose();
+            refresher = null;
+        }
+    }
+
+    public boolean mightExist(String id) {
+        Snapshot snapshot = current;
+        if (snapshot == null || id == null || createdAfter(id, snapshot.builtAtMillis())) {
+            return true;
+        }
+        if (snapshot.filter().mightContain(id)) {
+            passed.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void recordMissing(String id) {
+        Snapshot snapshot = current;
+        if (snapshot != null && id != null && !createdAfter(id, snapshot.builtAtMillis())) {
+            falsePositives.increment();
+        }
+    }
+
+    public Mono<Void> refresh() {
+        if (!isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            long builtAtMillis = clock.millis();
+            BloomFilter filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+            return source.get()
+                    .doOnNext(filter::put)
+                    .then(Mono.fromRunnable(() -> {
+                        current = new Snapshot(filter, builtAtMillis);
+                        lastRefreshNanos = System.nanoTime() - start;
+                        refreshes.increment();
+                        logger.info("Refreshed {} known-id filter with {} ids in {} ms",
+                                name, filter.elementCount(), TimeUnit.NANOSECONDS.toMillis(lastRefreshNanos));
+                        writeSnapshot(current);
+                    }))
+                    .doOnError(error -> {
+                        refreshFailures.increment();
+                        logger.warn("Could not refresh {} known-id filter, keeping the previous one: {}", name, error.getMessage());
+                    })
+                    .then();
+        });
+    }
+
+    public boolean isLoaded() {
+        return current != null;
+    }
+
+    public long bitSize() {
+        Snapshot snapshot = current;
+        return snapshot == null ? 0 : snapshot.filter().bitSize();
+    }
+
+    public long elementCount() {
+        Snapshot snapshot = current;
+        return snapshot == null ? 0 : snapshot.filter().elementCount();
+    }
+
+    public double expectedFalsePositiveRate() {
+        Snapshot snapshot = current;
+        return snapshot == null ? 0 : snapshot.filter().expectedFalsePositiveRate();
+    }
+
+    public double observedFalsePositiveRate() {
+        long checked = passed.sum();
+        return checked == 0 ? 0 : (double) falsePositives.sum() / checked;
+    }
+
+    public Duration lastRefreshDuration() {
+        return Duration.ofNanos(lastRefreshNanos);
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long passedCount() {
+        return passed.sum();
+    }
+
+    public long falsePositiveCount() {
+        return falsePositives.sum();
+    }
+
+    public long refreshCount() {
+        return refreshes.sum();
+    }
+
+    public long refreshFailureCount() {
+        return refreshFailures.sum();
+    }
+
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder(name + ".rejected", this, KnownIdFilter::rejectedCount).register(registry);
+        FunctionCounter.builder(name + ".passed", this, KnownIdFilter::passedCount).register(registry);
+        FunctionCounter.builder(name + ".false-positives", this, KnownIdFilter::falsePositiveCount).register(registry);
+        FunctionCounter.builder(name + ".refreshes", this, KnownIdFilter::refreshCount).register(registry);
+        FunctionCounter.builder(name + ".refresh-failures", this, KnownIdFilter::refreshFailureCount).register(registry);
+        Gauge.builder(name + ".bits", this, KnownIdFilter::bitSize).register(registry);
+        Gauge.builder(name + ".elements", this, KnownIdFilter::elementCount).register(registry);
+        Gauge.builder(name + ".expected-fpp", this, KnownIdFilter::expectedFalsePositiveRate).register(registry);
+        Gauge.builder(name + ".observed-fpp", this, KnownIdFilter::observedFalsePositiveRate).register(registry);
+        TimeGauge.builder(name + ".refresh-duration", this, TimeUnit.NANOSECONDS, filter -> filter.lastRefreshNanos)
+                .register(registry);
+    }
+
+    private boolean createdAfter(String id, long builtAtMillis) {
+        if (!ObjectId.isValid(id)) {
+            return false;
+        }
+        long createdAtMillis = new ObjectId(id).getTimestamp() * 1000L;
+        return createdAtMillis >= builtAtMillis - clockSkew.toMillis();
+    }
+
+    private void loadSnapshot() {
+        if (snapshotPath == null || !Files.exists(snapshotPath)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            long builtAtMillis = in.readLong();
+            current = new Snapshot(BloomFilter.readFrom(in), builtAtMillis);
+            logger.info("Loaded {} known-id filter snapshot with {} ids from {}", name, elementCount(), snapshotPath);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable {} known-id filter snapshot {}: {}", name, snapshotPath, e.getMessage());
+        }
+    }
+
+    private void writeSnapshot(Snapshot snapshot) {
+        if (snapshotPath == null) {
+            return;
+        }
+        try {
+            Path parent = snapshotPath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temporary = Files.createTempFile(parent, snapshotPath.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeLong(snapshot.builtAtMillis());
+                snapshot.filter().writeTo(out);
+            }
+            Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not write {} known-id filter snapshot {}: {}", name, snapshotPath, e.getMessage());
+        }
+    }
+
+    private record Snapshot(BloomFilter filter, long builtAtMillis) {
+    }
+}
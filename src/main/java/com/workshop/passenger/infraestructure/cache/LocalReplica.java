@@ -0,0 +1,304 @@
+package com.workshop.passenger.infraestructure.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class LocalReplica<T> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalReplica.class);
+    private static final int WRITE_BATCH_SIZE = 500;
+
+    private final String name;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final Class<T> type;
+    private final String collection;
+    private final Function<T, ObjectId> idOf;
+    private final Supplier<Flux<T>> source;
+    private final Duration syncInterval;
+    private final long maxStalenessMillis;
+    private final boolean fallbackOnMiss;
+    private final Clock clock;
+
+    private volatile Map<ObjectId, String> fingerprints = Map.of();
+    private volatile long lastSyncMillis;
+    private volatile long lastSyncNanos;
+    private Disposable syncer;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleReads = new LongAdder();
+    private final LongAdder readErrors = new LongAdder();
+    private final LongAdder syncs = new LongAdder();
+    private final LongAdder syncFailures = new LongAdder();
+    private final LongAdder upserts = new LongAdder();
+    private final LongAdder deletes = new LongAdder();
+
+    public LocalReplica(String name, ReactiveMongoTemplate mongoTemplate, Class<T> type, String collection,
+                        Function<T, ObjectId> idOf, Supplier<Flux<T>> source, Duration syncInterval,
+                        Duration maxStaleness, boolean fallbackOnMiss) {
+        this(name, mongoTemplate, type, collection, idOf, source, syncInterval, maxStaleness, fallbackOnMiss, Clock.systemUTC());
+    }
+
+    public LocalReplica(String name, ReactiveMongoTemplate mongoTemplate, Class<T> type, String collection,
+                        Function<T, ObjectId> idOf, Supplier<Flux<T>> source, Duration syncInterval,
+                        Duration maxStaleness, boolean fallbackOnMiss, Clock clock) {
+        this.name = name;
+        this.mongoTemplate = mongoTemplate;
+        this.type = type;
+        this.collection = collection;
+        this.idOf = idOf;
+        this.source = source;
+        this.syncInterval = syncInterval;
+        this.maxStalenessMillis = maxStaleness.toMillis();
+        this.fallbackOnMiss = fallbackOnMiss;
+        this.clock = clock;
+    }
+
+    public static <T> LocalReplica<T> disabled() {
+        return new LocalReplica<>("disabled", null, null, null, null, null, Duration.ZERO, Duration.ZERO, true);
+    }
+
+    public boolean isEnabled() {
+        return mongoTemplate != null;
+    }
+
+    public synchronized void start() {
+        if (!isEnabled() || syncer != null) {
+            return;
+        }
+        syncer = Flux.interval(Duration.ZERO, syncInterval, Schedulers.boundedElastic())
+                .onBackpressureDrop()
+                .concatMap(tick -> sync().onErrorResume(error -> Mono.empty()))
+                .subscribe();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (syncer != null) {
+            syncer.dispose();
+            syncer = null;
+        }
+    }
+
+    public Mono<T> get(String id, Function<String, Mono<T>> fallback) {
+        if (!isEnabled() || !ObjectId.isValid(id)) {
+            return fallback.apply(id);
+        }
+        return Mono.defer(() -> {
+            if (isStale()) {
+                staleReads.increment();
+                return fallback.apply(id);
+            }
+            return mongoTemplate.findById(new ObjectId(id), type, collection)
+                    .map(Read::found)
+                    .defaultIfEmpty(Read.missing())
+                    .onErrorResume(error -> {
+                        readErrors.increment();
+                        logger.warn("Could not read {} replica, falling back to the live service: {}", name, error.getMessage());
+                        return Mono.just(Read.unavailable());
+                    })
+                    .flatMap(read -> {
+                        if (read.value() != null) {
+                            hits.increment();
+                            return Mono.just(read.value());
+                        }
+                        if (read.available()) {
+                            misses.increment();
+                            if (!fallbackOnMiss) {
+                                return Mono.empty();
+                            }
+                        }
+                        return fallback.apply(id);
+                    });
+        });
+    }
+
+    public Mono<Void> sync() {
+        if (!isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            long syncedAtMillis = clock.millis();
+            Map<ObjectId, String> previous = fingerprints;
+            Map<ObjectId, String> seen = new HashMap<>();
+            MessageDigest digest = sha1();
+            return source.get()
+                    .filter(entity -> idOf.apply(entity) != null)
+                    .filter(entity -> {
+                        ObjectId id = idOf.apply(entity);
+                        String fingerprint = fingerprint(entity, digest);
+                        seen.put(id, fingerprint);
+                        return !fingerprint.equals(previous.get(id));
+                    })
+                    .buffer(WRITE_BATCH_SIZE)
+                    .concatMap(batch -> upsert(batch).thenReturn(batch.size()))
+                    .reduce(0L, Long::sum)
+                    .flatMap(upserted -> removeAbsent(previous, seen.keySet())
+                            .doOnNext(removed -> {
+                                fingerprints = seen;
+                                lastSyncMillis = syncedAtMillis;
+                                lastSyncNanos = System.nanoTime() - start;
+                                syncs.increment();
+                                upserts.add(upserted);
+                                deletes.add(removed);
+                                logger.info("Synced {} replica: {} documents, {} upserted, {} removed in {} ms",
+                                        name, seen.size(), upserted, removed, TimeUnit.NANOSECONDS.toMillis(lastSyncNanos));
+                            }))
+                    .doOnError(error -> {
+                        syncFailures.increment();
+                        logger.warn("Could not sync {} replica: {}", name, error.getMessage());
+                    })
+                    .then();
+        });
+    }
+
+    public boolean isStale() {
+        return lastSyncMillis == 0 || clock.millis() - lastSyncMillis > maxStalenessMillis;
+    }
+
+    public Duration staleness() {
+        return lastSyncMillis == 0 ? null : Duration.ofMillis(clock.millis() - lastSyncMillis);
+    }
+
+    public int documentCount() {
+        return fingerprints.size();
+    }
+
+    public Duration lastSyncDuration() {
+        return Duration.ofNanos(lastSyncNanos);
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long staleReadCount() {
+        return staleReads.sum();
+    }
+
+    public long readErrorCount() {
+        return readErrors.sum();
+    }
+
+    public long syncCount() {
+        return syncs.sum();
+    }
+
+    public long syncFailureCount() {
+        return syncFailures.sum();
+    }
+
+    public long upsertCount() {
+        return upserts.sum();
+    }
+
+    public long deleteCount() {
+        return deletes.sum();
+    }
+
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder(name + ".hits", this, LocalReplica::hitCount).register(registry);
+        FunctionCounter.builder(name + ".misses", this, LocalReplica::missCount).register(registry);
+        FunctionCounter.builder(name + ".stale-reads", this, LocalReplica::staleReadCount).register(registry);
+        FunctionCounter.builder(name + ".read-errors", this, LocalReplica::readErrorCount).register(registry);
+        FunctionCounter.builder(name + ".syncs", this, LocalReplica::syncCount).register(registry);
+        FunctionCounter.builder(name + ".sync-failures", this, LocalReplica::syncFailureCount).register(registry);
+        FunctionCounter.builder(name + ".upserts", this, LocalReplica::upsertCount).register(registry);
+        FunctionCounter.builder(name + ".deletes", this, LocalReplica::deleteCount).register(registry);
+        Gauge.builder(name + ".documents", this, LocalReplica::documentCount).register(registry);
+        TimeGauge.builder(name + ".staleness", this, TimeUnit.MILLISECONDS,
+                        replica -> replica.lastSyncMillis == 0 ? Double.NaN : replica.staleness().toMillis())
+                .register(registry);
+        TimeGauge.builder(name + ".sync-duration", this, TimeUnit.NANOSECONDS, replica -> replica.lastSyncNanos)
+                .register(registry);
+    }
+
+    private String fingerprint(T entity, MessageDigest digest) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(entity, document);
+        return HexFormat.of().formatHex(digest.digest(document.toJson().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest sha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+
+    private Mono<?> upsert(List<T> batch) {
+        ReactiveBulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type, collection);
+        batch.forEach(entity -> bulkOperations.replaceOne(
+                Query.query(Criteria.where("_id").is(idOf.apply(entity))), entity, FindAndReplaceOptions.options().upsert()));
+        return bulkOperations.execute();
+    }
+
+    private Mono<Long> removeAbsent(Map<ObjectId, String> previous, Set<ObjectId> seen) {
+        Query query;
+        if (previous.isEmpty()) {
+            query = Query.query(Criteria.where("_id").nin(seen));
+        } else {
+            Set<ObjectId> removed = new HashSet<>(previous.keySet());
+            removed.removeAll(seen);
+            if (removed.isEmpty()) {
+                return Mono.just(0L);
+            }
+            query = Query.query(Criteria.where("_id").in(removed));
+        }
+        return mongoTemplate.remove(query, collection)
+                .map(result -> result.getDeletedCount());
+    }
+
+    private record Read<T>(T value, boolean available) {
+
+        private static <T> Read<T> found(T value) {
+            return new Read<>(value, true);
+        }
+
+        private static <T> Read<T> missing() {
+            return new Read<>(null, true);
+        }
+
+        private static <T> Read<T> unavailable() {
+            return new Read<>(null, false);
+        }
+    }
+}
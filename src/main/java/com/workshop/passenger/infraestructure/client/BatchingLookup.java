@@ -0,0 +1,152 @@
+package com.workshop.passenger.infraestructure.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+public class BatchingLookup<K, V> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchingLookup.class);
+
+    private final int maxBatchSize;
+    private final int fallbackConcurrency;
+    private final Sinks.Many<PendingLookup<K, V>> requests;
+    private final Disposable subscription;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedKeys = new LongAdder();
+    private final LongAdder bulkRequests = new LongAdder();
+    private final LongAdder singleRequests = new LongAdder();
+    private final LongAdder bulkFallbacks = new LongAdder();
+
+    public BatchingLookup(Duration window, int maxBatchSize, int fallbackConcurrency) {
+        this.maxBatchSize = maxBatchSize;
+        this.fallbackConcurrency = fallbackConcurrency;
+        if (maxBatchSize <= 0) {
+            this.requests = null;
+            this.subscription = null;
+            return;
+        }
+        this.requests = Sinks.many().unicast().onBackpressureBuffer();
+        this.subscription = requests.asFlux()
+                .bufferTimeout(maxBatchSize, window)
+                .flatMap(this::dispatch)
+                .subscribe();
+    }
+
+    public static <K, V> BatchingLookup<K, V> disabled() {
+        return new BatchingLookup<>(Duration.ZERO, 0, 1);
+    }
+
+    public Mono<V> get(K key, BulkLoader<K, V> loader) {
+        if (requests == null) {
+            return Mono.defer(() -> loader.load(key));
+        }
+        return Mono.defer(() -> {
+            Sinks.One<V> result = Sinks.one();
+            requests.emitNext(new PendingLookup<>(key, loader, result), Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+            return result.asMono();
+        });
+    }
+
+    public long batchCount() {
+        return batches.sum();
+    }
+
+    public long batchedKeyCount() {
+        return batchedKeys.sum();
+    }
+
+    public long bulkRequestCount() {
+        return bulkRequests.sum();
+    }
+
+    public long singleRequestCount() {
+        return singleRequests.sum();
+    }
+
+    public long bulkFallbackCount() {
+        return bulkFallbacks.sum();
+    }
+
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder(name + ".batches", this, BatchingLookup::batchCount).register(registry);
+        FunctionCounter.builder(name + ".keys", this, BatchingLookup::batchedKeyCount).register(registry);
+        FunctionCounter.builder(name + ".bulk-requests", this, BatchingLookup::bulkRequestCount).register(registry);
+        FunctionCounter.builder(name + ".single-requests", this, BatchingLookup::singleRequestCount).register(registry);
+        FunctionCounter.builder(name + ".bulk-fallbacks", this, BatchingLookup::bulkFallbackCount).register(registry);
+    }
+
+    @Override
+    public void close() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Mono<Void> dispatch(List<PendingLookup<K, V>> batch) {
+        batches.increment();
+        return Flux.fromIterable(batch.stream()
+                        .collect(Collectors.groupingBy(PendingLookup::loader))
+                        .entrySet())
+                .flatMap(entry -> dispatch(entry.getKey(), entry.getValue()))
+                .then();
+    }
+
+    private Mono<Void> dispatch(BulkLoader<K, V> loader, List<PendingLookup<K, V>> lookups) {
+        Map<K, List<Sinks.One<V>>> waiters = lookups.stream()
+                .collect(Collectors.groupingBy(PendingLookup::key, LinkedHashMap::new,
+                        Collectors.mapping(PendingLookup::result, Collectors.toList())));
+        batchedKeys.add(waiters.size());
+        if (!loader.supportsBulk() || waiters.size() == 1) {
+            return loadIndividually(loader, waiters);
+        }
+        bulkRequests.increment();
+        return Mono.defer(() -> loader.loadAll(waiters.keySet()))
+                .defaultIfEmpty(Map.of())
+                .doOnNext(found -> waiters.forEach((key, results) -> complete(results, found.get(key))))
+                .then()
+                .onErrorResume(error -> {
+                    logger.warn("Bulk lookup failed, falling back to single lookups: {}", error.getMessage());
+                    bulkFallbacks.increment();
+                    return loadIndividually(loader, waiters);
+                });
+    }
+
+    private Mono<Void> loadIndividually(BulkLoader<K, V> loader, Map<K, List<Sinks.One<V>>> waiters) {
+        return Flux.fromIterable(waiters.entrySet())
+                .flatMap(entry -> {
+                    singleRequests.increment();
+                    return Mono.defer(() -> loader.load(entry.getKey()))
+                            .doOnSuccess(value -> complete(entry.getValue(), value))
+                            .doOnError(error -> entry.getValue().forEach(result -> result.tryEmitError(error)))
+                            .onErrorResume(error -> Mono.empty());
+                }, fallbackConcurrency)
+                .then();
+    }
+
+    private void complete(List<Sinks.One<V>> results, V value) {
+        for (Sinks.One<V> result : results) {
+            if (value == null) {
+                result.tryEmitEmpty();
+            } else {
+                result.tryEmitValue(value);
+            }
+        }
+    }
+
+    private record PendingLookup<K, V>(K key, BulkLoader<K, V> loader, Sinks.One<V> result) {
+    }
+}
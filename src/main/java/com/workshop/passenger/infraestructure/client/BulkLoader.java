@@ -0,0 +1,22 @@
+package com.workshop.passenger.infraestructure.client;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface BulkLoader<K, V> {
+
+    Mono<V> load(K key);
+
+    default boolean supportsBulk() {
+        return false;
+    }
+
+    default Mono<Map<K, V>> loadAll(Collection<K> keys) {
+        return Flux.fromIterable(keys)
+                .flatMap(key -> load(key).map(value -> Map.entry(key, value)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+}
@@ -0,0 +1,54 @@
+package com.workshop.passenger.infraestructure.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final AtomicInteger activeCalls = new AtomicInteger();
+    private final LongAdder rejectedCalls = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrentCalls) {
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    public static Bulkhead disabled(String name) {
+        return new Bulkhead(name, 0);
+    }
+
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        if (maxConcurrentCalls <= 0) {
+            return Mono.defer(call);
+        }
+        return Mono.defer(() -> {
+            if (activeCalls.incrementAndGet() > maxConcurrentCalls) {
+                activeCalls.decrementAndGet();
+                rejectedCalls.increment();
+                return Mono.error(new DownstreamUnavailableException(name + " bulkhead is full"));
+            }
+            return call.get().doFinally(signal -> activeCalls.decrementAndGet());
+        });
+    }
+
+    public int activeCallCount() {
+        return activeCalls.get();
+    }
+
+    public long rejectedCallCount() {
+        return rejectedCalls.sum();
+    }
+
+    public void bindTo(MeterRegistry registry, String meterName) {
+        Gauge.builder(meterName + ".active", this, Bulkhead::activeCallCount).register(registry);
+        FunctionCounter.builder(meterName + ".rejected", this, Bulkhead::rejectedCallCount).register(registry);
+    }
+}
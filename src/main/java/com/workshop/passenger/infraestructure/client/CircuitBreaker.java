@@ -0,0 +1,202 @@
+package com.workshop.passenger.infraestructure.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openDurationMillis;
+    private final int halfOpenCalls;
+    private final Predicate<Throwable> recordFailure;
+    private final Clock clock;
+
+    private final boolean[] outcomes;
+    private int outcomeIndex;
+    private int outcomeCount;
+    private int failureCount;
+
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    private final LongAdder successfulCalls = new LongAdder();
+    private final LongAdder failedCalls = new LongAdder();
+    private final LongAdder notPermittedCalls = new LongAdder();
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold,
+                          Duration openDuration, int halfOpenCalls, Predicate<Throwable> recordFailure) {
+        this(name, windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenCalls, recordFailure, Clock.systemUTC());
+    }
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold,
+                          Duration openDuration, int halfOpenCalls, Predicate<Throwable> recordFailure, Clock clock) {
+        if (windowSize < 0) {
+            throw new IllegalArgumentException("Circuit breaker window size must not be negative");
+        }
+        this.name = name;
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, Math.max(windowSize, 1)));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMillis = openDuration.toMillis();
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.recordFailure = recordFailure;
+        this.clock = clock;
+    }
+
+    public static CircuitBreaker disabled(String name) {
+        return new CircuitBreaker(name, 0, 1, 100, Duration.ZERO, 1, error -> false);
+    }
+
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        if (outcomes.length == 0) {
+            return Mono.defer(call);
+        }
+        return Mono.defer(() -> {
+            if (!tryAcquirePermission()) {
+                notPermittedCalls.increment();
+                return Mono.error(new DownstreamUnavailableException(name + " circuit breaker is open"));
+            }
+            return call.get()
+                    .doOnSuccess(value -> onSuccess())
+                    .doOnError(this::onError)
+                    .doOnCancel(this::releasePermission);
+        });
+    }
+
+    public State getState() {
+        if (state == State.OPEN && openElapsed()) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public long successfulCallCount() {
+        return successfulCalls.sum();
+    }
+
+    public long failedCallCount() {
+        return failedCalls.sum();
+    }
+
+    public long notPermittedCallCount() {
+        return notPermittedCalls.sum();
+    }
+
+    public void bindTo(MeterRegistry registry, String meterName) {
+        Gauge.builder(meterName + ".state", this, breaker -> breaker.getState().ordinal()).register(registry);
+        FunctionCounter.builder(meterName + ".calls", this, CircuitBreaker::successfulCallCount).tag("outcome", "successful").register(registry);
+        FunctionCounter.builder(meterName + ".calls", this, CircuitBreaker::failedCallCount).tag("outcome", "failed").register(registry);
+        FunctionCounter.builder(meterName + ".calls", this, CircuitBreaker::notPermittedCallCount).tag("outcome", "not-permitted").register(registry);
+    }
+
+    private synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (!openElapsed()) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    private synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls) {
+            halfOpenPermits++;
+        }
+    }
+
+    private synchronized void onSuccess() {
+        successfulCalls.increment();
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                resetWindow();
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    private synchronized void onError(Throwable error) {
+        if (!recordFailure.test(error)) {
+            onSuccess();
+            return;
+        }
+        failedCalls.increment();
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && outcomeCount >= minimumCalls
+                && failureCount * 100 >= failureRateThreshold * outcomeCount) {
+            open();
+        }
+    }
+
+    private void record(boolean failure) {
+        if (outcomeCount == outcomes.length) {
+            if (outcomes[outcomeIndex]) {
+                failureCount--;
+            }
+        } else {
+            outcomeCount++;
+        }
+        outcomes[outcomeIndex] = failure;
+        if (failure) {
+            failureCount++;
+        }
+        outcomeIndex = (outcomeIndex + 1) % outcomes.length;
+    }
+
+    private void open() {
+        openedAt = clock.millis();
+        resetWindow();
+        transitionTo(State.OPEN);
+    }
+
+    private void resetWindow() {
+        outcomeIndex = 0;
+        outcomeCount = 0;
+        failureCount = 0;
+    }
+
+    private void transitionTo(State next) {
+        if (state != next) {
+            logger.warn("Circuit breaker {} changed state from {} to {}", name, state, next);
+            state = next;
+        }
+    }
+
+    private boolean openElapsed() {
+        return clock.millis() - openedAt >= openDurationMillis;
+    }
+}
@@ -0,0 +1,44 @@
+package com.workshop.passenger.infraestructure.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+public class DownstreamGuard {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public DownstreamGuard(CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+    }
+
+    public static DownstreamGuard disabled() {
+        return new DownstreamGuard(CircuitBreaker.disabled("disabled"), Bulkhead.disabled("disabled"));
+    }
+
+    public static boolean isDownstreamFailure(Throwable error) {
+        return !(error instanceof WebClientResponseException responseException)
+                || responseException.getStatusCode().is5xxServerError();
+    }
+
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        return bulkhead.execute(() -> circuitBreaker.execute(call));
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public void bindTo(MeterRegistry registry, String name) {
+        circuitBreaker.bindTo(registry, name + ".circuit-breaker");
+        bulkhead.bindTo(registry, name + ".bulkhead");
+    }
+}
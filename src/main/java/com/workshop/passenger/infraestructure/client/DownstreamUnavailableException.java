@@ -0,0 +1,11 @@
+package com.workshop.passenger.infraestructure.client;
+
+public class DownstreamUnavailableException extends RuntimeException {
+    public DownstreamUnavailableException(String message) {
+        super(message);
+    }
+
+    public DownstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,46 @@
+package com.workshop.passenger.infraestructure.client;
+
+import com.workshop.passenger.infraestructure.client.config.DownstreamClientProperties;
+import io.netty.channel.ChannelOption;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+public class DownstreamWebClients {
+
+    private DownstreamWebClients() {
+    }
+
+    public static ConnectionProvider connectionProvider(String name, DownstreamClientProperties properties) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictInBackground())
+                .metrics(true)
+                .build();
+    }
+
+    public static HttpClient httpClient(ConnectionProvider connectionProvider, DownstreamClientProperties properties) {
+        HttpProtocol[] protocols = properties.isHttp2()
+                ? new HttpProtocol[]{HttpProtocol.H2C, HttpProtocol.HTTP11}
+                : new HttpProtocol[]{HttpProtocol.HTTP11};
+        return HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, properties.isKeepAlive())
+                .keepAlive(properties.isKeepAlive())
+                .responseTimeout(properties.getResponseTimeout())
+                .protocol(protocols);
+    }
+
+    public static WebClient webClient(WebClient.Builder builder, ConnectionProvider connectionProvider,
+                                      DownstreamClientProperties properties) {
+        return builder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient(connectionProvider, properties)))
+                .build();
+    }
+}
@@ -0,0 +1,168 @@
+package com.workshop.passenger.infraestructure.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class RequestHedger {
+
+    private static final int RECOMPUTE_EVERY = 32;
+    private static final long TOKEN_SCALE = 1000;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long budgetPerRequest;
+    private final long maxTokens;
+
+    private final long[] samples;
+    private int sampleIndex;
+    private int sampleCount;
+    private int samplesSinceRecompute;
+    private volatile long delayNanos;
+
+    private final AtomicLong tokens;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    public RequestHedger(double percentile, Duration initialDelay, Duration minDelay, double budgetPercent, int sampleSize) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Hedging percentile must be between 0 and 1");
+        }
+        this.enabled = true;
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.delayNanos = Math.max(initialDelay.toNanos(), minDelayNanos);
+        this.budgetPerRequest = Math.round(budgetPercent / 100 * TOKEN_SCALE);
+        this.maxTokens = 10 * TOKEN_SCALE;
+        this.samples = new long[Math.max(sampleSize, 1)];
+        this.tokens = new AtomicLong(TOKEN_SCALE);
+    }
+
+    private RequestHedger() {
+        this.enabled = false;
+        this.percentile = 0;
+        this.minDelayNanos = 0;
+        this.budgetPerRequest = 0;
+        this.maxTokens = 0;
+        this.samples = new long[0];
+        this.tokens = new AtomicLong();
+    }
+
+    public static RequestHedger disabled() {
+        return new RequestHedger();
+    }
+
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        if (!enabled) {
+            return Mono.defer(call);
+        }
+        return Mono.defer(() -> {
+            requests.increment();
+            depositBudget();
+            Mono<Outcome<T>> primary = timed(call, false);
+            Mono<Outcome<T>> hedge = Mono.delay(Duration.ofNanos(delayNanos))
+                    .flatMap(tick -> {
+                        if (!tryAcquireBudget()) {
+                            budgetExhausted.increment();
+                            return Mono.never();
+                        }
+                        hedges.increment();
+                        return timed(call, true);
+                    });
+            return Mono.firstWithSignal(primary, hedge)
+                    .flatMap(outcome -> {
+                        if (outcome.hedged()) {
+                            hedgeWins.increment();
+                        }
+                        return Mono.justOrEmpty(outcome.value());
+                    });
+        });
+    }
+
+    public Duration currentDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    public long hedgeCount() {
+        return hedges.sum();
+    }
+
+    public long hedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    public long budgetExhaustedCount() {
+        return budgetExhausted.sum();
+    }
+
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder(name + ".requests", this, RequestHedger::requestCount).register(registry);
+        FunctionCounter.builder(name + ".hedges", this, RequestHedger::hedgeCount).register(registry);
+        FunctionCounter.builder(name + ".wins", this, RequestHedger::hedgeWinCount).register(registry);
+        FunctionCounter.builder(name + ".budget-exhausted", this, RequestHedger::budgetExhaustedCount).register(registry);
+        Gauge.builder(name + ".delay", this, hedger -> hedger.currentDelay().toNanos() / 1_000_000.0)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private <T> Mono<Outcome<T>> timed(Supplier<Mono<T>> call, boolean hedged) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.get()
+                    .map(value -> new Outcome<>(value, hedged))
+                    .defaultIfEmpty(new Outcome<>(null, hedged))
+                    .doFinally(signal -> {
+                        if (signal == SignalType.ON_COMPLETE || signal == SignalType.CANCEL) {
+                            recordLatency(System.nanoTime() - start);
+                        }
+                    });
+        });
+    }
+
+    private void depositBudget() {
+        tokens.accumulateAndGet(budgetPerRequest, (current, deposit) -> Math.min(current + deposit, maxTokens));
+    }
+
+    private boolean tryAcquireBudget() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN_SCALE) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN_SCALE));
+        return true;
+    }
+
+    private synchronized void recordLatency(long latencyNanos) {
+        samples[sampleIndex] = latencyNanos;
+        sampleIndex = (sampleIndex + 1) % samples.length;
+        sampleCount = Math.min(sampleCount + 1, samples.length);
+        if (++samplesSinceRecompute >= Math.min(RECOMPUTE_EVERY, samples.length)) {
+            samplesSinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile * sorted.length) - 1;
+            delayNanos = Math.max(sorted[Math.max(rank, 0)], minDelayNanos);
+        }
+    }
+
+    private record Outcome<T>(T value, boolean hedged) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.workshop.passenger.infraestructure.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public Mono<V> execute(K key, Function<K, Mono<V>> loader) {
+        return Mono.defer(() -> {
+            calls.increment();
+            boolean[] leader = {false};
+            Mono<V> call = inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return loader.apply(k)
+                        .doFinally(signal -> inFlight.remove(k))
+                        .cache();
+            });
+            if (!leader[0]) {
+                coalesced.increment();
+            }
+            return call;
+        });
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public long callCount() {
+        return calls.sum();
+    }
+
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder(name + ".calls", this, SingleFlight::callCount).register(registry);
+        FunctionCounter.builder(name + ".coalesced", this, SingleFlight::coalescedCount).register(registry);
+        Gauge.builder(name + ".in-flight", this, SingleFlight::inFlightCount).register(registry);
+    }
+}
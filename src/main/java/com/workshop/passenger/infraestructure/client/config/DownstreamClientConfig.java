@@ -0,0 +1,90 @@
+package com.workshop.passenger.infraestructure.client.config;
+
+import com.workshop.passenger.infraestructure.client.Bulkhead;
+import com.workshop.passenger.infraestructure.client.CircuitBreaker;
+import com.workshop.passenger.infraestructure.client.DownstreamGuard;
+import com.workshop.passenger.infraestructure.client.DownstreamWebClients;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+public class DownstreamClientConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "routes.client")
+    public DownstreamClientProperties routeClientProperties() {
+        return new DownstreamClientProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "vehicles.client")
+    public DownstreamClientProperties vehicleClientProperties() {
+        return new DownstreamClientProperties();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider routeConnectionProvider(@Qualifier("routeClientProperties") DownstreamClientProperties properties) {
+        return DownstreamWebClients.connectionProvider("routes", properties);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider vehicleConnectionProvider(@Qualifier("vehicleClientProperties") DownstreamClientProperties properties) {
+        return DownstreamWebClients.connectionProvider("vehicles", properties);
+    }
+
+    @Bean
+    public WebClient routeWebClient(WebClient.Builder webClientBuilder,
+                                    @Qualifier("routeConnectionProvider") ConnectionProvider connectionProvider,
+                                    @Qualifier("routeClientProperties") DownstreamClientProperties properties) {
+        return DownstreamWebClients.webClient(webClientBuilder, connectionProvider, properties);
+    }
+
+    @Bean
+    public WebClient vehicleWebClient(WebClient.Builder webClientBuilder,
+                                      @Qualifier("vehicleConnectionProvider") ConnectionProvider connectionProvider,
+                                      @Qualifier("vehicleClientProperties") DownstreamClientProperties properties) {
+        return DownstreamWebClients.webClient(webClientBuilder, connectionProvider, properties);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "routes.resilience")
+    public DownstreamResilienceProperties routeResilienceProperties() {
+        return new DownstreamResilienceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "vehicles.resilience")
+    public DownstreamResilienceProperties vehicleResilienceProperties() {
+        return new DownstreamResilienceProperties();
+    }
+
+    @Bean
+    public DownstreamGuard routeGuard(@Qualifier("routeResilienceProperties") DownstreamResilienceProperties properties,
+                                      MeterRegistry meterRegistry) {
+        DownstreamGuard routeGuard = downstreamGuard("routes", properties);
+        routeGuard.bindTo(meterRegistry, "routes");
+        return routeGuard;
+    }
+
+    @Bean
+    public DownstreamGuard vehicleGuard(@Qualifier("vehicleResilienceProperties") DownstreamResilienceProperties properties,
+                                        MeterRegistry meterRegistry) {
+        DownstreamGuard vehicleGuard = downstreamGuard("vehicles", properties);
+        vehicleGuard.bindTo(meterRegistry, "vehicles");
+        return vehicleGuard;
+    }
+
+    private static DownstreamGuard downstreamGuard(String name, DownstreamResilienceProperties properties) {
+        DownstreamResilienceProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        CircuitBreaker circuitBreaker = breaker.isEnabled()
+                ? new CircuitBreaker(name, breaker.getWindowSize(), breaker.getMinimumCalls(), breaker.getFailureRateThreshold(),
+                breaker.getOpenDuration(), breaker.getHalfOpenCalls(), DownstreamGuard::isDownstreamFailure)
+                : CircuitBreaker.disabled(name);
+        return new DownstreamGuard(circuitBreaker, new Bulkhead(name, properties.getBulkhead().getMaxConcurrentCalls()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.workshop.passenger.infraestructure.client.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class DownstreamClientProperties {
+
+    private int maxConnections = 50;
+
+    private int pendingAcquireMaxCount = 500;
+
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+
+    private Duration evictInBackground = Duration.ofSeconds(30);
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    private Duration responseTimeout = Duration.ofSeconds(2);
+
+    private boolean keepAlive = true;
+
+    private boolean http2 = false;
+}
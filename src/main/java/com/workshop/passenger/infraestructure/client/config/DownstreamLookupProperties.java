@@ -0,0 +1,99 @@
+package com.workshop.passenger.infraestructure.client.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class DownstreamLookupProperties {
+
+    private Api api = new Api();
+
+    private Cache cache = new Cache();
+
+    private Batch batch = new Batch();
+
+    private Hedging hedging = new Hedging();
+
+    private KnownIds knownIds = new KnownIds();
+
+    private Replica replica = new Replica();
+
+    @Data
+    public static class Api {
+
+        private String baseUrl;
+
+        private String getAll = "";
+    }
+
+    @Data
+    public static class Cache {
+
+        private boolean enabled = true;
+
+        private int maxSize = 1000;
+
+        private Duration ttl = Duration.ofMinutes(5);
+
+        private Duration negativeTtl = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Batch {
+
+        private boolean enabled = false;
+
+        private Duration window = Duration.ofMillis(2);
+
+        private int maxSize = 50;
+
+        private int fallbackConcurrency = 8;
+    }
+
+    @Data
+    public static class Hedging {
+
+        private boolean enabled = false;
+
+        private double percentile = 0.95;
+
+        private Duration initialDelay = Duration.ofMillis(50);
+
+        private Duration minDelay = Duration.ofMillis(5);
+
+        private double budgetPercent = 5;
+
+        private int sampleSize = 256;
+    }
+
+    @Data
+    public static class KnownIds {
+
+        private boolean enabled = false;
+
+        private long expectedInsertions = 100000;
+
+        private double falsePositiveRate = 0.01;
+
+        private Duration refreshInterval = Duration.ofMinutes(10);
+
+        private Duration clockSkew = Duration.ofMinutes(1);
+
+        private String snapshotPath = "";
+    }
+
+    @Data
+    public static class Replica {
+
+        private boolean enabled = false;
+
+        private String collection;
+
+        private Duration syncInterval = Duration.ofMinutes(1);
+
+        private Duration maxStaleness = Duration.ofMinutes(5);
+
+        private boolean fallbackOnMiss = true;
+    }
+}
@@ -0,0 +1,35 @@
+package com.workshop.passenger.infraestructure.client.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class DownstreamResilienceProperties {
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private Bulkhead bulkhead = new Bulkhead();
+
+    @Data
+    public static class CircuitBreaker {
+
+        private boolean enabled = true;
+
+        private int windowSize = 50;
+
+        private int minimumCalls = 20;
+
+        private int failureRateThreshold = 50;
+
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        private int halfOpenCalls = 3;
+    }
+
+    @Data
+    public static class Bulkhead {
+
+        private int maxConcurrentCalls = 100;
+    }
+}
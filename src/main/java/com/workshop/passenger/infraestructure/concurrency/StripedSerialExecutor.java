@@ -0,0 +1,151 @@
+package com.workshop.passenger.infraestructure.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class StripedSerialExecutor implements AutoCloseable {
+
+    public static final Duration DEFAULT_TASK_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Stripe[] stripes;
+    private final Duration taskTimeout;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public StripedSerialExecutor(int stripeCount) {
+        this(stripeCount, DEFAULT_TASK_TIMEOUT);
+    }
+
+    public StripedSerialExecutor(int stripeCount, Duration taskTimeout) {
+        if (stripeCount < 0) {
+            throw new IllegalArgumentException("Stripe count must not be negative");
+        }
+        if (taskTimeout == null || taskTimeout.isZero() || taskTimeout.isNegative()) {
+            throw new IllegalArgumentException("Task timeout must be positive");
+        }
+        this.taskTimeout = taskTimeout;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public static StripedSerialExecutor disabled() {
+        return new StripedSerialExecutor(0);
+    }
+
+    public boolean isEnabled() {
+        return stripes.length > 0;
+    }
+
+    public <T> Mono<T> execute(Object key, Supplier<Mono<T>> command) {
+        if (stripes.length == 0) {
+            return Mono.defer(command);
+        }
+        return Mono.defer(() -> {
+            Sinks.One<T> result = Sinks.one();
+            submitted.increment();
+            pending.incrementAndGet();
+            stripeFor(key).submit(new Task<>(command, result));
+            return result.asMono();
+        });
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    public long submittedCount() {
+        return submitted.sum();
+    }
+
+    public long completedCount() {
+        return completed.sum();
+    }
+
+    public long timedOutCount() {
+        return timedOut.sum();
+    }
+
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder(name + ".submitted", this, StripedSerialExecutor::submittedCount).register(registry);
+        FunctionCounter.builder(name + ".completed", this, StripedSerialExecutor::completedCount).register(registry);
+        FunctionCounter.builder(name + ".timeouts", this, StripedSerialExecutor::timedOutCount).register(registry);
+        Gauge.builder(name + ".pending", this, StripedSerialExecutor::pendingCount).register(registry);
+        Gauge.builder(name + ".stripes", this, StripedSerialExecutor::stripeCount).register(registry);
+    }
+
+    @Override
+    public void close() {
+        for (Stripe stripe : stripes) {
+            stripe.worker.dispose();
+        }
+    }
+
+    private Stripe stripeFor(Object key) {
+        int hash = key == null ? 0 : key.hashCode();
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+    }
+
+    private final class Stripe {
+
+        private final Sinks.Many<Task<?>> queue = Sinks.many().unicast()
+                .onBackpressureBuffer(Queues.<Task<?>>unboundedMultiproducer().get());
+        private final Disposable worker = queue.asFlux()
+                .concatMap(Task::run)
+                .subscribe();
+
+        private void submit(Task<?> task) {
+            queue.emitNext(task, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+        }
+    }
+
+    private final class Task<T> {
+
+        private final Supplier<Mono<T>> command;
+        private final Sinks.One<T> result;
+
+        private Task(Supplier<Mono<T>> command, Sinks.One<T> result) {
+            this.command = command;
+            this.result = result;
+        }
+
+        private Mono<Void> run() {
+            return Mono.defer(command)
+                    .timeout(taskTimeout)
+                    .doOnError(TimeoutException.class, timeout -> timedOut.increment())
+                    .doOnSuccess(value -> {
+                        if (value == null) {
+                            result.tryEmitEmpty();
+                        } else {
+                            result.tryEmitValue(value);
+                        }
+                    })
+                    .doOnError(result::tryEmitError)
+                    .onErrorResume(error -> Mono.empty())
+                    .doFinally(signal -> {
+                        pending.decrementAndGet();
+                        completed.increment();
+                    })
+                    .then();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.workshop.passenger.infraestructure.outbox;
+
+import com.workshop.passenger.domain.model.events.PassengerEvent;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface EventSink {
+
+    Mono<Void> publish(List<PassengerEvent> events);
+}
@@ -0,0 +1,61 @@
+package com.workshop.passenger.infraestructure.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workshop.passenger.domain.model.events.PassengerEvent;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+public class FileEventSink implements EventSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileEventSink(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> publish(List<PassengerEvent> events) {
+        return Mono.<Void>fromRunnable(() -> {
+                    StringBuilder lines = new StringBuilder();
+                    for (PassengerEvent event : events) {
+                        lines.append(toJson(event)).append('\n');
+                    }
+                    append(lines.toString());
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    private String toJson(PassengerEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize event " + event.getId(), e);
+        }
+    }
+
+    private synchronized void append(String lines) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Files.writeString(path, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append events to " + path, e);
+        }
+    }
+}
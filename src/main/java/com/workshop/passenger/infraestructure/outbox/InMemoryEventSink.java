@@ -0,0 +1,33 @@
+package com.workshop.passenger.infraestructure.outbox;
+
+import com.workshop.passenger.domain.model.events.PassengerEvent;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class InMemoryEventSink implements EventSink {
+
+    private final List<PassengerEvent> events = new ArrayList<>();
+
+    @Override
+    public Mono<Void> publish(List<PassengerEvent> batch) {
+        return Mono.fromRunnable(() -> {
+            synchronized (events) {
+                events.addAll(batch);
+            }
+        });
+    }
+
+    public List<PassengerEvent> events() {
+        synchronized (events) {
+            return List.copyOf(events);
+        }
+    }
+
+    public void clear() {
+        synchronized (events) {
+            events.clear();
+        }
+    }
+}
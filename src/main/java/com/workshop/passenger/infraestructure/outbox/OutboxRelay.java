@@ -0,0 +1,173 @@
+package com.workshop.passenger.infraestructure.outbox;
+
+import com.workshop.passenger.domain.model.events.PassengerEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class OutboxRelay implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final String LEASE_ID = "relay";
+    private static final Sort PASSENGER_ORDER = Sort.by(Sort.Direction.ASC, "passengerId", "version", "_id");
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final EventSink sink;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration leaseDuration;
+    private final String owner = UUID.randomUUID().toString();
+
+    private volatile int lastBatchSize;
+    private volatile long lastRelayNanos;
+    private Disposable relayer;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder leaseMisses = new LongAdder();
+
+    public OutboxRelay(ReactiveMongoTemplate mongoTemplate, EventSink sink, int batchSize, Duration pollInterval,
+                       Duration leaseDuration) {
+        this.mongoTemplate = mongoTemplate;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.leaseDuration = leaseDuration;
+    }
+
+    public static OutboxRelay disabled() {
+        return new OutboxRelay(null, null, 1, Duration.ZERO, Duration.ZERO);
+    }
+
+    public boolean isEnabled() {
+        return mongoTemplate != null;
+    }
+
+    public synchronized void start() {
+        if (!isEnabled() || relayer != null) {
+            return;
+        }
+        relayer = Flux.interval(pollInterval, pollInterval, Schedulers.boundedElastic())
+                .onBackpressureDrop()
+                .concatMap(tick -> drain().onErrorResume(error -> Mono.empty()))
+                .subscribe();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (relayer != null) {
+            relayer.dispose();
+            relayer = null;
+        }
+    }
+
+    public Mono<Long> drain() {
+        if (!isEnabled()) {
+            return Mono.just(0L);
+        }
+        return relayBatch()
+                .expand(relayed -> relayed == batchSize ? relayBatch() : Mono.empty())
+                .reduce(0L, Long::sum);
+    }
+
+    public Mono<Integer> relayBatch() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Query query = new Query().with(PASSENGER_ORDER).limit(batchSize);
+            return acquireLease()
+                    .flatMap(leased -> leased
+                            ? mongoTemplate.find(query, PassengerEvent.class).collectList()
+                            : Mono.just(List.<PassengerEvent>of()))
+                    .flatMap(events -> events.isEmpty()
+                            ? Mono.just(0)
+                            : sink.publish(events)
+                            .then(Mono.defer(() -> mongoTemplate.remove(Query.query(Criteria.where("_id")
+                                    .in(events.stream().map(PassengerEvent::getId).toList())), PassengerEvent.class)))
+                            .thenReturn(events.size()))
+                    .doOnNext(relayed -> {
+                        lastBatchSize = relayed;
+                        if (relayed > 0) {
+                            lastRelayNanos = System.nanoTime() - start;
+                            published.add(relayed);
+                            batches.increment();
+                            logger.debug("Relayed {} passenger events in {} ms",
+                                    relayed, TimeUnit.NANOSECONDS.toMillis(lastRelayNanos));
+                        }
+                    })
+                    .doOnError(error -> {
+                        failures.increment();
+                        logger.warn("Could not relay passenger events, retrying on the next poll: {}", error.getMessage());
+                    });
+        });
+    }
+
+    public long publishedCount() {
+        return published.sum();
+    }
+
+    public long batchCount() {
+        return batches.sum();
+    }
+
+    public long failureCount() {
+        return failures.sum();
+    }
+
+    public long leaseMissCount() {
+        return leaseMisses.sum();
+    }
+
+    public int lastBatchSize() {
+        return lastBatchSize;
+    }
+
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder(name + ".published", this, OutboxRelay::publishedCount).register(registry);
+        FunctionCounter.builder(name + ".batches", this, OutboxRelay::batchCount).register(registry);
+        FunctionCounter.builder(name + ".failures", this, OutboxRelay::failureCount).register(registry);
+        FunctionCounter.builder(name + ".lease-misses", this, OutboxRelay::leaseMissCount).register(registry);
+        Gauge.builder(name + ".last-batch-size", this, OutboxRelay::lastBatchSize).register(registry);
+        TimeGauge.builder(name + ".relay-duration", this, TimeUnit.NANOSECONDS, relay -> relay.lastRelayNanos)
+                .register(registry);
+    }
+
+    private Mono<Boolean> acquireLease() {
+        Instant now = Instant.now();
+        Query query = Query.query(Criteria.where("_id").is(LEASE_ID)
+                .orOperator(Criteria.where("owner").is(owner), Criteria.where("leasedUntil").lt(now)));
+        Update update = new Update().set("owner", owner).set("leasedUntil", now.plus(leaseDuration));
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().upsert(true).returnNew(true),
+                        OutboxRelayLease.class)
+                .map(lease -> true)
+                .onErrorResume(DuplicateKeyException.class, error -> Mono.just(false))
+                .defaultIfEmpty(false)
+                .doOnNext(leased -> {
+                    if (!leased) {
+                        leaseMisses.increment();
+                        logger.debug("Another relay holds the passenger outbox lease, skipping this poll");
+                    }
+                });
+    }
+}
@@ -0,0 +1,23 @@
+package com.workshop.passenger.infraestructure.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "PassengerOutboxLease")
+public class OutboxRelayLease {
+
+    @Id
+    private String id;
+
+    private String owner;
+
+    private Instant leasedUntil;
+}
@@ -0,0 +1,95 @@
+package com.workshop.passenger.infraestructure.outbox;
+
+import com.mongodb.MongoException;
+import com.workshop.passenger.domain.model.events.PassengerEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class PassengerOutbox {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final TransactionalOperator transactionalOperator;
+    private final int maxAttempts;
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder transactionRetries = new LongAdder();
+
+    public PassengerOutbox(ReactiveMongoTemplate mongoTemplate, TransactionalOperator transactionalOperator, int maxAttempts) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactionalOperator = transactionalOperator;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public static PassengerOutbox disabled() {
+        return new PassengerOutbox(null, null, 1);
+    }
+
+    public boolean isEnabled() {
+        return mongoTemplate != null;
+    }
+
+    public <T> Mono<T> transactional(Mono<T> command) {
+        if (!isEnabled()) {
+            return command;
+        }
+        return transactionalOperator.transactional(command)
+                .retryWhen(Retry.max(Math.max(maxAttempts - 1, 0))
+                        .filter(PassengerOutbox::isTransient)
+                        .doBeforeRetry(signal -> transactionRetries.increment())
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    public Mono<Void> append(Supplier<PassengerEvent> event) {
+        if (!isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> mongoTemplate.insert(event.get()))
+                .doOnSuccess(inserted -> appended.increment())
+                .then();
+    }
+
+    public Mono<Void> appendAll(Supplier<List<PassengerEvent>> events) {
+        if (!isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            List<PassengerEvent> batch = events.get();
+            return batch.isEmpty()
+                    ? Mono.<Void>empty()
+                    : mongoTemplate.insertAll(batch)
+                    .doOnNext(inserted -> appended.increment())
+                    .then();
+        });
+    }
+
+    public long appendedCount() {
+        return appended.sum();
+    }
+
+    public long transactionRetryCount() {
+        return transactionRetries.sum();
+    }
+
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder(name + ".appended", this, PassengerOutbox::appendedCount).register(registry);
+        FunctionCounter.builder(name + ".transaction-retries", this, PassengerOutbox::transactionRetryCount).register(registry);
+    }
+
+    private static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongoException
+                    && mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
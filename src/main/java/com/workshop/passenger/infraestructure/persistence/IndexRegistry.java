@@ -0,0 +1,188 @@
+package com.workshop.passenger.infraestructure.persistence;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+public class IndexRegistry implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexRegistry.class);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final List<IndexSpec> indexes;
+    private final Duration verifyInterval;
+    private final Map<IndexSpec, Status> statuses = new ConcurrentHashMap<>();
+
+    private volatile long lastBuildNanos;
+    private Disposable builder;
+
+    private final LongAdder builds = new LongAdder();
+    private final LongAdder buildFailures = new LongAdder();
+    private final LongAdder verifications = new LongAdder();
+
+    public IndexRegistry(ReactiveMongoTemplate mongoTemplate, List<IndexSpec> indexes, Duration verifyInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.indexes = List.copyOf(indexes);
+        this.verifyInterval = verifyInterval;
+        this.indexes.forEach(index -> statuses.put(index, Status.PENDING));
+    }
+
+    public static IndexRegistry disabled() {
+        return new IndexRegistry(null, List.of(), Duration.ZERO);
+    }
+
+    public boolean isEnabled() {
+        return mongoTemplate != null;
+    }
+
+    public synchronized void start() {
+        if (!isEnabled() || builder != null) {
+            return;
+        }
+        Flux<Long> verifications = verifyInterval.isZero() || verifyInterval.isNegative()
+                ? Flux.empty()
+                : Flux.interval(verifyInterval, verifyInterval, Schedulers.boundedElastic()).onBackpressureDrop();
+        builder = ensureIndexes()
+                .thenMany(verifications.concatMap(tick -> verify().onErrorResume(error -> Mono.empty())))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (builder != null) {
+            builder.dispose();
+            builder = null;
+        }
+    }
+
+    public Mono<Void> ensureIndexes() {
+        if (!isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Flux.fromIterable(indexes)
+                    .concatMap(this::build)
+                    .then(verify())
+                    .doOnSuccess(ignored -> {
+                        lastBuildNanos = System.nanoTime() - start;
+                        logger.info("Ensured {} Mongo indexes in {} ms, {} missing",
+                                indexes.size(), TimeUnit.NANOSECONDS.toMillis(lastBuildNanos), missingCount());
+                    });
+        });
+    }
+
+    public Mono<Void> verify() {
+        if (!isEnabled()) {
+            return Mono.empty();
+        }
+        Map<String, List<IndexSpec>> byCollection = indexes.stream()
+                .collect(Collectors.groupingBy(IndexSpec::collection, LinkedHashMap::new, Collectors.toList()));
+        return Flux.fromIterable(byCollection.entrySet())
+                .concatMap(entry -> mongoTemplate.indexOps(entry.getKey()).getIndexInfo()
+                        .map(IndexInfo::getName)
+                        .collect(Collectors.toSet())
+                        .doOnNext(present -> record(entry.getValue(), present))
+                        .onErrorResume(error -> {
+                            logger.warn("Could not list indexes of {}: {}", entry.getKey(), error.getMessage());
+                            return Mono.empty();
+                        }))
+                .doOnComplete(verifications::increment)
+                .then();
+    }
+
+    public Status status(IndexSpec index) {
+        return statuses.get(index);
+    }
+
+    public Map<String, Status> statuses() {
+        Map<String, Status> byName = new LinkedHashMap<>();
+        indexes.forEach(index -> byName.put(index.collection() + "." + index.name(), statuses.get(index)));
+        return byName;
+    }
+
+    public long readyCount() {
+        return statuses.values().stream().filter(status -> status == Status.READY).count();
+    }
+
+    public long missingCount() {
+        return indexes.size() - readyCount();
+    }
+
+    public long buildCount() {
+        return builds.sum();
+    }
+
+    public long buildFailureCount() {
+        return buildFailures.sum();
+    }
+
+    public long verificationCount() {
+        return verifications.sum();
+    }
+
+    public void bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder(name + ".builds", this, IndexRegistry::buildCount).register(registry);
+        FunctionCounter.builder(name + ".build-failures", this, IndexRegistry::buildFailureCount).register(registry);
+        FunctionCounter.builder(name + ".verifications", this, IndexRegistry::verificationCount).register(registry);
+        Gauge.builder(name + ".ready", this, IndexRegistry::readyCount).register(registry);
+        Gauge.builder(name + ".missing", this, IndexRegistry::missingCount).register(registry);
+        TimeGauge.builder(name + ".build-duration", this, TimeUnit.NANOSECONDS, indexRegistry -> indexRegistry.lastBuildNanos)
+                .register(registry);
+        indexes.forEach(index -> Gauge.builder(name + ".index.ready", this,
+                        indexRegistry -> indexRegistry.status(index) == Status.READY ? 1 : 0)
+                .tag("collection", index.collection())
+                .tag("index", index.name())
+                .register(registry));
+    }
+
+    private Mono<Void> build(IndexSpec index) {
+        statuses.put(index, Status.BUILDING);
+        return mongoTemplate.indexOps(index.collection()).ensureIndex(index.toDefinition())
+                .doOnSuccess(created -> builds.increment())
+                .then()
+                .onErrorResume(error -> {
+                    statuses.put(index, Status.FAILED);
+                    buildFailures.increment();
+                    logger.warn("Could not build index {} on {}: {}", index.name(), index.collection(), error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private void record(List<IndexSpec> collectionIndexes, Set<String> present) {
+        for (IndexSpec index : collectionIndexes) {
+            if (present.contains(index.name())) {
+                statuses.put(index, Status.READY);
+            } else if (statuses.get(index) != Status.FAILED) {
+                if (statuses.get(index) == Status.READY) {
+                    logger.warn("Index {} on {} is missing", index.name(), index.collection());
+                }
+                statuses.put(index, Status.MISSING);
+            }
+        }
+    }
+
+    public enum Status {
+        PENDING, BUILDING, READY, MISSING, FAILED
+    }
+}
@@ -0,0 +1,35 @@
+package com.workshop.passenger.infraestructure.persistence;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.List;
+
+public record IndexSpec(String collection, String name, List<String> fields, boolean unique, boolean partial) {
+
+    public static IndexSpec on(String collection, String name, String... fields) {
+        return new IndexSpec(collection, name, List.of(fields), false, false);
+    }
+
+    public static IndexSpec unique(String collection, String name, String... fields) {
+        return new IndexSpec(collection, name, List.of(fields), true, false);
+    }
+
+    public static IndexSpec uniqueWhenPresent(String collection, String name, String... fields) {
+        return new IndexSpec(collection, name, List.of(fields), true, true);
+    }
+
+    public IndexDefinition toDefinition() {
+        Index index = new Index().named(name);
+        fields.forEach(field -> index.on(field, Sort.Direction.ASC));
+        if (partial) {
+            Criteria present = Criteria.where(fields.get(0)).exists(true);
+            fields.stream().skip(1).forEach(field -> present.and(field).exists(true));
+            index.partial(PartialIndexFilter.of(present));
+        }
+        return unique ? index.unique() : index;
+    }
+}
@@ -0,0 +1,80 @@
+package com.workshop.passenger.infraestructure.persistence;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SlowCommandListener implements CommandListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowCommandListener.class);
+    private static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    private final String name;
+    private final long thresholdNanos;
+    private final Map<Integer, String> collections = new ConcurrentHashMap<>();
+
+    private final LongAdder slowCommands = new LongAdder();
+
+    public SlowCommandListener(MeterRegistry meterRegistry, String name, Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.name = name;
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        collections.put(event.getRequestId(), collectionOf(event.getCommand(), event.getCommandName()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        finished(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), "success");
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        finished(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), "failure");
+    }
+
+    public long slowCommandCount() {
+        return slowCommands.sum();
+    }
+
+    private void finished(int requestId, String command, long elapsedNanos, String outcome) {
+        String collection = collections.remove(requestId);
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+        slowCommands.increment();
+        meterRegistry.counter(name,
+                        "command", command,
+                        "collection", collection == null ? UNKNOWN : collection,
+                        "outcome", outcome)
+                .increment();
+        meterRegistry.timer(name + ".duration", "command", command)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        logger.warn("Slow Mongo {} on {} took {} ms ({})",
+                command, collection, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), outcome);
+    }
+
+    private static String collectionOf(BsonDocument command, String commandName) {
+        if (command == null) {
+            return UNKNOWN;
+        }
+        BsonValue target = command.get(commandName);
+        return target != null && target.isString() ? target.asString().getValue() : UNKNOWN;
+    }
+}
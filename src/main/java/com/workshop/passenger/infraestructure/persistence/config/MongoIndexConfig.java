@@ -0,0 +1,47 @@
+package com.workshop.passenger.infraestructure.persistence.config;
+
+import com.workshop.passenger.infraestructure.persistence.IndexRegistry;
+import com.workshop.passenger.infraestructure.persistence.IndexSpec;
+import com.workshop.passenger.infraestructure.persistence.SlowCommandListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class MongoIndexConfig {
+
+    static final List<IndexSpec> PASSENGER_INDEXES = List.of(
+            IndexSpec.uniqueWhenPresent("Passenger", "email_unique", "email"),
+            IndexSpec.on("Passenger", "phone", "phone"),
+            IndexSpec.on("Passenger", "trips_tripId", "trips.tripId"),
+            IndexSpec.on("Passenger", "trips_vehicleId", "trips.vehicleId"),
+            IndexSpec.on("PassengerTripBucket", "passengerId_firstStartTime", "passengerId", "firstStartTime"),
+            IndexSpec.on("PassengerTripBucket", "passengerId_trips_tripId", "passengerId", "trips.tripId"),
+            IndexSpec.unique("PassengerOutbox", "passengerId_version", "passengerId", "version"));
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public IndexRegistry passengerIndexes(@Value("${passengers.indexes.enabled:true}") boolean enabled,
+                                          @Value("${passengers.indexes.verify-interval:10m}") Duration verifyInterval,
+                                          ReactiveMongoTemplate mongoTemplate,
+                                          MeterRegistry meterRegistry) {
+        IndexRegistry passengerIndexes = enabled
+                ? new IndexRegistry(mongoTemplate, PASSENGER_INDEXES, verifyInterval)
+                : IndexRegistry.disabled();
+        passengerIndexes.bindTo(meterRegistry, "passengers.indexes");
+        return passengerIndexes;
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer slowCommandListener(
+            @Value("${passengers.mongo.slow-command-threshold:200ms}") Duration threshold,
+            MeterRegistry meterRegistry) {
+        SlowCommandListener listener = new SlowCommandListener(meterRegistry, "passengers.mongo.slow-commands", threshold);
+        return settings -> settings.addCommandListener(listener);
+    }
+}
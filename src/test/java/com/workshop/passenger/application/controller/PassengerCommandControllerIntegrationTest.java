@@ -5,6 +5,7 @@ import com.workshop.passenger.domain.model.aggregates.Passenger;
 import com.workshop.passenger.domain.model.entities.Trip;
 import com.workshop.passenger.domain.repository.PassengerCommandRepository;
 import com.workshop.passenger.infraestructure.Route.model.aggregates.Route;
+import com.workshop.passenger.infraestructure.Route.model.valueobjects.RouteIndex;
 import com.workshop.passenger.infraestructure.Route.service.RouteService;
 import com.workshop.passenger.infraestructure.Vehicle.model.aggregates.Vehicle;
 import com.workshop.passenger.infraestructure.Vehicle.service.VehicleService;
@@ -68,7 +69,7 @@ class PassengerCommandControllerIntegrationTest {
                 .build();
 
         // Mock responses for route and vehicle services
-        Mockito.when(routeService.getRouteById(anyString())).thenReturn(Mono.just(new Route()));
+        Mockito.when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(new Route())));
         Mockito.when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(new Vehicle()));
     }
 
@@ -1,6 +1,9 @@
 package com.workshop.passenger.application.controller;
 
+import com.workshop.passenger.application.dto.BulkPassengerResult;
+import com.workshop.passenger.application.dto.BulkTripResult;
 import com.workshop.passenger.application.dto.PassengerUpdateDTO;
+import com.workshop.passenger.application.dto.TripAssignment;
 import com.workshop.passenger.application.response.service.PassengerResponseService;
 import com.workshop.passenger.application.services.PassengerCommandService;
 import com.workshop.passenger.domain.model.aggregates.Passenger;
@@ -13,9 +16,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -84,6 +93,32 @@ class PassengerCommandControllerTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Create Passengers - Should Stream One Result per Record")
+    void createPassengers_shouldStreamResults() {
+        Flux<Passenger> passengers = Flux.just(passenger, passenger);
+        when(passengerCommandService.createPassengers(passengers)).thenReturn(Flux.just(
+                BulkPassengerResult.builder().index(0).status(BulkPassengerResult.Status.CREATED).build(),
+                BulkPassengerResult.builder().index(1).status(BulkPassengerResult.Status.REJECTED).message("Route not found for ID: route456").build()));
+
+        StepVerifier.create(passengerCommandController.createPassengers(passengers))
+                .expectNextMatches(result -> result.getIndex() == 0 && result.getStatus() == BulkPassengerResult.Status.CREATED)
+                .expectNextMatches(result -> result.getIndex() == 1 && result.getStatus() == BulkPassengerResult.Status.REJECTED)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Add Trips to Passengers - Should Stream One Result per Assignment")
+    void addTripsToPassengers_shouldStreamResults() {
+        Flux<TripAssignment> assignments = Flux.just(new TripAssignment(passengerId, trip));
+        when(passengerCommandService.addTripsToPassengers(assignments)).thenReturn(Flux.just(
+                BulkTripResult.builder().index(0).passengerId(passengerId).tripId(tripId).status(BulkTripResult.Status.ADDED).build()));
+
+        StepVerifier.create(passengerCommandController.addTripsToPassengers(assignments))
+                .expectNextMatches(result -> result.getTripId().equals(tripId) && result.getStatus() == BulkTripResult.Status.ADDED)
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName("Update Passenger - Should Return OK Response")
     void updatePassenger_shouldReturnOkResponse() {
@@ -98,6 +133,58 @@ class PassengerCommandControllerTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Update Passenger - Should Return Stored Trips On Profile-Only Update")
+    void updatePassenger_profileOnly_shouldReturnStoredTrips() {
+        passenger.setTrips(new ArrayList<>(List.of(trip)));
+        when(passengerCommandService.updatePassenger(eq(passengerId), any(PassengerUpdateDTO.class))).thenReturn(Mono.just(passenger));
+        when(passengerResponseService.buildOkResponse(passenger))
+                .thenReturn(Mono.just(ResponseEntity.ok(passenger)));
+
+        WebTestClient.bindToController(passengerCommandController).build()
+                .put().uri("/passengers/{id}", passengerId)
+                .bodyValue(passengerUpdateDTO)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("John Doe")
+                .jsonPath("$.trips[0].tripId").isEqualTo(tripId);
+    }
+
+    @Test
+    @DisplayName("Update Passenger - Should Return Trips When They Were Replaced")
+    void updatePassenger_withTrips_shouldReturnTrips() {
+        passenger.setTrips(new ArrayList<>(List.of(trip)));
+        when(passengerCommandService.updatePassenger(eq(passengerId), any(PassengerUpdateDTO.class))).thenReturn(Mono.just(passenger));
+        when(passengerResponseService.buildOkResponse(passenger))
+                .thenReturn(Mono.just(ResponseEntity.ok(passenger)));
+
+        WebTestClient.bindToController(passengerCommandController).build()
+                .put().uri("/passengers/{id}", passengerId)
+                .bodyValue(passengerUpdateDTO)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.trips[0].tripId").isEqualTo(tripId);
+    }
+
+    @Test
+    @DisplayName("Update Passenger - Should Omit Pending Validation From Validated Trips")
+    void updatePassenger_validatedTrip_shouldOmitPendingValidation() {
+        passenger.setTrips(new ArrayList<>(List.of(trip)));
+        when(passengerCommandService.updatePassenger(eq(passengerId), any(PassengerUpdateDTO.class))).thenReturn(Mono.just(passenger));
+        when(passengerResponseService.buildOkResponse(passenger))
+                .thenReturn(Mono.just(ResponseEntity.ok(passenger)));
+
+        WebTestClient.bindToController(passengerCommandController).build()
+                .put().uri("/passengers/{id}", passengerId)
+                .bodyValue(passengerUpdateDTO)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> assertThat(body).contains(tripId).doesNotContain("pendingValidation"));
+    }
+
     @Test
     @DisplayName("Delete Passenger - Should Return No Content Response")
     void deletePassenger_shouldReturnNoContentResponse() {
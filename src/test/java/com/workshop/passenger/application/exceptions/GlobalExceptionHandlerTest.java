@@ -1,5 +1,8 @@
 package com.workshop.passenger.application.exceptions;
 
+import com.workshop.passenger.domain.exception.DependencyUnavailableException;
+import com.workshop.passenger.domain.exception.InvalidTripException;
+import com.workshop.passenger.domain.exception.TripConflictException;
 import com.workshop.passenger.domain.exception.PassengerNotFoundException;
 import com.workshop.passenger.domain.exception.TripNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +10,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConversionException;
@@ -58,6 +63,68 @@ class GlobalExceptionHandlerTest {
         assertEquals("TRIP_NOT_FOUND", response.getBody().getErrorCode());
     }
 
+    @Test
+    void testHandleDependencyUnavailableException() {
+        DependencyUnavailableException ex = new DependencyUnavailableException("Route service unavailable, cannot validate route ID: 1");
+        Mono<ResponseEntity<ErrorResponse>> responseMono = globalExceptionHandler.handleDependencyUnavailable(ex);
+        ResponseEntity<ErrorResponse> response = responseMono.block();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatusCodeValue());
+        assertEquals("DEPENDENCY_UNAVAILABLE", response.getBody().getErrorCode());
+    }
+
+    @Test
+    void testHandleInvalidTripException() {
+        InvalidTripException ex = new InvalidTripException("Stop Z is not on route 1");
+        Mono<ResponseEntity<ErrorResponse>> responseMono = globalExceptionHandler.handleInvalidTrip(ex);
+        ResponseEntity<ErrorResponse> response = responseMono.block();
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
+        assertEquals("INVALID_TRIP", response.getBody().getErrorCode());
+    }
+
+    @Test
+    void testHandleTripConflictException() {
+        TripConflictException ex = new TripConflictException("Trip T2 overlaps trip T1");
+        Mono<ResponseEntity<ErrorResponse>> responseMono = globalExceptionHandler.handleTripConflict(ex);
+        ResponseEntity<ErrorResponse> response = responseMono.block();
+
+        assertEquals(HttpStatus.CONFLICT.value(), response.getStatusCodeValue());
+        assertEquals("TRIP_CONFLICT", response.getBody().getErrorCode());
+    }
+
+    @Test
+    void testHandleDuplicateKeyException() {
+        DuplicateKeyException ex = new DuplicateKeyException(
+                "E11000 duplicate key error collection: passengers.Passenger index: email_unique dup key: { email: \"john.doe@example.com\" }");
+        Mono<ResponseEntity<ErrorResponse>> responseMono = globalExceptionHandler.handleDuplicateKey(ex);
+        ResponseEntity<ErrorResponse> response = responseMono.block();
+
+        assertEquals(HttpStatus.CONFLICT.value(), response.getStatusCodeValue());
+        assertEquals("DUPLICATE_PASSENGER", response.getBody().getErrorCode());
+        assertEquals("A passenger with this email already exists", response.getBody().getMessage());
+    }
+
+    @Test
+    void testHandleDuplicateKeyExceptionWithoutKeyDetails() {
+        DuplicateKeyException ex = new DuplicateKeyException("E11000 duplicate key error collection: passengers.Passenger index: _id_");
+        Mono<ResponseEntity<ErrorResponse>> responseMono = globalExceptionHandler.handleDuplicateKey(ex);
+        ResponseEntity<ErrorResponse> response = responseMono.block();
+
+        assertEquals(HttpStatus.CONFLICT.value(), response.getStatusCodeValue());
+        assertEquals("A passenger with the same unique details already exists", response.getBody().getMessage());
+    }
+
+    @Test
+    void testHandleOptimisticLockingFailureException() {
+        OptimisticLockingFailureException ex = new OptimisticLockingFailureException("Passenger was modified concurrently");
+        Mono<ResponseEntity<ErrorResponse>> responseMono = globalExceptionHandler.handleOptimisticLockingFailure(ex);
+        ResponseEntity<ErrorResponse> response = responseMono.block();
+
+        assertEquals(HttpStatus.CONFLICT.value(), response.getStatusCodeValue());
+        assertEquals("CONCURRENT_MODIFICATION", response.getBody().getErrorCode());
+    }
+
     @Test
     void testHandleIllegalArgumentException() {
         IllegalArgumentException ex = new IllegalArgumentException("Invalid input data");
@@ -1,14 +1,28 @@
 package com.workshop.passenger.application.services;
 
+import com.mongodb.MongoException;
+import com.workshop.passenger.application.config.PassengerCommandProperties;
+import com.workshop.passenger.application.config.PassengerValidationProperties;
+import com.workshop.passenger.application.dto.BulkPassengerResult;
+import com.workshop.passenger.application.dto.BulkTripResult;
 import com.workshop.passenger.application.dto.PassengerUpdateDTO;
+import com.workshop.passenger.application.dto.TripAssignment;
+import com.workshop.passenger.domain.exception.DependencyUnavailableException;
 import com.workshop.passenger.domain.exception.PassengerNotFoundException;
+import com.workshop.passenger.domain.exception.TripConflictException;
+import com.workshop.passenger.domain.exception.TripNotFoundException;
 import com.workshop.passenger.domain.model.aggregates.Passenger;
 import com.workshop.passenger.domain.model.entities.Trip;
+import com.workshop.passenger.domain.model.events.PassengerEvent;
+import com.workshop.passenger.domain.model.mapper.PassengerMapper;
+import com.workshop.passenger.domain.operations.UnavailableDependencyPolicy;
+import com.workshop.passenger.domain.repository.InMemoryPassengerCommandRepository;
 import com.workshop.passenger.domain.repository.PassengerCommandRepository;
 import com.workshop.passenger.infraestructure.Route.model.aggregates.Route;
 import com.workshop.passenger.infraestructure.Route.model.entities.Schedule;
 import com.workshop.passenger.infraestructure.Route.model.entities.Stop;
 import com.workshop.passenger.infraestructure.Route.model.valueobjects.Coordinates;
+import com.workshop.passenger.infraestructure.Route.model.valueobjects.RouteIndex;
 import com.workshop.passenger.infraestructure.Route.model.valueobjects.WeekSchedule;
 import com.workshop.passenger.infraestructure.Route.service.RouteService;
 import com.workshop.passenger.infraestructure.Vehicle.model.aggregates.Vehicle;
@@ -18,6 +32,11 @@ import com.workshop.passenger.infraestructure.Vehicle.model.valueobjects.Mainten
 import com.workshop.passenger.infraestructure.Vehicle.model.valueobjects.enums.VehicleStatus;
 import com.workshop.passenger.infraestructure.Vehicle.model.valueobjects.enums.VehicleType;
 import com.workshop.passenger.infraestructure.Vehicle.service.VehicleService;
+import com.workshop.passenger.infraestructure.client.DownstreamUnavailableException;
+import com.workshop.passenger.infraestructure.concurrency.StripedSerialExecutor;
+import com.workshop.passenger.infraestructure.outbox.PassengerOutbox;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -25,15 +44,37 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @DisplayName("PassengerCommandServiceImpl Unit Tests")
@@ -51,6 +92,21 @@ class PassengerCommandServiceImplTests {
     @Mock
     private VehicleService vehicleService;
 
+    @Spy
+    private PassengerValidationProperties validationProperties = new PassengerValidationProperties();
+
+    @Spy
+    private PassengerCommandProperties commandProperties = new PassengerCommandProperties();
+
+    @Spy
+    private StripedSerialExecutor commandExecutor = StripedSerialExecutor.disabled();
+
+    @Spy
+    private PassengerOutbox passengerOutbox = PassengerOutbox.disabled();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private Passenger passenger;
     private PassengerUpdateDTO passengerUpdateDTO;
     private Trip trip;
@@ -129,7 +185,7 @@ class PassengerCommandServiceImplTests {
     @DisplayName("Test createPassenger - Successful Save")
     void testCreatePassenger_Success() {
         when(passengerCommandRepository.save(any(Passenger.class))).thenReturn(Mono.just(passenger));
-        when(routeService.getRouteById(anyString())).thenReturn(Mono.just(route));
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
         when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(mock(Vehicle.class)));
 
         Mono<Passenger> result = passengerService.createPassenger(passenger);
@@ -139,16 +195,177 @@ class PassengerCommandServiceImplTests {
                 .verifyComplete();
 
         verify(passengerCommandRepository, times(1)).save(any(Passenger.class));
-        verify(routeService, times(passenger.getTrips().size())).getRouteById(anyString());
+        verify(routeService, times(passenger.getTrips().size())).getRouteIndex(anyString());
         verify(vehicleService, times(passenger.getTrips().size())).getVehicleById(anyString());
     }
 
+    @Test
+    @DisplayName("Test createPassenger - Outbox Enabled Retries a Transient Failure With a Fresh Entity")
+    void testCreatePassenger_RetriesTransientFailureWithFreshEntity() {
+        List<PassengerEvent> events = new ArrayList<>();
+        PassengerCommandServiceImpl outboxService = outboxService(events, passThroughTransactions());
+        Passenger request = PassengerMapper.copyOf(passenger);
+        request.setId(null);
+        request.setVersion(null);
+        List<Passenger> attempts = new ArrayList<>();
+        when(passengerCommandRepository.save(any(Passenger.class))).thenAnswer(invocation -> {
+            Passenger attempt = invocation.getArgument(0);
+            attempts.add(PassengerMapper.copyOf(attempt));
+            attempt.setId(new ObjectId());
+            attempt.setVersion(0L);
+            if (attempts.size() == 1) {
+                MongoException writeConflict = new MongoException(112, "WriteConflict");
+                writeConflict.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+                return Mono.error(new UncategorizedMongoDbException("Write conflict", writeConflict));
+            }
+            return Mono.just(attempt);
+        });
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(vehicle));
+
+        StepVerifier.create(outboxService.createPassenger(request))
+                .expectNextMatches(created -> created.getId() != null && created.getVersion() == 0L)
+                .verifyComplete();
+
+        assertThat(attempts).hasSize(2).allSatisfy(attempt -> {
+            assertThat(attempt.getId()).isNull();
+            assertThat(attempt.getVersion()).isNull();
+        });
+        assertThat(request.getId()).isNull();
+        assertThat(events).singleElement().extracting(PassengerEvent::getType).isEqualTo(PassengerEvent.Type.PASSENGER_CREATED);
+    }
+
+    @Test
+    @DisplayName("Test createPassengers - Malformed Records Are Rejected Without Lookups or Inserts")
+    void testCreatePassengers_RejectsMalformedRecords() {
+        Passenger noName = PassengerMapper.copyOf(passenger);
+        noName.setName(" ");
+        Passenger badEmail = PassengerMapper.copyOf(passenger);
+        badEmail.setEmail("john.doe");
+        Passenger badTrip = PassengerMapper.copyOf(passenger);
+        badTrip.setTrips(new ArrayList<>(List.of(Trip.builder().routeId(trip.getRouteId()).vehicleId(trip.getVehicleId()).build())));
+        Passenger valid = PassengerMapper.copyOf(passenger);
+        valid.setTrips(new ArrayList<>(List.of(trip)));
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(mock(Vehicle.class)));
+        when(passengerCommandRepository.bulkInsert(anyList())).thenReturn(Mono.just(Map.of()));
+
+        StepVerifier.create(passengerService.createPassengers(Flux.just(noName, badEmail, badTrip, valid)))
+                .expectNextMatches(result -> result.getStatus() == BulkPassengerResult.Status.REJECTED
+                        && result.getMessage().equals("Name is required"))
+                .expectNextMatches(result -> result.getStatus() == BulkPassengerResult.Status.REJECTED
+                        && result.getMessage().equals("Invalid email format: john.doe"))
+                .expectNextMatches(result -> result.getStatus() == BulkPassengerResult.Status.REJECTED
+                        && result.getMessage().equals("Trip ID is required"))
+                .expectNextMatches(result -> result.getIndex() == 3 && result.getStatus() == BulkPassengerResult.Status.CREATED)
+                .verifyComplete();
+
+        verify(passengerCommandRepository, times(1)).bulkInsert(List.of(valid));
+        verify(routeService, times(1)).getRouteIndex(trip.getRouteId());
+        verify(vehicleService, times(1)).getVehicleById(trip.getVehicleId());
+    }
+
+    @Test
+    @DisplayName("Test createPassengers - Records Are Validated and Inserted in Chunks With a Result per Record")
+    void testCreatePassengers_ChunkedBulkInsert() {
+        commandProperties.getBulk().setBatchSize(2);
+        Passenger rejected = PassengerMapper.copyOf(passenger);
+        rejected.setTrips(new ArrayList<>(List.of(Trip.builder().tripId("tripX").routeId("missingRoute").vehicleId(trip.getVehicleId()).build())));
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(routeService.getRouteIndex("missingRoute")).thenReturn(Mono.empty());
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(mock(Vehicle.class)));
+        when(passengerCommandRepository.bulkInsert(anyList()))
+                .thenReturn(Mono.just(Map.of()))
+                .thenReturn(Mono.just(Map.of(0, "E11000 duplicate key error")));
+
+        StepVerifier.create(passengerService.createPassengers(Flux.just(
+                        PassengerMapper.copyOf(passenger), rejected, PassengerMapper.copyOf(passenger), PassengerMapper.copyOf(passenger))))
+                .expectNextMatches(result -> result.getIndex() == 0 && result.getStatus() == BulkPassengerResult.Status.CREATED
+                        && result.getPassengerId() != null)
+                .expectNextMatches(result -> result.getIndex() == 1 && result.getStatus() == BulkPassengerResult.Status.REJECTED
+                        && result.getMessage().contains("Route not found for ID: missingRoute"))
+                .expectNextMatches(result -> result.getIndex() == 2 && result.getStatus() == BulkPassengerResult.Status.FAILED
+                        && result.getMessage().contains("duplicate key"))
+                .expectNextMatches(result -> result.getIndex() == 3 && result.getStatus() == BulkPassengerResult.Status.CREATED)
+                .verifyComplete();
+
+        verify(passengerCommandRepository, times(2)).bulkInsert(argThat(batch -> !batch.isEmpty() && batch.size() <= 2));
+        verify(passengerCommandRepository, never()).save(any(Passenger.class));
+        verify(routeService, times(1)).getRouteIndex("missingRoute");
+        assertThat(meterRegistry.counter("passengers.bulk.records", "status", "CREATED").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Test createPassengers - Outbox Enabled Records a Created Event per Inserted Passenger in the Chunk Transaction")
+    void testCreatePassengers_RecordsOutboxEvents() {
+        List<PassengerEvent> events = new ArrayList<>();
+        TransactionalOperator transactionalOperator = passThroughTransactions();
+        PassengerCommandServiceImpl outboxService = outboxService(events, transactionalOperator);
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(vehicle));
+        when(passengerCommandRepository.bulkInsert(anyList())).thenReturn(Mono.just(Map.of()));
+
+        StepVerifier.create(outboxService.createPassengers(Flux.just(PassengerMapper.copyOf(passenger), PassengerMapper.copyOf(passenger))))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        assertThat(events).hasSize(2).allSatisfy(event -> {
+            assertThat(event.getType()).isEqualTo(PassengerEvent.Type.PASSENGER_CREATED);
+            assertThat(event.getVersion()).isEqualTo(0L);
+        });
+        verify(transactionalOperator, times(1)).transactional(anyMono());
+    }
+
+    @Test
+    @DisplayName("Test createPassengers - Outbox Enabled Reinserts the Rest of a Chunk Without Its Failed Records")
+    void testCreatePassengers_OutboxRetriesChunkWithoutFailures() {
+        List<PassengerEvent> events = new ArrayList<>();
+        PassengerCommandServiceImpl outboxService = outboxService(events, passThroughTransactions());
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(vehicle));
+        when(passengerCommandRepository.bulkInsert(anyList()))
+                .thenReturn(Mono.just(Map.of(1, "E11000 duplicate key error")))
+                .thenReturn(Mono.just(Map.of()));
+        Passenger duplicate = PassengerMapper.copyOf(passenger);
+        duplicate.setEmail("duplicate@example.com");
+
+        StepVerifier.create(outboxService.createPassengers(Flux.just(PassengerMapper.copyOf(passenger), duplicate,
+                        PassengerMapper.copyOf(passenger))))
+                .expectNextMatches(result -> result.getIndex() == 0 && result.getStatus() == BulkPassengerResult.Status.CREATED)
+                .expectNextMatches(result -> result.getIndex() == 1 && result.getStatus() == BulkPassengerResult.Status.FAILED
+                        && result.getMessage().contains("duplicate key"))
+                .expectNextMatches(result -> result.getIndex() == 2 && result.getStatus() == BulkPassengerResult.Status.CREATED)
+                .verifyComplete();
+
+        verify(passengerCommandRepository, times(1)).bulkInsert(argThat(batch -> batch.size() == 2
+                && batch.stream().noneMatch(inserted -> inserted.getEmail().equals("duplicate@example.com"))));
+        assertThat(events).hasSize(2)
+                .noneMatch(event -> "duplicate@example.com".equals(event.getPayload().get("email")));
+    }
+
+    @Test
+    @DisplayName("Test createPassengers - A Failed Bulk Write Marks Its Chunk as Failed and Continues")
+    void testCreatePassengers_FailedChunkContinues() {
+        commandProperties.getBulk().setBatchSize(1);
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(mock(Vehicle.class)));
+        when(passengerCommandRepository.bulkInsert(anyList()))
+                .thenReturn(Mono.error(new IllegalStateException("connection reset")))
+                .thenReturn(Mono.just(Map.of()));
+
+        StepVerifier.create(passengerService.createPassengers(Flux.just(PassengerMapper.copyOf(passenger), PassengerMapper.copyOf(passenger))))
+                .expectNextMatches(result -> result.getStatus() == BulkPassengerResult.Status.FAILED
+                        && result.getMessage().equals("connection reset"))
+                .expectNextMatches(result -> result.getStatus() == BulkPassengerResult.Status.CREATED)
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName("Test updatePassenger - Successful Update")
     void testUpdatePassenger_Success() {
-        when(passengerCommandRepository.findById(passengerId)).thenReturn(Mono.just(passenger));
-        when(passengerCommandRepository.save(any(Passenger.class))).thenReturn(Mono.just(passenger));
-        when(routeService.getRouteById(anyString())).thenReturn(Mono.just(route));
+        when(passengerCommandRepository.findProfile(passengerId)).thenReturn(Mono.just(passenger));
+        when(passengerCommandRepository.setFields(eq(passengerId), any(), anyMap())).thenAnswer(withFieldsApplied(passenger));
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
         when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(mock(Vehicle.class)));
 
         Mono<Passenger> result = passengerService.updatePassenger(passengerId, passengerUpdateDTO);
@@ -157,34 +374,193 @@ class PassengerCommandServiceImplTests {
                 .expectNextMatches(updated -> updated.getName().equals("Jane Doe"))
                 .verifyComplete();
 
-        verify(passengerCommandRepository, times(1)).findById(passengerId);
-        verify(passengerCommandRepository, times(1)).save(any(Passenger.class));
-        verify(routeService, times(passenger.getTrips().size())).getRouteById(anyString());
-        verify(vehicleService, times(passenger.getTrips().size())).getVehicleById(anyString());
+        verify(passengerCommandRepository, times(1)).findProfile(passengerId);
+        verify(passengerCommandRepository, times(1)).setFields(eq(passengerId), any(), argThat(fields ->
+                fields.keySet().equals(Set.of("name", "email", "phone", "preferredPaymentMethod"))));
+        verify(passengerCommandRepository, never()).save(any(Passenger.class));
+        verify(routeService, never()).getRouteIndex(anyString());
+        verify(vehicleService, never()).getVehicleById(anyString());
+    }
+
+    @Test
+    @DisplayName("Test updatePassenger - Profile-Only Update Returns Stored Trips")
+    void testUpdatePassenger_ProfileOnlyReturnsStoredTrips() {
+        Passenger stored = PassengerMapper.copyOf(passenger);
+        stored.setTrips(new ArrayList<>(List.of(trip)));
+        when(passengerCommandRepository.findProfile(passengerId)).thenReturn(Mono.just(passenger));
+        when(passengerCommandRepository.setFields(eq(passengerId), any(), anyMap())).thenAnswer(withFieldsApplied(stored));
+
+        StepVerifier.create(passengerService.updatePassenger(passengerId, passengerUpdateDTO))
+                .expectNextMatches(updated -> updated.getName().equals("Jane Doe")
+                        && updated.getTrips().size() == 1
+                        && updated.getTrips().get(0).getTripId().equals(trip.getTripId()))
+                .verifyComplete();
+
+        verify(passengerCommandRepository, never()).findById(anyString());
+    }
+
+    @Test
+    @DisplayName("Test updatePassenger - Concurrent Modification Is Retried")
+    void testUpdatePassenger_RetriesOnConflict() {
+        passenger.setVersion(3L);
+        when(passengerCommandRepository.findProfile(passengerId)).thenAnswer(invocation -> Mono.just(PassengerMapper.copyOf(passenger)));
+        when(passengerCommandRepository.setFields(eq(passengerId), any(), anyMap()))
+                .thenReturn(Mono.error(new OptimisticLockingFailureException("conflict")))
+                .thenAnswer(withFieldsApplied(passenger));
+
+        StepVerifier.create(passengerService.updatePassenger(passengerId, passengerUpdateDTO))
+                .expectNextMatches(updated -> updated.getName().equals("Jane Doe") && updated.getVersion() == 4L)
+                .verifyComplete();
+
+        verify(passengerCommandRepository, times(2)).findProfile(passengerId);
+        verify(passengerCommandRepository, times(2)).setFields(eq(passengerId), eq(3L), anyMap());
+        assertThat(meterRegistry.counter("passengers.commands.conflict-retries").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Test updatePassenger - Conflicts Beyond the Retry Budget Are Reported")
+    void testUpdatePassenger_ConflictRetriesExhausted() {
+        commandProperties.getRetry().setMaxAttempts(2);
+        when(passengerCommandRepository.findProfile(passengerId)).thenAnswer(invocation -> Mono.just(PassengerMapper.copyOf(passenger)));
+        when(passengerCommandRepository.setFields(eq(passengerId), any(), anyMap()))
+                .thenReturn(Mono.error(new OptimisticLockingFailureException("conflict")));
+
+        StepVerifier.create(passengerService.updatePassenger(passengerId, passengerUpdateDTO))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+
+        verify(passengerCommandRepository, times(3)).setFields(eq(passengerId), any(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Test updatePassenger - Unchanged Passenger Is Not Written")
+    void testUpdatePassenger_NoChanges() {
+        passengerUpdateDTO = PassengerUpdateDTO.builder()
+                .name(passenger.getName())
+                .email(passenger.getEmail())
+                .phone(passenger.getPhone())
+                .preferredPaymentMethod(passenger.getPreferredPaymentMethod())
+                .build();
+        Passenger stored = PassengerMapper.copyOf(passenger);
+        stored.setTrips(new ArrayList<>(List.of(trip)));
+        when(passengerCommandRepository.findProfile(passengerId)).thenReturn(Mono.just(passenger));
+        when(passengerCommandRepository.findById(passengerId)).thenReturn(Mono.just(stored));
+
+        StepVerifier.create(passengerService.updatePassenger(passengerId, passengerUpdateDTO))
+                .expectNextMatches(updated -> updated.getName().equals("John Doe")
+                        && updated.getTrips().size() == 1)
+                .verifyComplete();
+
+        verify(passengerCommandRepository, never()).setFields(anyString(), any(), anyMap());
+        verify(passengerCommandRepository, never()).save(any(Passenger.class));
+    }
+
+    @Test
+    @DisplayName("Test updatePassenger - Clearing a Pending Trip Is Written Even When Nothing Else Changed")
+    void testUpdatePassenger_WritesClearedPendingFlag() {
+        trip.setPendingValidation(true);
+        passenger.setTrips(new ArrayList<>(List.of(trip)));
+        Trip resubmitted = PassengerMapper.copyOf(passenger).getTrips().get(0);
+        passengerUpdateDTO = PassengerUpdateDTO.builder()
+                .name(passenger.getName())
+                .email(passenger.getEmail())
+                .phone(passenger.getPhone())
+                .preferredPaymentMethod(passenger.getPreferredPaymentMethod())
+                .trips(new ArrayList<>(List.of(resubmitted)))
+                .build();
+        when(passengerCommandRepository.findById(passengerId)).thenReturn(Mono.just(passenger));
+        when(passengerCommandRepository.setFields(eq(passengerId), any(), anyMap())).thenAnswer(withFieldsApplied(passenger));
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(vehicle));
+
+        StepVerifier.create(passengerService.updatePassenger(passengerId, passengerUpdateDTO))
+                .expectNextMatches(updated -> updated.getTrips().get(0).getPendingValidation() == null)
+                .verifyComplete();
+
+        verify(passengerCommandRepository, times(1)).setFields(eq(passengerId), any(), argThat(fields ->
+                fields.keySet().equals(Set.of("trips"))));
+    }
+
+    @Test
+    @DisplayName("Test updatePassenger - Only New or Changed Trips Are Validated")
+    void testUpdatePassenger_ValidatesOnlyChangedTrips() {
+        passenger.getTrips().add(trip);
+        Trip newTrip = Trip.builder()
+                .tripId(ObjectId.get().toHexString())
+                .routeId("route999")
+                .vehicleId("vehicle999")
+                .startStop("C")
+                .endStop("D")
+                .fare(5.0)
+                .build();
+        passengerUpdateDTO.setTrips(new ArrayList<>(List.of(trip, newTrip)));
+        when(passengerCommandRepository.findById(passengerId)).thenReturn(Mono.just(passenger));
+        when(passengerCommandRepository.setFields(eq(passengerId), any(), anyMap())).thenAnswer(withFieldsApplied(passenger));
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(vehicle));
+
+        StepVerifier.create(passengerService.updatePassenger(passengerId, passengerUpdateDTO))
+                .expectNextMatches(updated -> updated.getTrips().size() == 2)
+                .verifyComplete();
+
+        verify(routeService, times(1)).getRouteIndex("route999");
+        verify(vehicleService, times(1)).getVehicleById("vehicle999");
+        verify(routeService, never()).getRouteIndex(trip.getRouteId());
+        verify(vehicleService, never()).getVehicleById(trip.getVehicleId());
     }
 
     @Test
     @DisplayName("Test deletePassenger - Successful Deletion")
     void testDeletePassenger_Success() {
-        when(passengerCommandRepository.findById(passengerId)).thenReturn(Mono.just(passenger));
-        when(passengerCommandRepository.deleteById(passengerId)).thenReturn(Mono.empty());
+        when(passengerCommandRepository.deletePassenger(passengerId)).thenReturn(Mono.just(passenger));
 
         Mono<Void> result = passengerService.deletePassenger(passengerId);
 
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(passengerCommandRepository, times(1)).findById(passengerId);
-        verify(passengerCommandRepository, times(1)).deleteById(passengerId);
+        verify(passengerCommandRepository, times(1)).deletePassenger(passengerId);
+        verify(passengerCommandRepository, never()).findById(anyString());
+    }
+
+    @Test
+    @DisplayName("Test deletePassenger - Passenger Not Found When Nothing Was Deleted")
+    void testDeletePassenger_NotFound() {
+        when(passengerCommandRepository.deletePassenger(passengerId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(passengerService.deletePassenger(passengerId))
+                .expectError(PassengerNotFoundException.class)
+                .verify();
+
+        verify(passengerCommandRepository, never()).deleteArchivedTrips(anyString());
+    }
+
+    @Test
+    @DisplayName("Test deletePassenger - Deleting Against a Stored Passenger Takes One Round Trip and No Read")
+    void testDeletePassenger_SingleRoundTrip() {
+        InMemoryPassengerCommandRepository store = new InMemoryPassengerCommandRepository();
+        String storedId = store.store(PassengerMapper.copyOf(passenger)).getId().toHexString();
+        PassengerCommandServiceImpl inMemoryService = new PassengerCommandServiceImpl(store.repository(),
+                routeService, vehicleService, validationProperties, commandProperties, StripedSerialExecutor.disabled(), PassengerOutbox.disabled(), meterRegistry);
+
+        StepVerifier.create(inMemoryService.deletePassenger(storedId))
+                .verifyComplete();
+        assertThat(store.contains(storedId)).isFalse();
+        assertThat(store.roundTrips()).containsExactly("deletePassenger");
+
+        StepVerifier.create(inMemoryService.deletePassenger(storedId))
+                .expectError(PassengerNotFoundException.class)
+                .verify();
+        assertThat(store.roundTrips()).containsExactly("deletePassenger", "deletePassenger");
     }
 
     @Test
     @DisplayName("Test addTripToPassenger - Trip Added Successfully with Valid Dependencies")
     void testAddTripToPassenger_Success() {
-        when(routeService.getRouteById(trip.getRouteId())).thenReturn(Mono.just(route)); // Puedes usar un objeto simulado si `Route` es otra clase específica
+        when(routeService.getRouteIndex(trip.getRouteId())).thenReturn(Mono.just(RouteIndex.of(route))); // Puedes usar un objeto simulado si `Route` es otra clase específica
         when(vehicleService.getVehicleById(trip.getVehicleId())).thenReturn(Mono.just(new Vehicle()));
-        when(passengerCommandRepository.findById(passengerId)).thenReturn(Mono.just(passenger));
-        when(passengerCommandRepository.save(any(Passenger.class))).thenReturn(Mono.just(passenger));
+        passenger.getTrips().add(trip);
+        when(passengerCommandRepository.pushTrip(passengerId, trip)).thenReturn(Mono.just(passenger));
 
         Mono<Passenger> result = passengerService.addTripToPassenger(passengerId, trip);
 
@@ -192,20 +568,627 @@ class PassengerCommandServiceImplTests {
                 .expectNextMatches(passengerWithTrip -> passengerWithTrip.getTrips().contains(trip))
                 .verifyComplete();
 
-        verify(routeService, times(1)).getRouteById(trip.getRouteId());
+        verify(routeService, times(1)).getRouteIndex(trip.getRouteId());
         verify(vehicleService, times(1)).getVehicleById(trip.getVehicleId());
-        verify(passengerCommandRepository, times(1)).findById(passengerId);
-        verify(passengerCommandRepository, times(1)).save(any(Passenger.class));
+        verify(passengerCommandRepository, times(1)).pushTrip(passengerId, trip);
+        verify(passengerCommandRepository, never()).findById(anyString());
+        verify(passengerCommandRepository, never()).save(any(Passenger.class));
     }
 
-
     @Test
-    @DisplayName("Test removeTripFromPassenger - Trip Removed Successfully")
-    void testRemoveTripFromPassenger_Success() {
+    @DisplayName("Test addTripToPassenger - Outbox Enabled Records a Trip Added Event in the Same Transaction")
+    void testAddTripToPassenger_RecordsOutboxEvent() {
+        List<PassengerEvent> events = new ArrayList<>();
+        TransactionalOperator transactionalOperator = passThroughTransactions();
+        PassengerCommandServiceImpl outboxService = outboxService(events, transactionalOperator);
+        when(routeService.getRouteIndex(trip.getRouteId())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(trip.getVehicleId())).thenReturn(Mono.just(new Vehicle()));
         passenger.getTrips().add(trip);
+        passenger.setVersion(4L);
+        when(passengerCommandRepository.pushTrip(passengerId, trip)).thenReturn(Mono.just(passenger));
+
+        StepVerifier.create(outboxService.addTripToPassenger(passengerId, trip))
+                .expectNext(passenger)
+                .verifyComplete();
 
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getType()).isEqualTo(PassengerEvent.Type.TRIP_ADDED);
+            assertThat(event.getPassengerId()).isEqualTo(passengerId);
+            assertThat(event.getVersion()).isEqualTo(4L);
+            assertThat(event.getPayload()).containsEntry("trip", trip);
+        });
+        verify(transactionalOperator, times(1)).transactional(anyMono());
+    }
+
+    @Test
+    @DisplayName("Test updatePassenger - Outbox Enabled Records Only the Changed Fields")
+    void testUpdatePassenger_RecordsChangedFields() {
+        List<PassengerEvent> events = new ArrayList<>();
+        PassengerCommandServiceImpl outboxService = outboxService(events, passThroughTransactions());
+        passenger.setVersion(2L);
+        when(passengerCommandRepository.findProfile(passengerId)).thenReturn(Mono.just(passenger));
+        when(passengerCommandRepository.setFields(eq(passengerId), eq(2L), anyMap())).thenAnswer(withFieldsApplied(passenger));
+
+        StepVerifier.create(outboxService.updatePassenger(passengerId, passengerUpdateDTO))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getType()).isEqualTo(PassengerEvent.Type.PASSENGER_UPDATED);
+            assertThat(event.getVersion()).isEqualTo(3L);
+            assertThat(event.getPayload()).containsEntry("name", "Jane Doe").doesNotContainKey("trips");
+        });
+    }
+
+    @Test
+    @DisplayName("Test updatePassenger - Outbox Enabled Validates Trips Before Opening the Transaction")
+    void testUpdatePassenger_ValidatesOutsideTransaction() {
+        List<PassengerEvent> events = new ArrayList<>();
+        AtomicBoolean inTransaction = new AtomicBoolean();
+        List<Boolean> lookupsInTransaction = new ArrayList<>();
+        TransactionalOperator transactionalOperator = mock(TransactionalOperator.class);
+        when(transactionalOperator.transactional(anyMono())).thenAnswer(invocation -> invocation.<Mono<?>>getArgument(0)
+                .doOnSubscribe(subscription -> inTransaction.set(true))
+                .doFinally(signal -> inTransaction.set(false)));
+        PassengerCommandServiceImpl outboxService = outboxService(events, transactionalOperator);
+        passengerUpdateDTO.setTrips(new ArrayList<>(List.of(trip)));
         when(passengerCommandRepository.findById(passengerId)).thenReturn(Mono.just(passenger));
-        when(passengerCommandRepository.save(any(Passenger.class))).thenReturn(Mono.just(passenger));
+        when(passengerCommandRepository.setFields(eq(passengerId), any(), anyMap())).thenAnswer(withFieldsApplied(passenger));
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.fromCallable(() -> {
+            lookupsInTransaction.add(inTransaction.get());
+            return RouteIndex.of(route);
+        }));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.fromCallable(() -> {
+            lookupsInTransaction.add(inTransaction.get());
+            return vehicle;
+        }));
+
+        StepVerifier.create(outboxService.updatePassenger(passengerId, passengerUpdateDTO))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(lookupsInTransaction).hasSize(2).containsOnly(false);
+        assertThat(events).singleElement().extracting(PassengerEvent::getType).isEqualTo(PassengerEvent.Type.PASSENGER_UPDATED);
+        verify(transactionalOperator, times(1)).transactional(anyMono());
+    }
+
+    @Test
+    @DisplayName("Test updatePassenger - Outbox Enabled Opens No Transaction When Trip Validation Fails")
+    void testUpdatePassenger_NoTransactionOnInvalidTrips() {
+        List<PassengerEvent> events = new ArrayList<>();
+        TransactionalOperator transactionalOperator = passThroughTransactions();
+        PassengerCommandServiceImpl outboxService = outboxService(events, transactionalOperator);
+        passengerUpdateDTO.setTrips(new ArrayList<>(List.of(trip)));
+        when(passengerCommandRepository.findById(passengerId)).thenReturn(Mono.just(passenger));
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.empty());
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(vehicle));
+
+        StepVerifier.create(outboxService.updatePassenger(passengerId, passengerUpdateDTO))
+                .expectError()
+                .verify();
+
+        assertThat(events).isEmpty();
+        verify(transactionalOperator, never()).transactional(anyMono());
+        verify(passengerCommandRepository, never()).setFields(anyString(), any(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Test deletePassenger - Outbox Enabled Records the Delete as the Next Version")
+    void testDeletePassenger_RecordsNextVersion() {
+        List<PassengerEvent> events = new ArrayList<>();
+        PassengerCommandServiceImpl outboxService = outboxService(events, passThroughTransactions());
+        when(passengerCommandRepository.deletePassenger(passengerId)).thenReturn(Mono.just(storedTrips(passengerId, 6L)));
+
+        StepVerifier.create(outboxService.deletePassenger(passengerId))
+                .verifyComplete();
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getType()).isEqualTo(PassengerEvent.Type.PASSENGER_DELETED);
+            assertThat(event.getVersion()).isEqualTo(7L);
+        });
+    }
+
+    @Test
+    @DisplayName("Test removeTripFromPassenger - Outbox Enabled Versions the Removal of an Archived Trip")
+    void testRemoveTripFromPassenger_VersionsArchivedRemoval() {
+        List<PassengerEvent> events = new ArrayList<>();
+        PassengerCommandServiceImpl outboxService = outboxService(events, passThroughTransactions());
+        commandProperties.getTripBuckets().setEnabled(true);
+        when(passengerCommandRepository.pullTrip(passengerId, tripId)).thenReturn(Mono.empty());
+        when(passengerCommandRepository.pullArchivedTrip(passengerId, tripId)).thenReturn(Mono.just(true));
+        when(passengerCommandRepository.incrementVersion(passengerId)).thenReturn(Mono.just(storedTrips(passengerId, 9L)));
+
+        StepVerifier.create(outboxService.removeTripFromPassenger(passengerId, tripId))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getType()).isEqualTo(PassengerEvent.Type.TRIP_REMOVED);
+            assertThat(event.getVersion()).isEqualTo(9L);
+        });
+    }
+
+    @Test
+    @DisplayName("Test deletePassenger - Outbox Enabled Records No Event When the Passenger Is Missing")
+    void testDeletePassenger_NoOutboxEventWhenMissing() {
+        List<PassengerEvent> events = new ArrayList<>();
+        PassengerCommandServiceImpl outboxService = outboxService(events, passThroughTransactions());
+        when(passengerCommandRepository.deletePassenger(passengerId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(outboxService.deletePassenger(passengerId))
+                .expectError(PassengerNotFoundException.class)
+                .verify();
+
+        assertThat(events).isEmpty();
+    }
+
+
+    @Test
+    @DisplayName("Test addTripToPassenger - Serialized Mode Runs Commands for One Passenger One at a Time")
+    void testAddTripToPassenger_SerializedPerPassenger() {
+        StripedSerialExecutor serialExecutor = new StripedSerialExecutor(4);
+        PassengerCommandServiceImpl serializedService = new PassengerCommandServiceImpl(passengerCommandRepository,
+                routeService, vehicleService, validationProperties, commandProperties, serialExecutor, PassengerOutbox.disabled(), meterRegistry);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        when(routeService.getRouteIndex(trip.getRouteId())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(trip.getVehicleId())).thenReturn(Mono.just(new Vehicle()));
+        when(passengerCommandRepository.pushTrip(passengerId, trip)).thenReturn(Mono.fromRunnable(() ->
+                        maxActive.accumulateAndGet(active.incrementAndGet(), Math::max))
+                .then(Mono.delay(Duration.ofMillis(20)))
+                .doOnNext(tick -> active.decrementAndGet())
+                .thenReturn(passenger));
+
+        try {
+            StepVerifier.create(Flux.range(0, 5)
+                            .flatMap(i -> serializedService.addTripToPassenger(passengerId, trip))
+                            .count())
+                    .expectNext(5L)
+                    .verifyComplete();
+        } finally {
+            serialExecutor.close();
+        }
+
+        assertThat(maxActive.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("passengers.commands.duration").tag("mode", "serialized").timer().count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Test addTripToPassenger - Serialized Mode Validates Before Taking the Passenger's Stripe")
+    void testAddTripToPassenger_ValidatesOutsideStripe() {
+        StripedSerialExecutor serialExecutor = new StripedSerialExecutor(1);
+        PassengerCommandServiceImpl serializedService = new PassengerCommandServiceImpl(passengerCommandRepository,
+                routeService, vehicleService, validationProperties, commandProperties, serialExecutor, PassengerOutbox.disabled(), meterRegistry);
+        Sinks.One<RouteIndex> slowRoute = Sinks.one();
+        Trip slowTrip = Trip.builder().tripId("slowTrip").routeId("slowRoute").vehicleId(trip.getVehicleId()).build();
+        when(routeService.getRouteIndex("slowRoute")).thenReturn(slowRoute.asMono());
+        when(routeService.getRouteIndex(trip.getRouteId())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(new Vehicle()));
+        when(passengerCommandRepository.pushTrip(eq(passengerId), any(Trip.class))).thenReturn(Mono.just(passenger));
+
+        try {
+            StepVerifier.create(serializedService.addTripToPassenger(passengerId, slowTrip))
+                    .then(() -> StepVerifier.create(serializedService.addTripToPassenger(passengerId, trip))
+                            .expectNext(passenger)
+                            .expectComplete()
+                            .verify(Duration.ofSeconds(5)))
+                    .then(() -> assertThat(serialExecutor.submittedCount()).isEqualTo(1))
+                    .then(() -> slowRoute.tryEmitValue(RouteIndex.of(route)))
+                    .expectNext(passenger)
+                    .verifyComplete();
+        } finally {
+            serialExecutor.close();
+        }
+
+        assertThat(serialExecutor.submittedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test updatePassenger - Serialized Mode Validates Before Taking the Passenger's Stripe")
+    void testUpdatePassenger_ValidatesOutsideStripe() {
+        StripedSerialExecutor serialExecutor = new StripedSerialExecutor(1);
+        PassengerCommandServiceImpl serializedService = new PassengerCommandServiceImpl(passengerCommandRepository,
+                routeService, vehicleService, validationProperties, commandProperties, serialExecutor, PassengerOutbox.disabled(), meterRegistry);
+        List<Long> submittedDuringLookups = new ArrayList<>();
+        passengerUpdateDTO.setTrips(new ArrayList<>(List.of(trip)));
+        when(passengerCommandRepository.findById(passengerId)).thenReturn(Mono.just(passenger));
+        when(passengerCommandRepository.setFields(eq(passengerId), any(), anyMap())).thenAnswer(withFieldsApplied(passenger));
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.fromCallable(() -> {
+            submittedDuringLookups.add(serialExecutor.submittedCount());
+            return RouteIndex.of(route);
+        }));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.fromCallable(() -> {
+            submittedDuringLookups.add(serialExecutor.submittedCount());
+            return vehicle;
+        }));
+
+        try {
+            StepVerifier.create(serializedService.updatePassenger(passengerId, passengerUpdateDTO))
+                    .expectNextCount(1)
+                    .verifyComplete();
+        } finally {
+            serialExecutor.close();
+        }
+
+        assertThat(submittedDuringLookups).hasSize(2).containsOnly(0L);
+        assertThat(serialExecutor.submittedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test addTripsToPassengers - Outbox Enabled Records a Trip Added Event per Pushed Trip With Consecutive Versions")
+    void testAddTripsToPassengers_RecordsOutboxEvents() {
+        List<PassengerEvent> events = new ArrayList<>();
+        TransactionalOperator transactionalOperator = passThroughTransactions();
+        PassengerCommandServiceImpl outboxService = outboxService(events, transactionalOperator);
+        String otherPassengerId = new ObjectId().toHexString();
+        Trip secondTrip = Trip.builder().tripId("trip2").routeId(trip.getRouteId()).vehicleId(trip.getVehicleId()).build();
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(new Vehicle()));
+        when(passengerCommandRepository.findTrips(anyCollection(), anyCollection()))
+                .thenReturn(Flux.just(storedTrips(passengerId, 3L), storedTrips(otherPassengerId, 1L)));
+        when(passengerCommandRepository.pushTrips(anyMap(), anyMap())).thenReturn(Mono.empty());
+
+        StepVerifier.create(outboxService.addTripsToPassengers(Flux.just(
+                        new TripAssignment(passengerId, trip),
+                        new TripAssignment(otherPassengerId, trip),
+                        new TripAssignment(passengerId, secondTrip))))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertThat(events).extracting(PassengerEvent::getPassengerId, PassengerEvent::getType, PassengerEvent::getVersion)
+                .containsExactlyInAnyOrder(
+                        tuple(passengerId, PassengerEvent.Type.TRIP_ADDED, 4L),
+                        tuple(passengerId, PassengerEvent.Type.TRIP_ADDED, 5L),
+                        tuple(otherPassengerId, PassengerEvent.Type.TRIP_ADDED, 2L));
+        assertThat(events).filteredOn(event -> event.getPassengerId().equals(passengerId))
+                .extracting(event -> event.getPayload().get("trip")).containsExactly(trip, secondTrip);
+        verify(transactionalOperator, times(1)).transactional(anyMono());
+    }
+
+    @Test
+    @DisplayName("Test addTripsToPassengers - Trips Are Grouped per Passenger Into One Bulk Push per Chunk")
+    void testAddTripsToPassengers_GroupsPushesPerPassenger() {
+        String otherPassengerId = new ObjectId().toHexString();
+        String missingPassengerId = new ObjectId().toHexString();
+        Trip secondTrip = Trip.builder().tripId("trip2").routeId(trip.getRouteId()).vehicleId(trip.getVehicleId()).build();
+        Trip invalidTrip = Trip.builder().tripId("trip3").routeId("missingRoute").vehicleId(trip.getVehicleId()).build();
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(routeService.getRouteIndex("missingRoute")).thenReturn(Mono.empty());
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(new Vehicle()));
+        when(passengerCommandRepository.findTrips(anyCollection(), anyCollection()))
+                .thenReturn(Flux.just(storedTrips(passengerId, 3L), storedTrips(otherPassengerId, 1L)));
+        when(passengerCommandRepository.pushTrips(anyMap(), anyMap())).thenReturn(Mono.empty());
+
+        StepVerifier.create(passengerService.addTripsToPassengers(Flux.just(
+                        new TripAssignment(passengerId, trip),
+                        new TripAssignment(otherPassengerId, invalidTrip),
+                        new TripAssignment(passengerId, secondTrip),
+                        new TripAssignment(missingPassengerId, secondTrip))))
+                .expectNextMatches(result -> result.getIndex() == 0 && result.getStatus() == BulkTripResult.Status.ADDED)
+                .expectNextMatches(result -> result.getIndex() == 1 && result.getStatus() == BulkTripResult.Status.REJECTED
+                        && result.getMessage().contains("Route not found for ID: missingRoute"))
+                .expectNextMatches(result -> result.getIndex() == 2 && result.getStatus() == BulkTripResult.Status.ADDED)
+                .expectNextMatches(result -> result.getIndex() == 3 && result.getStatus() == BulkTripResult.Status.NOT_FOUND)
+                .verifyComplete();
+
+        verify(passengerCommandRepository, times(1)).pushTrips(Map.of(passengerId, 3L),
+                Map.of(passengerId, List.of(trip, secondTrip)));
+        verify(routeService, times(1)).getRouteIndex(trip.getRouteId());
+        verify(passengerCommandRepository, never()).pushTrip(anyString(), any(Trip.class));
+    }
+
+    @Test
+    @DisplayName("Test addTripToPassenger - Overlapping Trip Is Rejected With a Conflict When Overlap Checks Are Enabled")
+    void testAddTripToPassenger_RejectsOverlapWhenEnabled() {
+        validationProperties.setCheckOverlaps(true);
+        trip.setStartTime(LocalDateTime.of(2024, 1, 1, 9, 0));
+        trip.setEndTime(LocalDateTime.of(2024, 1, 1, 9, 30));
+        when(routeService.getRouteIndex(trip.getRouteId())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(trip.getVehicleId())).thenReturn(Mono.just(new Vehicle()));
+        Trip storedTrip = Trip.builder().tripId("storedTrip").routeId(trip.getRouteId()).vehicleId(trip.getVehicleId())
+                .startTime(LocalDateTime.of(2024, 1, 1, 9, 15)).endTime(LocalDateTime.of(2024, 1, 1, 9, 45)).build();
+        passenger.setTrips(new ArrayList<>(List.of(storedTrip)));
+        when(passengerCommandRepository.pushNonOverlappingTrip(passengerId, trip)).thenReturn(Mono.empty());
+        when(passengerCommandRepository.findWithTrip(passengerId, tripId)).thenReturn(Mono.just(Passenger.builder().build()));
+        when(passengerCommandRepository.findTripTimes(passengerId)).thenReturn(Mono.just(passenger));
+
+        StepVerifier.create(passengerService.addTripToPassenger(passengerId, trip))
+                .expectErrorMatches(throwable -> throwable instanceof TripConflictException
+                        && throwable.getMessage().equals("Trip " + tripId + " overlaps trip storedTrip"))
+                .verify();
+
+        when(passengerCommandRepository.findWithTrip(passengerId, tripId)).thenReturn(Mono.empty());
+        StepVerifier.create(passengerService.addTripToPassenger(passengerId, trip))
+                .expectError(PassengerNotFoundException.class)
+                .verify();
+
+        verify(passengerCommandRepository, never()).pushTrip(anyString(), any(Trip.class));
+    }
+
+    @Test
+    @DisplayName("Test addTripToPassenger - Repeating the Same Trip Is an Idempotent No-Op")
+    void testAddTripToPassenger_RepeatedTripIsIgnored() {
+        when(routeService.getRouteIndex(trip.getRouteId())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(trip.getVehicleId())).thenReturn(Mono.just(new Vehicle()));
+        Trip storedTrip = Trip.builder().tripId(trip.getTripId()).routeId(trip.getRouteId()).vehicleId(trip.getVehicleId())
+                .startTime(trip.getStartTime()).endTime(trip.getEndTime()).startStop(trip.getStartStop()).endStop(trip.getEndStop())
+                .fare(trip.getFare()).build();
+        passenger.setTrips(new ArrayList<>(List.of(storedTrip)));
+        when(passengerCommandRepository.pushTrip(passengerId, trip)).thenReturn(Mono.empty());
+        when(passengerCommandRepository.findWithTrip(passengerId, tripId)).thenReturn(Mono.just(passenger));
+        when(passengerCommandRepository.findById(passengerId)).thenReturn(Mono.just(passenger));
+
+        StepVerifier.create(passengerService.addTripToPassenger(passengerId, trip))
+                .expectNext(passenger)
+                .verifyComplete();
+
+        assertThat(passenger.getTrips()).hasSize(1);
+        verify(passengerCommandRepository, never()).save(any(Passenger.class));
+        assertThat(meterRegistry.get("passengers.trips.duplicates").tag("outcome", "ignored").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test addTripToPassenger - Reusing a Trip ID for a Different Trip Is Rejected With a Conflict")
+    void testAddTripToPassenger_DuplicateTripIdIsRejected() {
+        when(routeService.getRouteIndex(trip.getRouteId())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(trip.getVehicleId())).thenReturn(Mono.just(new Vehicle()));
+        Trip storedTrip = Trip.builder().tripId(tripId).routeId(trip.getRouteId()).vehicleId(trip.getVehicleId()).fare(99.0).build();
+        passenger.setTrips(new ArrayList<>(List.of(storedTrip)));
+        when(passengerCommandRepository.pushTrip(passengerId, trip)).thenReturn(Mono.empty());
+        when(passengerCommandRepository.findWithTrip(passengerId, tripId)).thenReturn(Mono.just(passenger));
+
+        StepVerifier.create(passengerService.addTripToPassenger(passengerId, trip))
+                .expectErrorMatches(throwable -> throwable instanceof TripConflictException
+                        && throwable.getMessage().contains("already exists"))
+                .verify();
+
+        assertThat(meterRegistry.get("passengers.trips.duplicates").tag("outcome", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test addTripsToPassengers - Malformed Assignments Are Rejected Without Lookups")
+    void testAddTripsToPassengers_RejectsMalformedAssignments() {
+        Trip noRoute = Trip.builder().tripId("trip2").vehicleId(trip.getVehicleId()).build();
+        Trip halfTimed = Trip.builder().tripId("trip3").routeId(trip.getRouteId()).vehicleId(trip.getVehicleId())
+                .startTime(LocalDateTime.of(2024, 1, 1, 9, 0)).build();
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(new Vehicle()));
+        when(passengerCommandRepository.findTrips(anyCollection(), anyCollection())).thenReturn(Flux.just(storedTrips(passengerId, 0L)));
+        when(passengerCommandRepository.pushTrips(anyMap(), anyMap())).thenReturn(Mono.empty());
+
+        StepVerifier.create(passengerService.addTripsToPassengers(Flux.just(
+                        new TripAssignment(null, trip),
+                        new TripAssignment("not-an-id", trip),
+                        new TripAssignment(passengerId, null),
+                        new TripAssignment(passengerId, noRoute),
+                        new TripAssignment(passengerId, halfTimed),
+                        new TripAssignment(passengerId, trip))))
+                .expectNextMatches(result -> result.getStatus() == BulkTripResult.Status.REJECTED
+                        && result.getMessage().equals("Passenger ID is required"))
+                .expectNextMatches(result -> result.getStatus() == BulkTripResult.Status.REJECTED
+                        && result.getMessage().equals("Invalid passenger ID: not-an-id"))
+                .expectNextMatches(result -> result.getStatus() == BulkTripResult.Status.REJECTED
+                        && result.getTripId() == null && result.getMessage().equals("Trip is required"))
+                .expectNextMatches(result -> result.getStatus() == BulkTripResult.Status.REJECTED
+                        && result.getMessage().equals("Route ID is required for trip trip2"))
+                .expectNextMatches(result -> result.getStatus() == BulkTripResult.Status.REJECTED
+                        && result.getMessage().equals("Start and end times are required for trip trip3"))
+                .expectNextMatches(result -> result.getIndex() == 5 && result.getStatus() == BulkTripResult.Status.ADDED)
+                .verifyComplete();
+
+        verify(routeService, times(1)).getRouteIndex(anyString());
+        verify(vehicleService, times(1)).getVehicleById(anyString());
+        verify(passengerCommandRepository, times(1)).findTrips(Set.of(passengerId), Set.of(tripId));
+        verify(passengerCommandRepository, times(1)).pushTrips(Map.of(passengerId, 0L), Map.of(passengerId, List.of(trip)));
+    }
+
+    @Test
+    @DisplayName("Test addTripsToPassengers - A Trip ID Repeated for the Same Passenger in a Batch Is Rejected")
+    void testAddTripsToPassengers_RejectsDuplicatesInBatch() {
+        String otherPassengerId = new ObjectId().toHexString();
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(new Vehicle()));
+        when(passengerCommandRepository.findTrips(anyCollection(), anyCollection()))
+                .thenReturn(Flux.just(storedTrips(passengerId, 0L), storedTrips(otherPassengerId, 0L)));
+        when(passengerCommandRepository.pushTrips(anyMap(), anyMap())).thenReturn(Mono.empty());
+
+        StepVerifier.create(passengerService.addTripsToPassengers(Flux.just(
+                        new TripAssignment(passengerId, trip),
+                        new TripAssignment(passengerId, trip),
+                        new TripAssignment(otherPassengerId, trip))))
+                .expectNextMatches(result -> result.getIndex() == 0 && result.getStatus() == BulkTripResult.Status.ADDED)
+                .expectNextMatches(result -> result.getIndex() == 1 && result.getStatus() == BulkTripResult.Status.REJECTED
+                        && result.getMessage().contains("more than once"))
+                .expectNextMatches(result -> result.getIndex() == 2 && result.getStatus() == BulkTripResult.Status.ADDED)
+                .verifyComplete();
+
+        verify(passengerCommandRepository, times(1)).pushTrips(Map.of(passengerId, 0L, otherPassengerId, 0L),
+                Map.of(passengerId, List.of(trip), otherPassengerId, List.of(trip)));
+    }
+
+    @Test
+    @DisplayName("Test addTripsToPassengers - Trips Overlapping Earlier Trips of the Same Passenger in the Batch Are Rejected")
+    void testAddTripsToPassengers_RejectsOverlapsInBatch() {
+        validationProperties.setCheckOverlaps(true);
+        String otherPassengerId = new ObjectId().toHexString();
+        Trip morning = Trip.builder().tripId("trip1").routeId(trip.getRouteId()).vehicleId(trip.getVehicleId())
+                .startTime(LocalDateTime.of(2024, 1, 1, 9, 0)).endTime(LocalDateTime.of(2024, 1, 1, 10, 0)).build();
+        Trip overlapping = Trip.builder().tripId("trip2").routeId(trip.getRouteId()).vehicleId(trip.getVehicleId())
+                .startTime(LocalDateTime.of(2024, 1, 1, 9, 30)).endTime(LocalDateTime.of(2024, 1, 1, 10, 30)).build();
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(new Vehicle()));
+        when(passengerCommandRepository.findTrips(anyCollection(), anyCollection()))
+                .thenReturn(Flux.just(storedTrips(passengerId, 0L), storedTrips(otherPassengerId, 0L)));
+        when(passengerCommandRepository.pushTrips(anyMap(), anyMap())).thenReturn(Mono.empty());
+
+        StepVerifier.create(passengerService.addTripsToPassengers(Flux.just(
+                        new TripAssignment(passengerId, morning),
+                        new TripAssignment(passengerId, overlapping),
+                        new TripAssignment(otherPassengerId, overlapping))))
+                .expectNextMatches(result -> result.getIndex() == 0 && result.getStatus() == BulkTripResult.Status.ADDED)
+                .expectNextMatches(result -> result.getIndex() == 1 && result.getStatus() == BulkTripResult.Status.REJECTED
+                        && result.getMessage().equals("Trip trip2 overlaps trip trip1"))
+                .expectNextMatches(result -> result.getIndex() == 2 && result.getStatus() == BulkTripResult.Status.ADDED)
+                .verifyComplete();
+
+        verify(passengerCommandRepository, times(1)).pushTrips(Map.of(passengerId, 0L, otherPassengerId, 0L),
+                Map.of(passengerId, List.of(morning), otherPassengerId, List.of(overlapping)));
+    }
+
+    @Test
+    @DisplayName("Test addTripsToPassengers - A Retried Batch Reports Stored Trips as Duplicates Instead of Appending Them Again")
+    void testAddTripsToPassengers_ReportsStoredTripsAsDuplicates() {
+        Trip secondTrip = Trip.builder().tripId("trip2").routeId(trip.getRouteId()).vehicleId(trip.getVehicleId()).build();
+        Trip reusedId = Trip.builder().tripId("trip3").routeId(trip.getRouteId()).vehicleId(trip.getVehicleId()).build();
+        Passenger stored = storedTrips(passengerId, 7L);
+        stored.setTrips(new ArrayList<>(List.of(trip,
+                Trip.builder().tripId("trip3").routeId(trip.getRouteId()).vehicleId(trip.getVehicleId()).fare(99.0).build())));
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(new Vehicle()));
+        when(passengerCommandRepository.findTrips(anyCollection(), anyCollection())).thenReturn(Flux.just(stored));
+        when(passengerCommandRepository.pushTrips(anyMap(), anyMap())).thenReturn(Mono.empty());
+
+        StepVerifier.create(passengerService.addTripsToPassengers(Flux.just(
+                        new TripAssignment(passengerId, trip),
+                        new TripAssignment(passengerId, secondTrip),
+                        new TripAssignment(passengerId, reusedId))))
+                .expectNextMatches(result -> result.getIndex() == 0 && result.getStatus() == BulkTripResult.Status.DUPLICATE)
+                .expectNextMatches(result -> result.getIndex() == 1 && result.getStatus() == BulkTripResult.Status.ADDED)
+                .expectNextMatches(result -> result.getIndex() == 2 && result.getStatus() == BulkTripResult.Status.REJECTED
+                        && result.getMessage().contains("already exists"))
+                .verifyComplete();
+
+        verify(passengerCommandRepository, times(1)).pushTrips(Map.of(passengerId, 7L), Map.of(passengerId, List.of(secondTrip)));
+    }
+
+    @Test
+    @DisplayName("Test addTripsToPassengers - A Version Conflict Re-Reads the Chunk and Still Reports Its Own Pushes as Added")
+    void testAddTripsToPassengers_RetriesChunkOnConflict() {
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(new Vehicle()));
+        Passenger afterPush = storedTrips(passengerId, 2L);
+        afterPush.setTrips(new ArrayList<>(List.of(trip)));
+        when(passengerCommandRepository.findTrips(anyCollection(), anyCollection()))
+                .thenReturn(Flux.just(storedTrips(passengerId, 1L)))
+                .thenReturn(Flux.just(afterPush));
+        when(passengerCommandRepository.pushTrips(anyMap(), anyMap()))
+                .thenReturn(Mono.error(new OptimisticLockingFailureException("conflict")))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(passengerService.addTripsToPassengers(Flux.just(new TripAssignment(passengerId, trip))))
+                .expectNextMatches(result -> result.getStatus() == BulkTripResult.Status.ADDED)
+                .verifyComplete();
+
+        verify(passengerCommandRepository, times(2)).findTrips(anyCollection(), anyCollection());
+        assertThat(meterRegistry.get("passengers.commands.conflict-retries").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test addTripToPassenger - Oldest Trips Are Moved Into Buckets Once the Inline History Is Full")
+    void testAddTripToPassenger_ArchivesOldestTrips() {
+        commandProperties.getTripBuckets().setEnabled(true);
+        commandProperties.getTripBuckets().setInlineLimit(2);
+        commandProperties.getTripBuckets().setBucketSize(3);
+        when(routeService.getRouteIndex(trip.getRouteId())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(trip.getVehicleId())).thenReturn(Mono.just(new Vehicle()));
+        List<Trip> history = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            history.add(Trip.builder().tripId("old" + i).startTime(LocalDateTime.of(2023, 1, 1, 9, 0).plusDays(i)).build());
+        }
+        passenger.setTrips(history);
+        passenger.setVersion(5L);
+        Passenger pushed = Passenger.builder().name(passenger.getName()).trips(new ArrayList<>(List.of(trip))).version(5L).build();
+        when(passengerCommandRepository.pushTrip(passengerId, trip)).thenReturn(Mono.just(pushed));
+        when(passengerCommandRepository.hasMoreTripsThan(passengerId, 4)).thenReturn(Mono.just(true));
+        when(passengerCommandRepository.findById(passengerId)).thenReturn(Mono.just(passenger));
+        Passenger archived = Passenger.builder().name(passenger.getName())
+                .trips(new ArrayList<>(List.of(history.get(3), history.get(4), trip))).version(6L).build();
+        when(passengerCommandRepository.archiveTrips(eq(passengerId), eq(5L), anyList())).thenReturn(Mono.just(archived));
+
+        StepVerifier.create(passengerService.addTripToPassenger(passengerId, trip))
+                .expectNextMatches(result -> result == archived && result.getTrips().size() == 3 && result.getVersion() == 6L)
+                .verifyComplete();
+
+        verify(passengerCommandRepository, times(1)).archiveTrips(passengerId, 5L, List.of(history.subList(0, 3)));
+        assertThat(meterRegistry.get("passengers.trips.archived").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Test addTripToPassenger - Archiving Records Its Own Event So the Outbox Versions Have No Gaps")
+    void testAddTripToPassenger_ArchiveRecordsOutboxEvent() {
+        List<PassengerEvent> events = new ArrayList<>();
+        PassengerCommandServiceImpl outboxService = outboxService(events, passThroughTransactions());
+        commandProperties.getTripBuckets().setEnabled(true);
+        commandProperties.getTripBuckets().setInlineLimit(0);
+        commandProperties.getTripBuckets().setBucketSize(1);
+        when(routeService.getRouteIndex(trip.getRouteId())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(trip.getVehicleId())).thenReturn(Mono.just(new Vehicle()));
+        Trip oldest = Trip.builder().tripId("old").startTime(LocalDateTime.of(2023, 1, 1, 9, 0)).build();
+        Passenger stored = Passenger.builder().version(3L).trips(new ArrayList<>(List.of(oldest))).build();
+        when(passengerCommandRepository.pushTrip(passengerId, trip)).thenReturn(Mono.just(Passenger.builder().version(3L).build()));
+        when(passengerCommandRepository.hasMoreTripsThan(passengerId, 0)).thenReturn(Mono.just(true));
+        when(passengerCommandRepository.findById(passengerId)).thenReturn(Mono.just(stored));
+        when(passengerCommandRepository.archiveTrips(passengerId, 3L, List.of(List.of(oldest))))
+                .thenReturn(Mono.just(Passenger.builder().version(4L).build()));
+
+        StepVerifier.create(outboxService.addTripToPassenger(passengerId, trip))
+                .expectNextMatches(result -> result.getVersion() == 4L)
+                .verifyComplete();
+
+        assertThat(events).extracting(PassengerEvent::getType, PassengerEvent::getVersion)
+                .containsExactly(tuple(PassengerEvent.Type.TRIP_ADDED, 3L), tuple(PassengerEvent.Type.TRIPS_ARCHIVED, 4L));
+        assertThat(events.get(1).getPayload()).containsEntry("tripIds", List.of("old"));
+    }
+
+    @Test
+    @DisplayName("Test addTripToPassenger - Trip Buckets Enabled Skip the Full Read While the Inline History Has Room")
+    void testAddTripToPassenger_SkipsArchiveBelowLimit() {
+        commandProperties.getTripBuckets().setEnabled(true);
+        when(routeService.getRouteIndex(trip.getRouteId())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(trip.getVehicleId())).thenReturn(Mono.just(new Vehicle()));
+        when(passengerCommandRepository.pushTrip(passengerId, trip)).thenReturn(Mono.just(passenger));
+        when(passengerCommandRepository.hasMoreTripsThan(eq(passengerId), anyInt())).thenReturn(Mono.just(false));
+
+        StepVerifier.create(passengerService.addTripToPassenger(passengerId, trip))
+                .expectNext(passenger)
+                .verifyComplete();
+
+        verify(passengerCommandRepository, never()).findById(anyString());
+        verify(passengerCommandRepository, never()).archiveTrips(anyString(), any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Test removeTripFromPassenger - Archived Trip Is Removed From Its Bucket")
+    void testRemoveTripFromPassenger_RemovesArchivedTrip() {
+        commandProperties.getTripBuckets().setEnabled(true);
+        when(passengerCommandRepository.pullTrip(passengerId, tripId)).thenReturn(Mono.empty());
+        when(passengerCommandRepository.pullArchivedTrip(passengerId, tripId)).thenReturn(Mono.just(true));
+        when(passengerCommandRepository.incrementVersion(passengerId)).thenReturn(Mono.just(passenger));
+
+        StepVerifier.create(passengerService.removeTripFromPassenger(passengerId, tripId))
+                .expectNext(passenger)
+                .verifyComplete();
+
+        verify(passengerCommandRepository, never()).existsById(anyString());
+    }
+
+    @Test
+    @DisplayName("Test deletePassenger - Archived Trip Buckets Are Deleted With the Passenger")
+    void testDeletePassenger_DeletesArchivedTrips() {
+        commandProperties.getTripBuckets().setEnabled(true);
+        when(passengerCommandRepository.deletePassenger(passengerId)).thenReturn(Mono.just(passenger));
+        when(passengerCommandRepository.deleteArchivedTrips(passengerId)).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(passengerService.deletePassenger(passengerId))
+                .verifyComplete();
+
+        verify(passengerCommandRepository, times(1)).deleteArchivedTrips(passengerId);
+    }
+
+    @Test
+    @DisplayName("Test removeTripFromPassenger - Trip Removed Successfully")
+    void testRemoveTripFromPassenger_Success() {
+        when(passengerCommandRepository.pullTrip(passengerId, tripId)).thenReturn(Mono.just(passenger));
 
         Mono<Passenger> result = passengerService.removeTripFromPassenger(passengerId, tripId);
 
@@ -213,15 +1196,49 @@ class PassengerCommandServiceImplTests {
                 .expectNextMatches(passengerWithoutTrip -> passengerWithoutTrip.getTrips().isEmpty())
                 .verifyComplete();
 
-        verify(passengerCommandRepository, times(1)).findById(passengerId);
-        verify(passengerCommandRepository, times(1)).save(any(Passenger.class));
+        verify(passengerCommandRepository, times(1)).pullTrip(passengerId, tripId);
+        verify(passengerCommandRepository, never()).findById(anyString());
+        verify(passengerCommandRepository, never()).save(any(Passenger.class));
     }
 
     // Sad Path Tests
+    @Test
+    @DisplayName("Test addTripToPassenger - Unavailable Vehicle Service Accepts the Trip as Pending Validation When Configured")
+    void testAddTripToPassenger_AcceptsPendingWhenDependencyUnavailable() {
+        validationProperties.setUnavailableDependencies(UnavailableDependencyPolicy.ACCEPT_PENDING);
+        when(routeService.getRouteIndex(trip.getRouteId())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(trip.getVehicleId()))
+                .thenReturn(Mono.error(new DownstreamUnavailableException("vehicles circuit breaker is open")));
+        when(passengerCommandRepository.pushTrip(passengerId, trip)).thenReturn(Mono.just(passenger));
+
+        StepVerifier.create(passengerService.addTripToPassenger(passengerId, trip))
+                .expectNext(passenger)
+                .verifyComplete();
+
+        verify(passengerCommandRepository, times(1)).pushTrip(eq(passengerId), argThat(pushed -> Boolean.TRUE.equals(pushed.getPendingValidation())));
+    }
+
+    @Test
+    @DisplayName("Test addTripToPassenger - Unavailable Vehicle Service Rejects the Trip by Default")
+    void testAddTripToPassenger_RejectsWhenDependencyUnavailable() {
+        when(routeService.getRouteIndex(trip.getRouteId())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(trip.getVehicleId()))
+                .thenReturn(Mono.error(new DownstreamUnavailableException("vehicles circuit breaker is open")));
+
+        StepVerifier.create(passengerService.addTripToPassenger(passengerId, trip))
+                .expectError(DependencyUnavailableException.class)
+                .verify();
+
+        verify(passengerCommandRepository, never()).pushTrip(anyString(), any(Trip.class));
+    }
+
     @Test
     @DisplayName("Test addTripToPassenger - Passenger Not Found")
     void testAddTripToPassenger_PassengerNotFound() {
-        when(passengerCommandRepository.findById(passengerId)).thenReturn(Mono.empty());
+        when(routeService.getRouteIndex(trip.getRouteId())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(trip.getVehicleId())).thenReturn(Mono.just(new Vehicle()));
+        when(passengerCommandRepository.pushTrip(passengerId, trip)).thenReturn(Mono.empty());
+        when(passengerCommandRepository.findWithTrip(passengerId, tripId)).thenReturn(Mono.empty());
 
         Mono<Passenger> result = passengerService.addTripToPassenger(passengerId, trip);
 
@@ -229,16 +1246,15 @@ class PassengerCommandServiceImplTests {
                 .expectError(PassengerNotFoundException.class)
                 .verify();
 
-        verify(passengerCommandRepository, times(1)).findById(passengerId);
+        verify(passengerCommandRepository, times(1)).pushTrip(passengerId, trip);
         verify(passengerCommandRepository, never()).save(any(Passenger.class));
     }
 
     @Test
     @DisplayName("Test addTripToPassenger - Missing Route or Vehicle")
     void testAddTripToPassenger_MissingDependencies() {
-        when(routeService.getRouteById(trip.getRouteId())).thenReturn(Mono.empty());
+        when(routeService.getRouteIndex(trip.getRouteId())).thenReturn(Mono.empty());
         when(vehicleService.getVehicleById(trip.getVehicleId())).thenReturn(Mono.empty());
-        when(passengerCommandRepository.findById(passengerId)).thenReturn(Mono.just(passenger));
 
         Mono<Passenger> result = passengerService.addTripToPassenger(passengerId, trip);
 
@@ -246,9 +1262,72 @@ class PassengerCommandServiceImplTests {
                 .expectError(PassengerNotFoundException.class)
                 .verify();
 
-        verify(routeService, times(1)).getRouteById(trip.getRouteId());
+        verify(routeService, times(1)).getRouteIndex(trip.getRouteId());
         verify(vehicleService, times(1)).getVehicleById(trip.getVehicleId());
-        verify(passengerCommandRepository, times(1)).findById(passengerId);
+        verify(passengerCommandRepository, never()).pushTrip(anyString(), any(Trip.class));
         verify(passengerCommandRepository, never()).save(any(Passenger.class));
     }
+
+    @Test
+    @DisplayName("Test removeTripFromPassenger - Trip Not Found")
+    void testRemoveTripFromPassenger_TripNotFound() {
+        when(passengerCommandRepository.pullTrip(passengerId, tripId)).thenReturn(Mono.empty());
+        when(passengerCommandRepository.existsById(passengerId)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(passengerService.removeTripFromPassenger(passengerId, tripId))
+                .expectError(TripNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test removeTripFromPassenger - Passenger Not Found")
+    void testRemoveTripFromPassenger_PassengerNotFound() {
+        when(passengerCommandRepository.pullTrip(passengerId, tripId)).thenReturn(Mono.empty());
+        when(passengerCommandRepository.existsById(passengerId)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(passengerService.removeTripFromPassenger(passengerId, tripId))
+                .expectError(PassengerNotFoundException.class)
+                .verify();
+    }
+
+    private PassengerCommandServiceImpl outboxService(List<PassengerEvent> events, TransactionalOperator transactionalOperator) {
+        ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class);
+        when(mongoTemplate.insert(any(PassengerEvent.class))).thenAnswer(invocation -> {
+            PassengerEvent event = invocation.getArgument(0);
+            events.add(event);
+            return Mono.just(event);
+        });
+        when(mongoTemplate.insertAll(anyCollection())).thenAnswer(invocation -> {
+            List<PassengerEvent> batch = List.copyOf(invocation.getArgument(0));
+            events.addAll(batch);
+            return Flux.fromIterable(batch);
+        });
+        return new PassengerCommandServiceImpl(passengerCommandRepository, routeService, vehicleService, validationProperties,
+                commandProperties, StripedSerialExecutor.disabled(), new PassengerOutbox(mongoTemplate, transactionalOperator, 3),
+                meterRegistry);
+    }
+
+    private static Passenger storedTrips(String passengerId, long version) {
+        return Passenger.builder().id(new ObjectId(passengerId)).version(version).trips(new ArrayList<>()).build();
+    }
+
+    private static Answer<Mono<Passenger>> withFieldsApplied(Passenger stored) {
+        return invocation -> {
+            Passenger updated = PassengerMapper.copyOf(stored);
+            new BeanWrapperImpl(updated).setPropertyValues(invocation.<Map<String, Object>>getArgument(2));
+            Long expectedVersion = invocation.getArgument(1);
+            updated.setVersion(expectedVersion == null ? 1L : expectedVersion + 1);
+            return Mono.just(updated);
+        };
+    }
+
+    private static TransactionalOperator passThroughTransactions() {
+        TransactionalOperator transactionalOperator = mock(TransactionalOperator.class);
+        when(transactionalOperator.transactional(anyMono())).thenAnswer(invocation -> invocation.getArgument(0));
+        return transactionalOperator;
+    }
+
+    private static <T> Mono<T> anyMono() {
+        return any();
+    }
 }
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -73,4 +74,29 @@ class PassengerMapperTest {
         // Verify that ObjectId is not modified
         assertThat(targetPassenger.getId()).isEqualTo(new ObjectId("507f1f77bcf86cd799439011"));
     }
+
+    @Test
+    @DisplayName("Changed Fields - Should Report Only Fields That Differ From the Stored Passenger")
+    void changedFields_shouldReportOnlyDifferingFields() {
+        PassengerMapper.mapToExistingPassenger(sourcePassengerDTO, targetPassenger);
+        Passenger storedPassenger = PassengerMapper.copyOf(targetPassenger);
+        targetPassenger.setPhone("000-000-0000");
+
+        Map<String, Object> changedFields = PassengerMapper.changedFields(storedPassenger, targetPassenger);
+
+        assertThat(changedFields).containsOnlyKeys("phone");
+        assertThat(changedFields.get("phone")).isEqualTo("000-000-0000");
+    }
+
+    @Test
+    @DisplayName("Copy Of - Should Not Share Trips With the Original Passenger")
+    void copyOf_shouldDeepCopyTrips() {
+        PassengerMapper.mapToExistingPassenger(sourcePassengerDTO, targetPassenger);
+        Passenger copy = PassengerMapper.copyOf(targetPassenger);
+
+        targetPassenger.getTrips().get(0).setRouteId("route999");
+
+        assertThat(copy.getTrips().get(0).getRouteId()).isEqualTo("route456");
+        assertThat(PassengerMapper.changedFields(copy, targetPassenger)).containsOnlyKeys("trips");
+    }
 }
@@ -0,0 +1,131 @@
+package com.workshop.passenger.domain.model.valueobjects;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.workshop.passenger.domain.model.aggregates.Passenger;
+import com.workshop.passenger.domain.model.entities.Trip;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TripIndex Unit Tests")
+class TripIndexTest {
+
+    @Test
+    @DisplayName("Contains - Should Build the Index Lazily on First Lookup")
+    void contains_shouldBuildLazily() {
+        TripIndex index = new TripIndex();
+        List<Trip> trips = new ArrayList<>(List.of(trip("trip1"), trip("trip2")));
+
+        assertThat(index.isBuilt()).isFalse();
+        assertThat(index.contains(trips, "trip2")).isTrue();
+        assertThat(index.contains(trips, "trip3")).isFalse();
+        assertThat(index.isBuilt()).isTrue();
+        assertThat(index.positionOf(trips, "trip2")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Add - Should Keep an Existing Index Up to Date")
+    void add_shouldUpdateBuiltIndex() {
+        TripIndex index = new TripIndex();
+        List<Trip> trips = new ArrayList<>(List.of(trip("trip1")));
+        index.contains(trips, "trip1");
+
+        index.add(trips, trip("trip2"));
+
+        assertThat(index.isBuilt()).isTrue();
+        assertThat(index.positionOf(trips, "trip2")).isEqualTo(1);
+        assertThat(trips).extracting(Trip::getTripId).containsExactly("trip1", "trip2");
+    }
+
+    @Test
+    @DisplayName("Remove - Should Remove the Trip and Keep the Order of the Others")
+    void remove_shouldPreserveOrder() {
+        TripIndex index = new TripIndex();
+        List<Trip> trips = new ArrayList<>(List.of(trip("trip1"), trip("trip2"), trip("trip3")));
+
+        assertThat(index.remove(trips, "trip2")).isTrue();
+        assertThat(index.remove(trips, "trip2")).isFalse();
+
+        assertThat(trips).extracting(Trip::getTripId).containsExactly("trip1", "trip3");
+        assertThat(index.positionOf(trips, "trip3")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Remove - Should Remove Every Trip Sharing the Same ID")
+    void remove_shouldRemoveDuplicates() {
+        TripIndex index = new TripIndex();
+        List<Trip> trips = new ArrayList<>(List.of(trip("trip1"), trip("trip2"), trip("trip1")));
+
+        assertThat(index.remove(trips, "trip1")).isTrue();
+
+        assertThat(trips).extracting(Trip::getTripId).containsExactly("trip2");
+    }
+
+    @Test
+    @DisplayName("Position Of - Should Rebuild When the Trip List Is Replaced or Changed Directly")
+    void positionOf_shouldDetectOutsideChanges() {
+        TripIndex index = new TripIndex();
+        List<Trip> trips = new ArrayList<>(List.of(trip("trip1"), trip("trip2")));
+        index.contains(trips, "trip1");
+
+        trips.set(0, trip("trip9"));
+        assertThat(index.contains(trips, "trip1")).isFalse();
+        assertThat(index.positionOf(trips, "trip9")).isZero();
+
+        trips.add(trip("trip3"));
+        assertThat(index.positionOf(trips, "trip3")).isEqualTo(2);
+
+        List<Trip> replaced = new ArrayList<>(List.of(trip("trip4")));
+        assertThat(index.contains(replaced, "trip4")).isTrue();
+        assertThat(index.contains(replaced, "trip3")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Position Of - Should Find Trips Changed In Place Without a Size Change")
+    void positionOf_shouldFindTripsChangedInPlace() {
+        TripIndex index = new TripIndex();
+        List<Trip> trips = new ArrayList<>(List.of(trip("trip1"), trip("trip2")));
+        index.contains(trips, "trip1");
+
+        trips.set(1, trip("trip9"));
+        assertThat(index.positionOf(trips, "trip9")).isEqualTo(1);
+
+        trips.get(0).setTripId("trip8");
+        assertThat(index.contains(trips, "trip8")).isTrue();
+        assertThat(index.contains(trips, "trip1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Passenger - Should Find a Trip Replaced Through the Trip List")
+    void passenger_shouldFindReplacedTrip() {
+        Passenger passenger = Passenger.builder().trips(new ArrayList<>(List.of(trip("trip1")))).build();
+        assertThat(passenger.hasTrip("trip1")).isTrue();
+
+        passenger.getTrips().set(0, trip("trip2"));
+
+        assertThat(passenger.hasTrip("trip2")).isTrue();
+        assertThat(passenger.findTrip("trip2")).isSameAs(passenger.getTrips().get(0));
+        assertThat(passenger.hasTrip("trip1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Passenger - Should Not Expose the Index in Equality or JSON")
+    void passenger_shouldNotExposeIndex() throws Exception {
+        Passenger first = Passenger.builder().name("John Doe").trips(new ArrayList<>(List.of(trip("trip1")))).build();
+        Passenger second = Passenger.builder().name("John Doe").trips(new ArrayList<>(List.of(trip("trip1")))).build();
+
+        assertThat(first.hasTrip("trip1")).isTrue();
+        assertThat(first).isEqualTo(second);
+        assertThat(new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsString(first))
+                .doesNotContain("tripIndex");
+    }
+
+    private static Trip trip(String tripId) {
+        return Trip.builder().tripId(tripId).routeId("route1").vehicleId("vehicle1").build();
+    }
+}
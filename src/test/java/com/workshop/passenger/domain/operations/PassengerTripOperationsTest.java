@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -99,10 +100,59 @@ class PassengerTripOperationsTest {
         assertThat(PassengerTripOperations.hasTrip(passenger, trip1.getTripId())).isTrue();
     }
 
+    @Test
+    @DisplayName("Remove Trip - Should Report Whether a Trip Was Removed")
+    void removeTrip_shouldReportRemoval() {
+        // Arrange
+        PassengerTripOperations.addTrip(passenger, trip1);
+        PassengerTripOperations.addTrip(passenger, trip2);
+
+        // Act & Assert
+        assertThat(PassengerTripOperations.hasTrip(passenger, trip2.getTripId())).isTrue();
+        assertThat(PassengerTripOperations.removeTrip(passenger, trip2.getTripId())).isTrue();
+        assertThat(PassengerTripOperations.removeTrip(passenger, trip2.getTripId())).isFalse();
+        assertThat(PassengerTripOperations.hasTrip(passenger, trip2.getTripId())).isFalse();
+        assertThat(passenger.getTrips()).containsExactly(trip1);
+    }
+
+    @Test
+    @DisplayName("Has Trip - Should See Trips of a Replaced Trip List")
+    void hasTrip_shouldFollowReplacedTripList() {
+        // Arrange
+        passenger.getTrips().add(trip1);
+        assertThat(PassengerTripOperations.hasTrip(passenger, trip1.getTripId())).isTrue();
+
+        // Act
+        passenger.setTrips(new ArrayList<>(List.of(trip2)));
+
+        // Assert
+        assertThat(PassengerTripOperations.hasTrip(passenger, trip1.getTripId())).isFalse();
+        assertThat(PassengerTripOperations.hasTrip(passenger, trip2.getTripId())).isTrue();
+    }
+
     @Test
     @DisplayName("Has Trip - Should Return False if Trip Does Not Exist in Passenger's Trip List")
     void hasTrip_shouldReturnFalseIfTripDoesNotExist() {
         // Act & Assert
         assertThat(PassengerTripOperations.hasTrip(passenger, "nonexistentTripId")).isFalse();
     }
+
+    @Test
+    @DisplayName("Oldest Trip Buckets - Should Split the Oldest Trips Into Full Buckets and Keep the Rest Inline")
+    void oldestTripBuckets_shouldSplitOldestTrips() {
+        // Arrange
+        List<Trip> trips = new ArrayList<>();
+        for (int i = 9; i >= 0; i--) {
+            trips.add(Trip.builder().tripId("trip" + i).startTime(LocalDateTime.of(2024, 1, 1, 0, 0).plusDays(i)).build());
+        }
+
+        // Act
+        List<List<Trip>> buckets = PassengerTripOperations.oldestTripBuckets(trips, 3, 3);
+
+        // Assert
+        assertThat(buckets).hasSize(2);
+        assertThat(buckets.get(0)).extracting(Trip::getTripId).containsExactly("trip0", "trip1", "trip2");
+        assertThat(buckets.get(1)).extracting(Trip::getTripId).containsExactly("trip3", "trip4", "trip5");
+        assertThat(PassengerTripOperations.oldestTripBuckets(trips.subList(0, 5), 3, 3)).isEmpty();
+    }
 }
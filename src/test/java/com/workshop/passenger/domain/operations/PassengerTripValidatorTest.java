@@ -1,6 +1,9 @@
 package com.workshop.passenger.domain.operations;
 
+import com.workshop.passenger.domain.exception.DependencyUnavailableException;
+import com.workshop.passenger.domain.exception.InvalidTripException;
 import com.workshop.passenger.domain.exception.PassengerNotFoundException;
+import com.workshop.passenger.domain.exception.TripConflictException;
 import com.workshop.passenger.domain.exception.TripNotFoundException;
 import com.workshop.passenger.domain.model.aggregates.Passenger;
 import com.workshop.passenger.domain.model.entities.Trip;
@@ -8,6 +11,7 @@ import com.workshop.passenger.infraestructure.Route.model.aggregates.Route;
 import com.workshop.passenger.infraestructure.Route.model.entities.Schedule;
 import com.workshop.passenger.infraestructure.Route.model.entities.Stop;
 import com.workshop.passenger.infraestructure.Route.model.valueobjects.Coordinates;
+import com.workshop.passenger.infraestructure.Route.model.valueobjects.RouteIndex;
 import com.workshop.passenger.infraestructure.Route.model.valueobjects.WeekSchedule;
 import com.workshop.passenger.infraestructure.Route.service.RouteService;
 import com.workshop.passenger.infraestructure.Vehicle.model.aggregates.Vehicle;
@@ -17,6 +21,7 @@ import com.workshop.passenger.infraestructure.Vehicle.model.valueobjects.Mainten
 import com.workshop.passenger.infraestructure.Vehicle.model.valueobjects.enums.VehicleStatus;
 import com.workshop.passenger.infraestructure.Vehicle.model.valueobjects.enums.VehicleType;
 import com.workshop.passenger.infraestructure.Vehicle.service.VehicleService;
+import com.workshop.passenger.infraestructure.client.DownstreamUnavailableException;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -26,12 +31,18 @@ import org.mockito.MockitoAnnotations;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class PassengerTripValidatorTest {
@@ -123,41 +134,337 @@ class PassengerTripValidatorTest {
     @Test
     @DisplayName("Test validateTripsInPassenger - Valid Dependencies")
     void testValidateTripsInPassenger_Success() {
-        when(routeService.getRouteById(anyString())).thenReturn(Mono.just(route));
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
         when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(vehicle));
 
-        StepVerifier.create(PassengerTripValidator.validateTripsInPassenger(passenger, routeService, vehicleService))
+        StepVerifier.create(PassengerTripValidator.validateTripsInPassenger(passenger, routeService, vehicleService, TripValidationRules.defaults()))
                 .verifyComplete();
     }
 
     @Test
     @DisplayName("Test validateTripsInPassenger - Missing Route or Vehicle")
     void testValidateTripsInPassenger_MissingDependencies() {
-        when(routeService.getRouteById(anyString())).thenReturn(Mono.empty());
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.empty());
         when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.empty());
 
-        StepVerifier.create(PassengerTripValidator.validateTripsInPassenger(passenger, routeService, vehicleService))
+        StepVerifier.create(PassengerTripValidator.validateTripsInPassenger(passenger, routeService, vehicleService, TripValidationRules.defaults()))
                 .expectError(PassengerNotFoundException.class)
                 .verify();
     }
 
+    @Test
+    @DisplayName("Test validateTripsInPassenger - Shared Routes and Vehicles Are Resolved Once")
+    void testValidateTripsInPassenger_DeduplicatesLookups() {
+        passenger.setTrips(new ArrayList<>(List.of(
+                tripOn("trip1", "route123", "vehicle123"),
+                tripOn("trip2", "route123", "vehicle456"),
+                tripOn("trip3", "route123", "vehicle123"))));
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(vehicle));
+
+        StepVerifier.create(PassengerTripValidator.validateTripsInPassenger(passenger, routeService, vehicleService, TripValidationRules.defaults()))
+                .verifyComplete();
+
+        verify(routeService, times(1)).getRouteIndex("route123");
+        verify(vehicleService, times(1)).getVehicleById("vehicle123");
+        verify(vehicleService, times(1)).getVehicleById("vehicle456");
+    }
+
+    @Test
+    @DisplayName("Test validateTripsInPassenger - Missing Vehicle Is Reported for the Trip Using It")
+    void testValidateTripsInPassenger_MapsMissingVehicleToTrip() {
+        passenger.setTrips(new ArrayList<>(List.of(
+                tripOn("trip1", "route123", "vehicle123"),
+                tripOn("trip2", "route123", "vehicle456"))));
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById("vehicle123")).thenReturn(Mono.just(vehicle));
+        when(vehicleService.getVehicleById("vehicle456")).thenReturn(Mono.empty());
+
+        StepVerifier.create(PassengerTripValidator.validateTripsInPassenger(passenger, routeService, vehicleService, TripValidationRules.defaults()))
+                .expectErrorMatches(throwable -> throwable instanceof PassengerNotFoundException &&
+                        throwable.getMessage().contains("Vehicle not found for ID: vehicle456"))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test validateTripsInPassengers - Lookups Are Shared Across Passengers and Rejections Are Per Passenger")
+    void testValidateTripsInPassengers_SharesLookupsAcrossChunk() {
+        Passenger second = Passenger.builder()
+                .name("Jane Doe")
+                .trips(new ArrayList<>(List.of(tripOn("trip2", "route123", "vehicle456"))))
+                .build();
+        Passenger third = Passenger.builder()
+                .name("Jim Doe")
+                .trips(new ArrayList<>(List.of(tripOn("trip3", "route123", "vehicle123"))))
+                .build();
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById("vehicle123")).thenReturn(Mono.just(vehicle));
+        when(vehicleService.getVehicleById("vehicle456")).thenReturn(Mono.empty());
+
+        StepVerifier.create(PassengerTripValidator.validateTripsInPassengers(List.of(passenger, second, third),
+                        routeService, vehicleService, withConcurrency(4)))
+                .assertNext(rejections -> {
+                    assertThat(rejections).containsOnlyKeys(1);
+                    assertThat(rejections.get(1)).hasMessageContaining("Vehicle not found for ID: vehicle456");
+                })
+                .verifyComplete();
+
+        verify(routeService, times(1)).getRouteIndex("route123");
+        verify(vehicleService, times(1)).getVehicleById("vehicle123");
+    }
+
+    @Test
+    @DisplayName("Test validateEachTrip - Only Trips With Missing Dependencies Are Rejected")
+    void testValidateEachTrip_RejectsPerTrip() {
+        when(routeService.getRouteIndex("route123")).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(routeService.getRouteIndex("route999")).thenReturn(Mono.empty());
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(vehicle));
+
+        StepVerifier.create(PassengerTripValidator.validateEachTrip(List.of(
+                        tripOn("trip1", "route123", "vehicle123"),
+                        tripOn("trip2", "route999", "vehicle123"),
+                        tripOn("trip3", "route123", "vehicle123")), routeService, vehicleService, withConcurrency(4)))
+                .assertNext(rejections -> {
+                    assertThat(rejections).containsOnlyKeys(1);
+                    assertThat(rejections.get(1)).hasMessageContaining("Route not found for ID: route999");
+                })
+                .verifyComplete();
+
+        verify(vehicleService, times(1)).getVehicleById("vehicle123");
+    }
+
+    @Test
+    @DisplayName("Test validateTripsInPassenger - Unavailable Dependency Is Rejected Under the Reject Policy")
+    void testValidateTripsInPassenger_UnavailableRejected() {
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.error(new DownstreamUnavailableException("routes circuit breaker is open")));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(vehicle));
+
+        StepVerifier.create(PassengerTripValidator.validateTripsInPassenger(passenger, routeService, vehicleService,
+                        withPolicy(UnavailableDependencyPolicy.REJECT)))
+                .expectErrorMatches(throwable -> throwable instanceof DependencyUnavailableException &&
+                        throwable.getMessage().contains("route123"))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test validateTripsInPassenger - Unavailable Dependency Marks the Trip Pending Under the Accept Policy")
+    void testValidateTripsInPassenger_UnavailableAcceptedPending() {
+        Trip validTrip = tripOn("trip2", "route123", "vehicle456");
+        validTrip.setPendingValidation(true);
+        passenger.setTrips(new ArrayList<>(List.of(tripOn("trip1", "route123", "vehicle123"), validTrip)));
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById("vehicle123")).thenReturn(Mono.error(new DownstreamUnavailableException("vehicles bulkhead is full")));
+        when(vehicleService.getVehicleById("vehicle456")).thenReturn(Mono.just(vehicle));
+
+        StepVerifier.create(PassengerTripValidator.validateTripsInPassenger(passenger, routeService, vehicleService,
+                        withPolicy(UnavailableDependencyPolicy.ACCEPT_PENDING)))
+                .verifyComplete();
+
+        assertThat(passenger.getTrips().get(0).getPendingValidation()).isTrue();
+        assertThat(passenger.getTrips().get(1).getPendingValidation()).isNull();
+    }
+
+    @Test
+    @DisplayName("Test validateTripDependencies - Stops Are Checked Against the Route Index When Enabled")
+    void testValidateTripDependencies_ChecksStops() {
+        Route twoStopRoute = Route.builder()
+                .routeId(new ObjectId("64f10c9e89d45e1a2b63e2bd"))
+                .stops(List.of(
+                        Stop.builder().stopId("stop1").stopName("A").build(),
+                        Stop.builder().stopId("stop2").stopName("B").build()))
+                .build();
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(twoStopRoute)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(vehicle));
+        TripValidationRules rules = TripValidationRules.defaults().toBuilder().checkStops(true).build();
+
+        StepVerifier.create(PassengerTripValidator.validateTripDependencies(trip, routeService, vehicleService, rules))
+                .verifyComplete();
+
+        trip.setStartStop("B");
+        trip.setEndStop("A");
+        StepVerifier.create(PassengerTripValidator.validateTripDependencies(trip, routeService, vehicleService, rules))
+                .expectErrorMatches(throwable -> throwable instanceof InvalidTripException
+                        && throwable.getMessage().contains("does not come after"))
+                .verify();
+
+        trip.setEndStop("Z");
+        StepVerifier.create(PassengerTripValidator.validateTripDependencies(trip, routeService, vehicleService, rules))
+                .expectErrorMatches(throwable -> throwable instanceof InvalidTripException
+                        && throwable.getMessage().contains("Stop Z is not on route"))
+                .verify();
+
+        StepVerifier.create(PassengerTripValidator.validateTripDependencies(trip, routeService, vehicleService, TripValidationRules.defaults()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test validateTripDependencies - Trip Times Are Checked Against the Route Schedule When Enabled")
+    void testValidateTripDependencies_ChecksSchedule() {
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(vehicle));
+        TripValidationRules rules = TripValidationRules.defaults().toBuilder().checkSchedule(true).build();
+
+        StepVerifier.create(PassengerTripValidator.validateTripDependencies(trip, routeService, vehicleService, rules))
+                .verifyComplete();
+
+        trip.setStartTime(LocalDateTime.of(2024, 1, 1, 23, 0));
+        trip.setEndTime(LocalDateTime.of(2024, 1, 1, 23, 30));
+        StepVerifier.create(PassengerTripValidator.validateTripDependencies(trip, routeService, vehicleService, rules))
+                .expectErrorMatches(throwable -> throwable instanceof InvalidTripException
+                        && throwable.getMessage().contains("has no departure at"))
+                .verify();
+
+        trip.setStartTime(LocalDateTime.of(2024, 1, 1, 9, 0));
+        trip.setEndTime(LocalDateTime.of(2024, 1, 1, 9, 45));
+        StepVerifier.create(PassengerTripValidator.validateTripDependencies(trip, routeService, vehicleService, rules))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test validateTripsInPassenger - Overlapping Trips Are Rejected Before Any Lookup When Enabled")
+    void testValidateTripsInPassenger_RejectsOverlaps() {
+        Trip first = timedTrip("trip1", LocalDateTime.of(2024, 1, 1, 9, 0), LocalDateTime.of(2024, 1, 1, 10, 0));
+        Trip second = timedTrip("trip2", LocalDateTime.of(2024, 1, 1, 9, 30), LocalDateTime.of(2024, 1, 1, 10, 30));
+        passenger.setTrips(new ArrayList<>(List.of(first, second)));
+        TripValidationRules rules = TripValidationRules.defaults().toBuilder().checkOverlaps(true).build();
+
+        StepVerifier.create(PassengerTripValidator.validateTripsInPassenger(passenger, routeService, vehicleService, rules))
+                .expectErrorMatches(throwable -> throwable instanceof TripConflictException
+                        && throwable.getMessage().equals("Trip trip2 overlaps trip trip1"))
+                .verify();
+        verify(routeService, times(0)).getRouteIndex(anyString());
+
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(vehicle));
+        second.setStartTime(LocalDateTime.of(2024, 1, 1, 10, 0));
+        StepVerifier.create(PassengerTripValidator.validateTripsInPassenger(passenger, routeService, vehicleService, rules))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test validateChangedTrips - Only Trips With Changed Times Are Reported as Overlapping")
+    void testValidateChangedTrips_RejectsChangedOverlaps() {
+        Trip first = timedTrip("trip1", LocalDateTime.of(2024, 1, 1, 9, 0), LocalDateTime.of(2024, 1, 1, 10, 0));
+        Trip second = timedTrip("trip2", LocalDateTime.of(2024, 1, 1, 11, 0), LocalDateTime.of(2024, 1, 1, 12, 0));
+        Trip moved = timedTrip("trip2", LocalDateTime.of(2024, 1, 1, 9, 45), LocalDateTime.of(2024, 1, 1, 12, 0));
+        List<Trip> previousTrips = List.of(first, second);
+        passenger.setTrips(new ArrayList<>(List.of(first, moved)));
+        TripValidationRules rules = TripValidationRules.defaults().toBuilder().checkOverlaps(true).build();
+
+        StepVerifier.create(PassengerTripValidator.validateChangedTrips(previousTrips, passenger, routeService, vehicleService, rules))
+                .expectErrorMatches(throwable -> throwable instanceof TripConflictException
+                        && throwable.getMessage().equals("Trip trip2 overlaps trip trip1"))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test validateTripsInPassenger - Lookups Respect the Concurrency Limit")
+    void testValidateTripsInPassenger_RespectsConcurrency() {
+        List<Trip> trips = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            trips.add(tripOn("trip" + i, "route" + i, "vehicle" + i));
+        }
+        passenger.setTrips(trips);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        when(routeService.getRouteIndex(anyString())).thenAnswer(invocation -> tracked(Mono.just(RouteIndex.of(route)), active, maxActive));
+        when(vehicleService.getVehicleById(anyString())).thenAnswer(invocation -> tracked(Mono.just(vehicle), active, maxActive));
+
+        StepVerifier.create(PassengerTripValidator.validateTripsInPassenger(passenger, routeService, vehicleService, withConcurrency(3)))
+                .verifyComplete();
+
+        assertThat(maxActive.get()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Test validateChangedTrips - Unchanged Trips Are Not Revalidated")
+    void testValidateChangedTrips_SkipsUnchangedTrips() {
+        Trip movedTrip = tripOn(tripId, "route999", "vehicle123");
+        Trip addedTrip = tripOn("trip2", "route123", "vehicle456");
+        List<Trip> previousTrips = List.of(trip, tripOn("trip3", "route123", "vehicle123"));
+        passenger.setTrips(new ArrayList<>(List.of(movedTrip, addedTrip, tripOn("trip3", "route123", "vehicle123"))));
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(vehicle));
+
+        StepVerifier.create(PassengerTripValidator.validateChangedTrips(previousTrips, passenger, routeService, vehicleService, withConcurrency(4)))
+                .verifyComplete();
+
+        verify(routeService, times(1)).getRouteIndex("route999");
+        verify(routeService, times(1)).getRouteIndex("route123");
+        verify(vehicleService, times(1)).getVehicleById("vehicle123");
+        verify(vehicleService, times(1)).getVehicleById("vehicle456");
+    }
+
+    @Test
+    @DisplayName("Test validateChangedTrips - Pending Trips Are Revalidated and Cleared")
+    void testValidateChangedTrips_RevalidatesPendingTrips() {
+        Trip pendingTrip = tripOn(tripId, "route123", "vehicle123");
+        pendingTrip.setPendingValidation(true);
+        Trip resubmitted = tripOn(tripId, "route123", "vehicle123");
+        resubmitted.setPendingValidation(true);
+        passenger.setTrips(new ArrayList<>(List.of(resubmitted)));
+        when(routeService.getRouteIndex(anyString())).thenReturn(Mono.just(RouteIndex.of(route)));
+        when(vehicleService.getVehicleById(anyString())).thenReturn(Mono.just(vehicle));
+
+        StepVerifier.create(PassengerTripValidator.validateChangedTrips(List.of(pendingTrip), passenger, routeService, vehicleService,
+                        TripValidationRules.defaults()))
+                .verifyComplete();
+
+        assertThat(resubmitted.getPendingValidation()).isNull();
+        verify(routeService, times(1)).getRouteIndex("route123");
+    }
+
+    @Test
+    @DisplayName("Test recordError - Complete Trip Has No Error")
+    void testRecordError_Valid() {
+        assertThat(PassengerTripValidator.recordError(trip, TripValidationRules.defaults())).isNull();
+    }
+
+    @Test
+    @DisplayName("Test recordError - Missing Identifiers and Inconsistent Times Are Reported")
+    void testRecordError_InvalidTrip() {
+        TripValidationRules rules = TripValidationRules.defaults();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+        assertThat(PassengerTripValidator.recordError(null, rules)).isInstanceOf(InvalidTripException.class).hasMessage("Trip is required");
+        assertThat(PassengerTripValidator.recordError(Trip.builder().routeId("route123").vehicleId("vehicle123").build(), rules))
+                .hasMessage("Trip ID is required");
+        assertThat(PassengerTripValidator.recordError(timedTrip(tripId, start, null), rules))
+                .hasMessage("Start and end times are required for trip " + tripId);
+        assertThat(PassengerTripValidator.recordError(timedTrip(tripId, start, start.minusHours(1)), rules))
+                .hasMessage("Trip " + tripId + " ends before it starts");
+    }
+
+    @Test
+    @DisplayName("Test recordError - Enabled Rules Require the Fields They Check")
+    void testRecordError_RulesRequireFields() {
+        Trip untimed = tripOn(tripId, "route123", "vehicle123");
+        untimed.setStartStop(null);
+
+        assertThat(PassengerTripValidator.recordError(untimed, TripValidationRules.defaults())).isNull();
+        assertThat(PassengerTripValidator.recordError(untimed, TripValidationRules.defaults().toBuilder().checkStops(true).build()))
+                .hasMessage("Start and end stops are required for trip " + tripId);
+        assertThat(PassengerTripValidator.recordError(untimed, TripValidationRules.defaults().toBuilder().checkSchedule(true).build()))
+                .hasMessage("Start and end times are required for trip " + tripId);
+    }
+
     @Test
     @DisplayName("Test validateTripDependencies - Valid Dependencies")
     void testValidateTripDependencies_Success() {
-        when(routeService.getRouteById(trip.getRouteId())).thenReturn(Mono.just(route));
+        when(routeService.getRouteIndex(trip.getRouteId())).thenReturn(Mono.just(RouteIndex.of(route)));
         when(vehicleService.getVehicleById(trip.getVehicleId())).thenReturn(Mono.just(vehicle));
 
-        StepVerifier.create(PassengerTripValidator.validateTripDependencies(trip, routeService, vehicleService))
+        StepVerifier.create(PassengerTripValidator.validateTripDependencies(trip, routeService, vehicleService, TripValidationRules.defaults()))
                 .verifyComplete();
     }
 
     @Test
     @DisplayName("Test validateTripDependencies - Missing Route or Vehicle")
     void testValidateTripDependencies_MissingDependencies() {
-        when(routeService.getRouteById(trip.getRouteId())).thenReturn(Mono.empty());
+        when(routeService.getRouteIndex(trip.getRouteId())).thenReturn(Mono.empty());
         when(vehicleService.getVehicleById(trip.getVehicleId())).thenReturn(Mono.empty());
 
-        StepVerifier.create(PassengerTripValidator.validateTripDependencies(trip, routeService, vehicleService))
+        StepVerifier.create(PassengerTripValidator.validateTripDependencies(trip, routeService, vehicleService, TripValidationRules.defaults()))
                 .expectError(PassengerNotFoundException.class)
                 .verify();
     }
@@ -182,4 +489,36 @@ class PassengerTripValidatorTest {
                 .expectNextMatches(trips -> trips.contains(trip))
                 .verifyComplete();
     }
+
+    private Trip timedTrip(String tripId, LocalDateTime startTime, LocalDateTime endTime) {
+        Trip timedTrip = tripOn(tripId, "route123", "vehicle123");
+        timedTrip.setStartTime(startTime);
+        timedTrip.setEndTime(endTime);
+        return timedTrip;
+    }
+
+    private Trip tripOn(String tripId, String routeId, String vehicleId) {
+        return Trip.builder()
+                .tripId(tripId)
+                .routeId(routeId)
+                .vehicleId(vehicleId)
+                .startStop("A")
+                .endStop("B")
+                .fare(10.0)
+                .build();
+    }
+
+    private static TripValidationRules withConcurrency(int concurrency) {
+        return TripValidationRules.defaults().toBuilder().concurrency(concurrency).build();
+    }
+
+    private static TripValidationRules withPolicy(UnavailableDependencyPolicy policy) {
+        return TripValidationRules.defaults().toBuilder().unavailableDependencies(policy).build();
+    }
+
+    private <T> Mono<T> tracked(Mono<T> result, AtomicInteger active, AtomicInteger maxActive) {
+        return result.delayElement(Duration.ofMillis(20))
+                .doOnSubscribe(subscription -> maxActive.accumulateAndGet(active.incrementAndGet(), Math::max))
+                .doOnNext(value -> active.decrementAndGet());
+    }
 }
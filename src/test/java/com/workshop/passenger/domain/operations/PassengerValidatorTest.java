@@ -1,7 +1,10 @@
 package com.workshop.passenger.domain.operations;
 
+import com.workshop.passenger.domain.exception.InvalidPassengerException;
+import com.workshop.passenger.domain.exception.InvalidTripException;
 import com.workshop.passenger.domain.exception.PassengerNotFoundException;
 import com.workshop.passenger.domain.model.aggregates.Passenger;
+import com.workshop.passenger.domain.model.entities.Trip;
 import com.workshop.passenger.domain.repository.PassengerCommandRepository;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +15,9 @@ import org.mockito.MockitoAnnotations;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
@@ -56,4 +62,67 @@ class PassengerValidatorTest {
                 .expectErrorMatches(throwable -> throwable instanceof PassengerNotFoundException)
                 .verify();
     }
+
+    @Test
+    @DisplayName("Test findPassengerProfile - Passenger Not Found")
+    void testFindPassengerProfile_NotFound() {
+        when(passengerCommandRepository.findProfile(anyString())).thenReturn(Mono.empty());
+
+        StepVerifier.create(PassengerValidator.findPassengerProfile(passengerCommandRepository, passengerId))
+                .expectErrorMatches(throwable -> throwable instanceof PassengerNotFoundException)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test findPassengerWithTrip - Passenger Found Successfully")
+    void testFindPassengerWithTrip_Success() {
+        when(passengerCommandRepository.findWithTrip(passengerId, "trip123")).thenReturn(Mono.just(passenger));
+
+        StepVerifier.create(PassengerValidator.findPassengerWithTrip(passengerCommandRepository, passengerId, "trip123"))
+                .expectNext(passenger)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test deletePassengerById - Passenger Not Found When Nothing Was Deleted")
+    void testDeletePassengerById_NotFound() {
+        when(passengerCommandRepository.deletePassenger(passengerId)).thenReturn(Mono.just(passenger)).thenReturn(Mono.empty());
+
+        StepVerifier.create(PassengerValidator.deletePassengerById(passengerCommandRepository, passengerId))
+                .expectNext(passenger)
+                .verifyComplete();
+        StepVerifier.create(PassengerValidator.deletePassengerById(passengerCommandRepository, passengerId))
+                .expectErrorMatches(throwable -> throwable instanceof PassengerNotFoundException)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test recordError - Complete Passenger Has No Error")
+    void testRecordError_Valid() {
+        assertThat(PassengerValidator.recordError(passenger, TripValidationRules.defaults())).isNull();
+    }
+
+    @Test
+    @DisplayName("Test recordError - Missing or Malformed Fields Are Reported")
+    void testRecordError_InvalidFields() {
+        passenger.setPhone(null);
+        assertThat(PassengerValidator.recordError(passenger, TripValidationRules.defaults()))
+                .isInstanceOf(InvalidPassengerException.class)
+                .hasMessage("Phone number is required");
+
+        passenger.setPhone("123-456-7890");
+        passenger.setEmail("john.doe at example.com");
+        assertThat(PassengerValidator.recordError(passenger, TripValidationRules.defaults()))
+                .hasMessage("Invalid email format: john.doe at example.com");
+    }
+
+    @Test
+    @DisplayName("Test recordError - The First Malformed Trip Is Reported")
+    void testRecordError_InvalidTrip() {
+        passenger.setTrips(List.of(Trip.builder().tripId("trip1").routeId("route1").build()));
+
+        assertThat(PassengerValidator.recordError(passenger, TripValidationRules.defaults()))
+                .isInstanceOf(InvalidTripException.class)
+                .hasMessage("Vehicle ID is required for trip trip1");
+    }
 }
@@ -0,0 +1,140 @@
+package com.workshop.passenger.domain.operations;
+
+import com.workshop.passenger.domain.model.entities.Trip;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TripOverlapIndex Unit Tests")
+class TripOverlapIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    @DisplayName("Add - Should Return the Conflicting Trip and Not Index It")
+    void add_shouldReturnConflictingTrip() {
+        TripOverlapIndex index = new TripOverlapIndex();
+        Trip first = trip("trip1", 9 * 60, 10 * 60);
+        Trip overlapping = trip("trip2", 9 * 60 + 30, 11 * 60);
+
+        assertThat(index.add(first)).isNull();
+        assertThat(index.add(overlapping)).isSameAs(first);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Add - Should Accept Trips That Only Touch at Their Boundaries")
+    void add_shouldAcceptAdjacentTrips() {
+        TripOverlapIndex index = new TripOverlapIndex();
+
+        assertThat(index.add(trip("trip1", 9 * 60, 10 * 60))).isNull();
+        assertThat(index.add(trip("trip2", 10 * 60, 11 * 60))).isNull();
+        assertThat(index.add(trip("trip3", 8 * 60, 9 * 60))).isNull();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Find Overlap - Should Detect Trips Starting Before, After or at the Same Time")
+    void findOverlap_shouldCheckBothNeighbours() {
+        TripOverlapIndex index = new TripOverlapIndex();
+        Trip morning = trip("trip1", 9 * 60, 10 * 60);
+        Trip noon = trip("trip2", 12 * 60, 13 * 60);
+        index.add(morning);
+        index.add(noon);
+
+        assertThat(index.findOverlap(trip("trip3", 9 * 60 + 59, 11 * 60))).isSameAs(morning);
+        assertThat(index.findOverlap(trip("trip4", 11 * 60, 12 * 60 + 1))).isSameAs(noon);
+        assertThat(index.findOverlap(trip("trip5", 12 * 60, 12 * 60))).isSameAs(noon);
+        assertThat(index.findOverlap(trip("trip6", 8 * 60, 14 * 60))).isNotNull();
+        assertThat(index.findOverlap(trip("trip7", 10 * 60, 12 * 60))).isNull();
+    }
+
+    @Test
+    @DisplayName("Add - Should Ignore Trips Without Valid Times")
+    void add_shouldIgnoreUntimedTrips() {
+        TripOverlapIndex index = new TripOverlapIndex();
+        Trip untimed = Trip.builder().tripId("trip1").build();
+        Trip backwards = trip("trip2", 10 * 60, 9 * 60);
+
+        assertThat(index.add(untimed)).isNull();
+        assertThat(index.add(backwards)).isNull();
+        assertThat(index.size()).isZero();
+        assertThat(TripOverlapIndex.isTimed(untimed)).isFalse();
+        assertThat(TripOverlapIndex.isTimed(backwards)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Find First Overlap - Should Report the Later Trip and the Trip It Conflicts With")
+    void findFirstOverlap_shouldReportPair() {
+        Trip first = trip("trip1", 9 * 60, 10 * 60);
+        Trip second = trip("trip2", 11 * 60, 12 * 60);
+        Trip third = trip("trip3", 11 * 60 + 30, 12 * 60 + 30);
+
+        TripOverlapIndex.Overlap overlap = TripOverlapIndex.findFirstOverlap(List.of(first, second, third));
+
+        assertThat(overlap).isNotNull();
+        assertThat(overlap.trip()).isSameAs(third);
+        assertThat(overlap.conflictingTrip()).isSameAs(second);
+        assertThat(TripOverlapIndex.findFirstOverlap(List.of(first, second))).isNull();
+    }
+
+    @Test
+    @DisplayName("Find First Overlap - Should Agree With a Pairwise Scan on Random Trips")
+    void findFirstOverlap_shouldMatchPairwiseScan() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<Trip> trips = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                int start = random.nextInt(24 * 60);
+                trips.add(trip("trip" + i, start, start + 1 + random.nextInt(120)));
+            }
+            assertThat(TripOverlapIndex.findFirstOverlap(trips) != null).isEqualTo(hasPairwiseOverlap(trips));
+        }
+    }
+
+    @Test
+    @DisplayName("Add - Should Index Tens of Thousands of Disjoint Trips")
+    void add_shouldScaleToLargeHistories() {
+        List<Trip> trips = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            trips.add(trip("trip" + i, i * 10, i * 10 + 5));
+        }
+        Collections.shuffle(trips, new Random(7));
+        TripOverlapIndex index = new TripOverlapIndex();
+
+        for (Trip trip : trips) {
+            assertThat(index.add(trip)).isNull();
+        }
+
+        assertThat(index.size()).isEqualTo(50_000);
+        assertThat(index.findOverlap(trip("late", 49_999 * 10 + 4, 49_999 * 10 + 8))).isNotNull();
+    }
+
+    private static boolean hasPairwiseOverlap(List<Trip> trips) {
+        for (int i = 0; i < trips.size(); i++) {
+            for (int j = i + 1; j < trips.size(); j++) {
+                Trip a = trips.get(i);
+                Trip b = trips.get(j);
+                if (a.getStartTime().isBefore(b.getEndTime()) && b.getStartTime().isBefore(a.getEndTime())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Trip trip(String tripId, int startMinute, int endMinute) {
+        return Trip.builder()
+                .tripId(tripId)
+                .startTime(DAY.plusMinutes(startMinute))
+                .endTime(DAY.plusMinutes(endMinute))
+                .build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.workshop.passenger.domain.repository;
+
+import com.workshop.passenger.domain.model.aggregates.Passenger;
+import org.bson.types.ObjectId;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class InMemoryPassengerCommandRepository {
+
+    private final Map<String, Passenger> passengers = new ConcurrentHashMap<>();
+    private final List<String> roundTrips = new CopyOnWriteArrayList<>();
+    private final PassengerCommandRepository repository = (PassengerCommandRepository) Proxy.newProxyInstance(
+            PassengerCommandRepository.class.getClassLoader(),
+            new Class<?>[]{PassengerCommandRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "toString" -> "InMemoryPassengerCommandRepository";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> {
+                    roundTrips.add(method.getName());
+                    yield invoke(method.getName(), args);
+                }
+            });
+
+    public PassengerCommandRepository repository() {
+        return repository;
+    }
+
+    public Passenger store(Passenger passenger) {
+        if (passenger.getId() == null) {
+            passenger.setId(new ObjectId());
+        }
+        passengers.put(passenger.getId().toHexString(), passenger);
+        return passenger;
+    }
+
+    public boolean contains(String passengerId) {
+        return passengers.containsKey(passengerId);
+    }
+
+    public List<String> roundTrips() {
+        return List.copyOf(roundTrips);
+    }
+
+    private Object invoke(String method, Object[] args) {
+        return switch (method) {
+            case "findById" -> Mono.justOrEmpty(passengers.get((String) args[0]));
+            case "existsById" -> Mono.just(passengers.containsKey((String) args[0]));
+            case "save" -> Mono.just(store((Passenger) args[0]));
+            case "deleteById" -> Mono.fromRunnable(() -> passengers.remove((String) args[0]));
+            case "deletePassenger" -> Mono.fromSupplier(() -> passengers.remove((String) args[0]));
+            case "deleteArchivedTrips" -> Mono.just(0L);
+            default -> throw new UnsupportedOperationException(method + " is not supported by the in-memory repository");
+        };
+    }
+}
@@ -0,0 +1,536 @@
+package com.workshop.passenger.domain.repository;
+
+import com.workshop.passenger.domain.model.aggregates.Passenger;
+import com.workshop.passenger.domain.model.entities.Trip;
+import com.workshop.passenger.domain.model.entities.TripBucket;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("PassengerCommandRepositoryCustomImpl Unit Tests")
+class PassengerCommandRepositoryCustomImplTest {
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private PassengerCommandRepositoryCustomImpl repository;
+    private Passenger passenger;
+    private Trip trip;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        repository = new PassengerCommandRepositoryCustomImpl(mongoTemplate);
+        trip = Trip.builder()
+                .tripId("trip123")
+                .routeId("route456")
+                .vehicleId("vehicle789")
+                .startStop("Stop A")
+                .endStop("Stop B")
+                .fare(10.0)
+                .build();
+        passenger = Passenger.builder()
+                .name("John Doe")
+                .trips(new ArrayList<>())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Push Trip - Should Issue a $push Filtered by Passenger ID")
+    void pushTrip_shouldPushTripFilteredById() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Passenger.class)))
+                .thenReturn(Mono.just(passenger));
+
+        StepVerifier.create(repository.pushTrip("6734854cd7801b590fbd701a", trip))
+                .expectNext(passenger)
+                .verifyComplete();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), options.capture(), eq(Passenger.class));
+        assertThat(query.getValue().getQueryObject()).containsEntry("id", "6734854cd7801b590fbd701a");
+        assertThat(query.getValue().getQueryObject().get("trips.tripId", Document.class)).containsEntry("$ne", "trip123");
+        assertThat(update.getValue().getUpdateObject().get("$push", Document.class)).containsEntry("trips", trip);
+        assertThat(options.getValue().isReturnNew()).isTrue();
+        assertThat(query.getValue().getFieldsObject()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Push Non Overlapping Trip - Should Only Match Passengers Without an Overlapping Trip")
+    void pushNonOverlappingTrip_shouldExcludeOverlappingTrips() {
+        trip.setStartTime(LocalDateTime.of(2024, 1, 1, 9, 0));
+        trip.setEndTime(LocalDateTime.of(2024, 1, 1, 9, 30));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Passenger.class)))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(repository.pushNonOverlappingTrip("6734854cd7801b590fbd701a", trip))
+                .verifyComplete();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Passenger.class));
+        Document elemMatch = query.getValue().getQueryObject().get("trips", Document.class)
+                .get("$not", Document.class).get("$elemMatch", Document.class);
+        assertThat(query.getValue().getQueryObject()).containsEntry("id", "6734854cd7801b590fbd701a");
+        assertThat(query.getValue().getQueryObject().get("trips.tripId", Document.class)).containsEntry("$ne", "trip123");
+        assertThat(elemMatch.get("startTime", Document.class)).containsEntry("$lt", trip.getEndTime());
+        assertThat(elemMatch.get("endTime", Document.class)).containsEntry("$gt", trip.getStartTime());
+        assertThat(update.getValue().getUpdateObject().get("$push", Document.class)).containsEntry("trips", trip);
+    }
+
+    @Test
+    @DisplayName("Pull Trip - Should Issue a $pull Filtered by Passenger ID and Trip ID")
+    void pullTrip_shouldPullTripFilteredByIdAndTripId() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Passenger.class)))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(repository.pullTrip("6734854cd7801b590fbd701a", "trip123"))
+                .verifyComplete();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Passenger.class));
+        assertThat(query.getValue().getQueryObject())
+                .containsEntry("id", "6734854cd7801b590fbd701a")
+                .containsEntry("trips.tripId", "trip123");
+        assertThat(update.getValue().getUpdateObject().get("$pull", Document.class))
+                .containsEntry("trips", new Document("tripId", "trip123"));
+        assertThat(query.getValue().getFieldsObject()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Increment Version - Should Bump the Version and Return the Whole Passenger")
+    void incrementVersion_shouldIncVersionAndReturnPassenger() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Passenger.class)))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(repository.incrementVersion("6734854cd7801b590fbd701a"))
+                .verifyComplete();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Passenger.class));
+        assertThat(update.getValue().getUpdateObject().get("$inc", Document.class)).containsEntry("version", 1);
+        assertThat(query.getValue().getFieldsObject()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Set Fields - Should Issue a Single $set With Only the Given Fields")
+    void setFields_shouldSetOnlyGivenFields() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Passenger.class)))
+                .thenReturn(Mono.just(passenger));
+
+        StepVerifier.create(repository.setFields("6734854cd7801b590fbd701a", 2L, Map.of("name", "Jane Doe")))
+                .expectNext(passenger)
+                .verifyComplete();
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), options.capture(), eq(Passenger.class));
+        assertThat(options.getValue().isReturnNew()).isTrue();
+        assertThat(update.getValue().getUpdateObject()).containsOnlyKeys("$set", "$inc");
+        assertThat(update.getValue().getUpdateObject().get("$set", Document.class)).containsExactly(Map.entry("name", "Jane Doe"));
+        assertThat(update.getValue().getUpdateObject().get("$inc", Document.class)).containsEntry("version", 1);
+    }
+
+    @Test
+    @DisplayName("Set Fields - Should Report a Missing Passenger")
+    void setFields_shouldReportMissingPassenger() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Passenger.class)))
+                .thenReturn(Mono.empty());
+        when(mongoTemplate.exists(any(Query.class), eq(Passenger.class))).thenReturn(Mono.just(false));
+
+        StepVerifier.create(repository.setFields("6734854cd7801b590fbd701a", 2L, Map.of("name", "Jane Doe")))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Set Fields - Should Report a Version Conflict When the Passenger Exists")
+    void setFields_shouldReportVersionConflict() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Passenger.class)))
+                .thenReturn(Mono.empty());
+        when(mongoTemplate.exists(any(Query.class), eq(Passenger.class))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(repository.setFields("6734854cd7801b590fbd701a", 2L, Map.of("name", "Jane Doe")))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndModify(query.capture(), any(Update.class), any(FindAndModifyOptions.class), eq(Passenger.class));
+        assertThat(query.getValue().getQueryObject()).containsEntry("version", 2L);
+    }
+
+    @Test
+    @DisplayName("Bulk Insert - Should Insert the Batch in One Unordered Bulk Write")
+    void bulkInsert_shouldInsertInOneUnorderedBulkWrite() {
+        ReactiveBulkOperations bulkOperations = mock(ReactiveBulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Passenger.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(Mono.just(BulkWriteResult.acknowledged(2, 0, 0, 0, List.of(), List.of())));
+
+        StepVerifier.create(repository.bulkInsert(List.of(passenger, passenger)))
+                .expectNext(Map.of())
+                .verifyComplete();
+
+        verify(bulkOperations).insert(List.of(passenger, passenger));
+    }
+
+    @Test
+    @DisplayName("Bulk Insert - Should Report Rejected Documents by Batch Index")
+    void bulkInsert_shouldReportWriteErrorsByIndex() {
+        ReactiveBulkOperations bulkOperations = mock(ReactiveBulkOperations.class);
+        MongoBulkWriteException writeException = new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()),
+                List.of(new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 1)),
+                null, new ServerAddress(), Set.of());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Passenger.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(Mono.error(new DataIntegrityViolationException("bulk write failed", writeException)));
+
+        StepVerifier.create(repository.bulkInsert(List.of(passenger, passenger)))
+                .expectNext(Map.of(1, "E11000 duplicate key error"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Bulk Insert - Should Skip the Round Trip for an Empty Batch")
+    void bulkInsert_shouldSkipEmptyBatch() {
+        StepVerifier.create(repository.bulkInsert(List.of()))
+                .expectNext(Map.of())
+                .verifyComplete();
+
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Passenger.class));
+    }
+
+    @Test
+    @DisplayName("Push Trips - Should Apply One Version-Guarded $push per Passenger in a Single Unordered Bulk Write")
+    void pushTrips_shouldPushInOneBulkWrite() {
+        ReactiveBulkOperations bulkOperations = mock(ReactiveBulkOperations.class);
+        Trip secondTrip = Trip.builder().tripId("trip456").build();
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Passenger.class)).thenReturn(bulkOperations);
+        when(bulkOperations.updateOne(any(Query.class), any(Update.class))).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(Mono.just(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of())));
+
+        StepVerifier.create(repository.pushTrips(Map.of("6734854cd7801b590fbd701a", 4L),
+                        Map.of("6734854cd7801b590fbd701a", List.of(trip, secondTrip))))
+                .verifyComplete();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations).updateOne(query.capture(), update.capture());
+        assertThat(query.getValue().getQueryObject())
+                .containsEntry("version", 4L)
+                .containsEntry("trips.tripId", new Document("$nin", List.of("trip123", "trip456")));
+        assertThat(update.getValue().getUpdateObject()).containsOnlyKeys("$push", "$inc");
+        assertThat(update.getValue().getUpdateObject().get("$inc", Document.class)).containsEntry("version", 2);
+        verify(bulkOperations, times(1)).execute();
+    }
+
+    @Test
+    @DisplayName("Push Trips - Should Signal a Conflict When a Passenger Changed Since It Was Read")
+    void pushTrips_shouldFailWhenPassengerChanged() {
+        ReactiveBulkOperations bulkOperations = mock(ReactiveBulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Passenger.class)).thenReturn(bulkOperations);
+        when(bulkOperations.updateOne(any(Query.class), any(Update.class))).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(Mono.just(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of())));
+
+        StepVerifier.create(repository.pushTrips(
+                        Map.of("6734854cd7801b590fbd701a", 1L, "6734854cd7801b590fbd701b", 1L),
+                        Map.of("6734854cd7801b590fbd701a", List.of(trip), "6734854cd7801b590fbd701b", List.of(trip))))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Find Trips - Should Return Only the Requested Trips of Each Passenger")
+    void findTrips_shouldFilterTripsServerSide() {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Passenger.class), eq(Passenger.class))).thenReturn(Flux.just(passenger));
+
+        StepVerifier.create(repository.findTrips(List.of("6734854cd7801b590fbd701a"), List.of("trip123")))
+                .expectNext(passenger)
+                .verifyComplete();
+
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(Passenger.class), eq(Passenger.class));
+        Document project = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT).get(1).get("$project", Document.class);
+        assertThat(project).containsEntry("version", 1);
+        assertThat(project.get("trips", Document.class).get("$filter", Document.class))
+                .containsEntry("input", "$trips")
+                .containsEntry("cond", new Document("$in", List.of("$$trip.tripId", List.of("trip123"))));
+    }
+
+    @Test
+    @DisplayName("Archive Trips - Should Insert One Bucket per Group and Pull the Archived Trips Under the Expected Version")
+    void archiveTrips_shouldInsertBucketsAndPullTrips() {
+        Trip older = Trip.builder().tripId("trip1").startTime(LocalDateTime.of(2023, 1, 1, 9, 0)).build();
+        Trip newer = Trip.builder().tripId("trip2").startTime(LocalDateTime.of(2023, 2, 1, 9, 0)).build();
+        ReactiveBulkOperations bulkOperations = mock(ReactiveBulkOperations.class, RETURNS_SELF);
+        when(bulkOperations.execute()).thenReturn(Mono.just(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of())));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TripBucket.class)).thenReturn(bulkOperations);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Passenger.class)))
+                .thenReturn(Mono.just(passenger));
+
+        StepVerifier.create(repository.archiveTrips("6734854cd7801b590fbd701a", 7L, List.of(List.of(older, newer), List.of(trip))))
+                .expectNext(passenger)
+                .verifyComplete();
+
+        ArgumentCaptor<List<TripBucket>> buckets = ArgumentCaptor.captor();
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations).insert(buckets.capture());
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Passenger.class));
+        assertThat(buckets.getValue()).hasSize(2);
+        TripBucket first = buckets.getValue().get(0);
+        assertThat(first.getArchiveId()).isNotBlank().isEqualTo(buckets.getValue().get(1).getArchiveId());
+        assertThat(first.getId()).isEqualTo("6734854cd7801b590fbd701a-trip1-" + first.getArchiveId());
+        assertThat(first.getPassengerId()).isEqualTo("6734854cd7801b590fbd701a");
+        assertThat(first.getSize()).isEqualTo(2);
+        assertThat(first.getFirstStartTime()).isEqualTo(older.getStartTime());
+        assertThat(first.getLastStartTime()).isEqualTo(newer.getStartTime());
+        assertThat(query.getValue().getQueryObject()).containsEntry("version", 7L);
+        assertThat(update.getValue().getUpdateObject().get("$pull", Document.class))
+                .containsEntry("trips", new Document("tripId", new Document("$in", List.of("trip1", "trip2", "trip123"))));
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(TripBucket.class));
+    }
+
+    @Test
+    @DisplayName("Archive Trips - Should Remove Only the Buckets This Attempt Wrote When the Passenger Changed Since It Was Read")
+    void archiveTrips_shouldUndoBucketsOnConflict() {
+        ReactiveBulkOperations bulkOperations = mock(ReactiveBulkOperations.class, RETURNS_SELF);
+        when(bulkOperations.execute()).thenReturn(Mono.just(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of())));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TripBucket.class)).thenReturn(bulkOperations);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Passenger.class)))
+                .thenReturn(Mono.empty());
+        when(mongoTemplate.remove(any(Query.class), eq(TripBucket.class))).thenReturn(Mono.just(DeleteResult.acknowledged(1)));
+
+        StepVerifier.create(repository.archiveTrips("6734854cd7801b590fbd701a", 7L, List.of(List.of(trip))))
+                .verifyComplete();
+
+        ArgumentCaptor<List<TripBucket>> buckets = ArgumentCaptor.captor();
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(bulkOperations).insert(buckets.capture());
+        verify(mongoTemplate).remove(query.capture(), eq(TripBucket.class));
+        assertThat(query.getValue().getQueryObject())
+                .containsEntry("passengerId", "6734854cd7801b590fbd701a")
+                .containsEntry("archiveId", buckets.getValue().get(0).getArchiveId());
+    }
+
+    @Test
+    @DisplayName("Archive Trips - Should Not Lose Trips When Two Archives of the Same Version Race")
+    void archiveTrips_concurrentArchivesKeepEveryTrip() {
+        String passengerId = "6734854cd7801b590fbd701a";
+        Trip older = Trip.builder().tripId("trip1").startTime(LocalDateTime.of(2023, 1, 1, 9, 0)).build();
+        Trip newer = Trip.builder().tripId("trip2").startTime(LocalDateTime.of(2023, 2, 1, 9, 0)).build();
+        List<Trip> inline = new ArrayList<>(List.of(older, newer, trip));
+        Map<String, TripBucket> archive = new ConcurrentHashMap<>();
+        AtomicLong version = new AtomicLong(7L);
+        AtomicInteger written = new AtomicInteger();
+        Sinks.Empty<Void> bothWritten = Sinks.empty();
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TripBucket.class)).thenAnswer(invocation -> {
+            ReactiveBulkOperations bulkOperations = mock(ReactiveBulkOperations.class, RETURNS_SELF);
+            List<TripBucket> pending = new ArrayList<>();
+            when(bulkOperations.insert(anyList())).thenAnswer(insert -> {
+                pending.addAll(insert.getArgument(0));
+                return bulkOperations;
+            });
+            when(bulkOperations.execute()).thenReturn(Mono.fromRunnable(() -> {
+                        pending.forEach(bucket -> archive.put(bucket.getId(), bucket));
+                        if (written.incrementAndGet() == 2) {
+                            bothWritten.tryEmitEmpty();
+                        }
+                    })
+                    .then(bothWritten.asMono())
+                    .thenReturn(BulkWriteResult.acknowledged(pending.size(), 0, 0, 0, List.of(), List.of())));
+            return bulkOperations;
+        });
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Passenger.class)))
+                .thenAnswer(invocation -> Mono.fromCallable(() -> {
+                    if (!version.compareAndSet(7L, 8L)) {
+                        return null;
+                    }
+                    synchronized (inline) {
+                        inline.removeIf(inlineTrip -> List.of("trip1", "trip2").contains(inlineTrip.getTripId()));
+                    }
+                    return Passenger.builder().version(8L).build();
+                }));
+        when(mongoTemplate.remove(any(Query.class), eq(TripBucket.class))).thenAnswer(invocation -> Mono.fromCallable(() -> {
+            Document filter = invocation.<Query>getArgument(0).getQueryObject();
+            int before = archive.size();
+            archive.values().removeIf(bucket -> bucket.getPassengerId().equals(filter.get("passengerId"))
+                    && bucket.getArchiveId().equals(filter.get("archiveId")));
+            return DeleteResult.acknowledged(before - archive.size());
+        }));
+
+        List<List<Trip>> buckets = List.of(List.of(older, newer));
+        List<Boolean> outcomes = Flux.merge(
+                        repository.archiveTrips(passengerId, 7L, buckets).map(archived -> true).defaultIfEmpty(false)
+                                .subscribeOn(Schedulers.parallel()),
+                        repository.archiveTrips(passengerId, 7L, buckets).map(archived -> true).defaultIfEmpty(false)
+                                .subscribeOn(Schedulers.parallel()))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(outcomes).containsExactlyInAnyOrder(true, false);
+        assertThat(inline).extracting(Trip::getTripId).containsExactly("trip123");
+        assertThat(archive.values()).singleElement()
+                .satisfies(bucket -> assertThat(bucket.getTrips()).extracting(Trip::getTripId).containsExactly("trip1", "trip2"));
+    }
+
+    @Test
+    @DisplayName("Pull Archived Trip - Should Report Whether a Bucket Held the Trip")
+    void pullArchivedTrip_shouldReportModification() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(TripBucket.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(0, 0L, null)));
+
+        StepVerifier.create(repository.pullArchivedTrip("6734854cd7801b590fbd701a", "trip123"))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(repository.pullArchivedTrip("6734854cd7801b590fbd701a", "trip123"))
+                .expectNext(false)
+                .verifyComplete();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).updateFirst(query.capture(), any(Update.class), eq(TripBucket.class));
+        assertThat(query.getValue().getQueryObject())
+                .containsEntry("passengerId", "6734854cd7801b590fbd701a")
+                .containsEntry("trips.tripId", "trip123");
+    }
+
+    @Test
+    @DisplayName("Delete Archived Trips - Should Remove Every Bucket of the Passenger")
+    void deleteArchivedTrips_shouldRemoveBuckets() {
+        when(mongoTemplate.remove(any(Query.class), eq(TripBucket.class))).thenReturn(Mono.just(DeleteResult.acknowledged(3)));
+
+        StepVerifier.create(repository.deleteArchivedTrips("6734854cd7801b590fbd701a"))
+                .expectNext(3L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Find Profile - Should Exclude the Trips From the Projection")
+    void findProfile_shouldExcludeTrips() {
+        when(mongoTemplate.findOne(any(Query.class), eq(Passenger.class))).thenReturn(Mono.just(passenger));
+
+        StepVerifier.create(repository.findProfile("6734854cd7801b590fbd701a"))
+                .expectNext(passenger)
+                .verifyComplete();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(query.capture(), eq(Passenger.class));
+        assertThat(query.getValue().getQueryObject()).containsEntry("id", "6734854cd7801b590fbd701a");
+        assertThat(query.getValue().getFieldsObject()).containsEntry("trips", 0);
+    }
+
+    @Test
+    @DisplayName("Find With Trip - Should Project Only the Matching Trip With $elemMatch")
+    void findWithTrip_shouldProjectMatchingTrip() {
+        when(mongoTemplate.findOne(any(Query.class), eq(Passenger.class))).thenReturn(Mono.empty());
+
+        StepVerifier.create(repository.findWithTrip("6734854cd7801b590fbd701a", "trip123"))
+                .verifyComplete();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(query.capture(), eq(Passenger.class));
+        assertThat(query.getValue().getFieldsObject()).containsEntry("version", 1).doesNotContainKey("name");
+        assertThat(query.getValue().getFieldsObject().get("trips", Document.class).get("$elemMatch", Document.class))
+                .containsEntry("tripId", "trip123");
+    }
+
+    @Test
+    @DisplayName("Has More Trips Than - Should Test the Array Position Instead of Reading the Trips")
+    void hasMoreTripsThan_shouldCheckArrayPosition() {
+        when(mongoTemplate.exists(any(Query.class), eq(Passenger.class))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(repository.hasMoreTripsThan("6734854cd7801b590fbd701a", 149))
+                .expectNext(true)
+                .verifyComplete();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).exists(query.capture(), eq(Passenger.class));
+        assertThat(query.getValue().getQueryObject().get("trips.149", Document.class)).containsEntry("$exists", true);
+    }
+
+    @Test
+    @DisplayName("Find Trip Times - Should Project Only Trip IDs and Times")
+    void findTripTimes_shouldProjectTripTimes() {
+        when(mongoTemplate.findOne(any(Query.class), eq(Passenger.class))).thenReturn(Mono.just(passenger));
+
+        StepVerifier.create(repository.findTripTimes("6734854cd7801b590fbd701a"))
+                .expectNext(passenger)
+                .verifyComplete();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(query.capture(), eq(Passenger.class));
+        assertThat(query.getValue().getFieldsObject().keySet())
+                .containsExactlyInAnyOrder("version", "trips.tripId", "trips.startTime", "trips.endTime");
+    }
+
+    @Test
+    @DisplayName("Delete Passenger - Should Remove in One Round Trip and Return Only the Removed Version")
+    void deletePassenger_shouldReturnRemovedVersion() {
+        Passenger removed = Passenger.builder().version(5L).build();
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(Passenger.class)))
+                .thenReturn(Mono.just(removed))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(repository.deletePassenger("6734854cd7801b590fbd701a"))
+                .expectNext(removed)
+                .verifyComplete();
+        StepVerifier.create(repository.deletePassenger("6734854cd7801b590fbd701a"))
+                .verifyComplete();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).findAndRemove(query.capture(), eq(Passenger.class));
+        assertThat(query.getValue().getFieldsObject().keySet()).containsExactly("version");
+        verify(mongoTemplate, never()).findOne(any(Query.class), eq(Passenger.class));
+    }
+}
@@ -0,0 +1,79 @@
+package com.workshop.passenger.infrastructure.cache;
+
+import com.workshop.passenger.infraestructure.cache.BloomFilter;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BloomFilter Unit Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("MightContain - Should Never Report a False Negative")
+    void mightContain_shouldContainEveryInsertedValue() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        List<String> ids = objectIds(1000);
+        ids.forEach(filter::put);
+
+        assertThat(ids).allMatch(filter::mightContain);
+        assertThat(filter.elementCount()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("MightContain - Should Keep False Positives Close to the Configured Rate")
+    void mightContain_shouldStayNearConfiguredFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        objectIds(1000).forEach(filter::put);
+
+        long falsePositives = objectIds(10_000).stream().filter(filter::mightContain).count();
+
+        assertThat(falsePositives).isLessThan(300);
+        assertThat(filter.expectedFalsePositiveRate()).isLessThan(0.03);
+    }
+
+    @Test
+    @DisplayName("Constructor - Should Size Bits and Hashes from Expected Insertions")
+    void constructor_shouldSizeFilter() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        assertThat(filter.bitSize()).isBetween(9585L, 9585L + 64);
+        assertThat(filter.hashCount()).isEqualTo(7);
+        assertThatThrownBy(() -> new BloomFilter(10, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("ReadFrom - Should Restore a Written Filter")
+    void readFrom_shouldRestoreWrittenFilter() throws IOException {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        List<String> ids = objectIds(100);
+        ids.forEach(filter::put);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        filter.writeTo(new DataOutputStream(bytes));
+
+        BloomFilter restored = BloomFilter.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(ids).allMatch(restored::mightContain);
+        assertThat(restored.bitSize()).isEqualTo(filter.bitSize());
+        assertThat(restored.hashCount()).isEqualTo(filter.hashCount());
+        assertThat(restored.elementCount()).isEqualTo(100);
+    }
+
+    private static List<String> objectIds(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(new ObjectId().toHexString());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,157 @@
+package com.workshop.passenger.infrastructure.cache;
+
+import com.workshop.passenger.infraestructure.cache.ExpiringCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExpiringCache Unit Tests")
+class ExpiringCacheTest {
+
+    private MutableClock clock;
+    private ExpiringCache<String, String> cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        cache = new ExpiringCache<>(2, Duration.ofMinutes(5), Duration.ofSeconds(30), clock);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Get - Should Load Once and Serve Subsequent Calls from Cache")
+    void get_shouldServeSecondCallFromCache() {
+        StepVerifier.create(cache.get("a", this::load)).expectNext("value-a").verifyComplete();
+        StepVerifier.create(cache.get("a", this::load)).expectNext("value-a").verifyComplete();
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Get - Should Reload After TTL Expires")
+    void get_shouldReloadAfterTtl() {
+        cache.get("a", this::load).block();
+        clock.advance(Duration.ofMinutes(5));
+        cache.get("a", this::load).block();
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.expirationCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Get - Should Cache Empty Results for the Negative TTL Only")
+    void get_shouldCacheNegativeResultsBriefly() {
+        StepVerifier.create(cache.get("missing", this::loadEmpty)).verifyComplete();
+        StepVerifier.create(cache.get("missing", this::loadEmpty)).verifyComplete();
+        assertThat(loads.get()).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(30));
+        StepVerifier.create(cache.get("missing", this::loadEmpty)).verifyComplete();
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Get - Should Not Cache Errors")
+    void get_shouldNotCacheErrors() {
+        StepVerifier.create(cache.get("a", key -> {
+                    loads.incrementAndGet();
+                    return Mono.error(new IllegalStateException("boom"));
+                }))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(cache.get("a", this::load)).expectNext("value-a").verifyComplete();
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Get - Should Evict Least Recently Used Entry When Full")
+    void get_shouldEvictLeastRecentlyUsed() {
+        cache.get("a", this::load).block();
+        cache.get("b", this::load).block();
+        cache.get("a", this::load).block();
+        cache.get("c", this::load).block();
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.evictionCount()).isEqualTo(1);
+
+        cache.get("a", this::load).block();
+        cache.get("b", this::load).block();
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Disabled - Should Always Delegate to the Loader")
+    void disabled_shouldAlwaysLoad() {
+        ExpiringCache<String, String> disabled = ExpiringCache.disabled();
+
+        disabled.get("a", this::load).block();
+        disabled.get("a", this::load).block();
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(disabled.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Bind To - Should Expose Counters Through the Meter Registry")
+    void bindTo_shouldRegisterMeters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry, "test.cache");
+
+        cache.get("a", this::load).block();
+        cache.get("a", this::load).block();
+
+        assertThat(registry.get("test.cache.hits").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("test.cache.misses").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("test.cache.size").gauge().value()).isEqualTo(1.0);
+    }
+
+    private Mono<String> load(String key) {
+        loads.incrementAndGet();
+        return Mono.just("value-" + key);
+    }
+
+    private Mono<String> loadEmpty(String key) {
+        loads.incrementAndGet();
+        return Mono.empty();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.workshop.passenger.infrastructure.cache;
+
+import com.workshop.passenger.infraestructure.cache.KnownIdFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("KnownIdFilter Unit Tests")
+class KnownIdFilterTest {
+
+    private static final Instant BUILT_AT = Instant.parse("2024-01-01T00:00:00Z");
+    private static final String KNOWN_ID = idCreatedAt(BUILT_AT.minus(Duration.ofDays(30)));
+    private static final String UNKNOWN_ID = idCreatedAt(BUILT_AT.minus(Duration.ofDays(10)));
+
+    @Test
+    @DisplayName("MightExist - Should Let Every ID Through Before the First Refresh")
+    void mightExist_shouldPassEverythingWhenNotLoaded() {
+        KnownIdFilter filter = filter(() -> Flux.just(KNOWN_ID), null);
+
+        assertThat(filter.isLoaded()).isFalse();
+        assertThat(filter.mightExist(UNKNOWN_ID)).isTrue();
+        assertThat(KnownIdFilter.disabled().mightExist(UNKNOWN_ID)).isTrue();
+    }
+
+    @Test
+    @DisplayName("MightExist - Should Reject IDs Missing from the Refreshed Filter")
+    void mightExist_shouldRejectUnknownIds() {
+        KnownIdFilter filter = filter(() -> Flux.just(KNOWN_ID), null);
+
+        StepVerifier.create(filter.refresh()).verifyComplete();
+
+        assertThat(filter.mightExist(KNOWN_ID)).isTrue();
+        assertThat(filter.mightExist(UNKNOWN_ID)).isFalse();
+        assertThat(filter.passedCount()).isEqualTo(1);
+        assertThat(filter.rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("MightExist - Should Pass IDs Created After the Filter Was Built")
+    void mightExist_shouldPassIdsNewerThanFilter() {
+        KnownIdFilter filter = filter(() -> Flux.just(KNOWN_ID), null);
+        filter.refresh().block();
+
+        assertThat(filter.mightExist(idCreatedAt(BUILT_AT.plus(Duration.ofMinutes(5))))).isTrue();
+        assertThat(filter.mightExist(idCreatedAt(BUILT_AT.minus(Duration.ofSeconds(30))))).isTrue();
+        assertThat(filter.rejectedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Refresh - Should Keep the Previous Filter When the Source Fails")
+    void refresh_shouldKeepPreviousFilterOnFailure() {
+        AtomicReference<Flux<String>> source = new AtomicReference<>(Flux.just(KNOWN_ID));
+        KnownIdFilter filter = filter(source::get, null);
+        filter.refresh().block();
+        source.set(Flux.error(new IllegalStateException("upstream down")));
+
+        StepVerifier.create(filter.refresh()).expectError(IllegalStateException.class).verify();
+
+        assertThat(filter.mightExist(KNOWN_ID)).isTrue();
+        assertThat(filter.mightExist(UNKNOWN_ID)).isFalse();
+        assertThat(filter.refreshCount()).isEqualTo(1);
+        assertThat(filter.refreshFailureCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Start - Should Load the Local Snapshot Written by a Previous Refresh")
+    void start_shouldLoadSnapshot(@TempDir Path directory) {
+        Path snapshot = directory.resolve("routes.bloom");
+        filter(() -> Flux.just(KNOWN_ID), snapshot).refresh().block();
+        assertThat(Files.exists(snapshot)).isTrue();
+
+        KnownIdFilter restarted = filter(() -> Flux.never(), snapshot);
+        restarted.start();
+        try {
+            assertThat(restarted.isLoaded()).isTrue();
+            assertThat(restarted.mightExist(KNOWN_ID)).isTrue();
+            assertThat(restarted.mightExist(UNKNOWN_ID)).isFalse();
+        } finally {
+            restarted.close();
+        }
+    }
+
+    @Test
+    @DisplayName("BindTo - Should Expose Size, False Positive Rate and Refresh Cost")
+    void bindTo_shouldRegisterMeters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        KnownIdFilter filter = filter(() -> Flux.just(KNOWN_ID), null);
+        filter.bindTo(registry, "routes.known-ids");
+        filter.refresh().block();
+        filter.mightExist(KNOWN_ID);
+        filter.recordMissing(KNOWN_ID);
+
+        assertThat(registry.get("routes.known-ids.bits").gauge().value()).isPositive();
+        assertThat(registry.get("routes.known-ids.elements").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("routes.known-ids.expected-fpp").gauge().value()).isBetween(0.0, 1.0);
+        assertThat(registry.get("routes.known-ids.observed-fpp").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("routes.known-ids.refresh-duration").timeGauge()).isNotNull();
+        assertThat(registry.get("routes.known-ids.refreshes").functionCounter().count()).isEqualTo(1);
+    }
+
+    private static KnownIdFilter filter(Supplier<Flux<String>> source, Path snapshot) {
+        return new KnownIdFilter("routes", 100, 0.01, source, Duration.ofMinutes(10), Duration.ofMinutes(1), snapshot,
+                Clock.fixed(BUILT_AT, ZoneOffset.UTC));
+    }
+
+    private static String idCreatedAt(Instant instant) {
+        return new ObjectId(Date.from(instant)).toHexString();
+    }
+}
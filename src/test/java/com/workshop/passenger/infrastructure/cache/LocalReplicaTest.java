@@ -0,0 +1,282 @@
+package com.workshop.passenger.infrastructure.cache;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import com.workshop.passenger.infraestructure.Route.model.aggregates.Route;
+import com.workshop.passenger.infraestructure.cache.LocalReplica;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("LocalReplica Unit Tests")
+class LocalReplicaTest {
+
+    private static final String COLLECTION = "RouteReplica";
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private ReactiveBulkOperations bulkOperations;
+    private MutableClock clock;
+    private AtomicReference<Flux<Route>> upstream;
+    private AtomicInteger fallbacks;
+    private Route route;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        bulkOperations = mock(ReactiveBulkOperations.class, RETURNS_SELF);
+        when(bulkOperations.execute()).thenReturn(Mono.just(BulkWriteResult.unacknowledged()));
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(Route.class), eq(COLLECTION)))
+                .thenReturn(bulkOperations);
+        when(mongoTemplate.remove(any(Query.class), eq(COLLECTION))).thenReturn(Mono.just(DeleteResult.acknowledged(0)));
+        when(mongoTemplate.getConverter()).thenReturn(converter());
+        clock = new MutableClock();
+        route = Route.builder().routeId(new ObjectId("672caeb97e634e3fe18ada37")).routeName("Route 1").build();
+        upstream = new AtomicReference<>(Flux.just(route));
+        fallbacks = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Get - Should Fall Back to the Live Service Before the First Sync")
+    void get_shouldFallBackWhenNeverSynced() {
+        LocalReplica<Route> replica = replica(true);
+
+        StepVerifier.create(replica.get(route.getRouteId().toHexString(), this::live))
+                .expectNext(route)
+                .verifyComplete();
+
+        assertThat(fallbacks.get()).isEqualTo(1);
+        assertThat(replica.staleReadCount()).isEqualTo(1);
+        verify(mongoTemplate, never()).findById(any(), eq(Route.class), eq(COLLECTION));
+    }
+
+    @Test
+    @DisplayName("Get - Should Serve Hits from the Local Collection Without Calling the Live Service")
+    void get_shouldServeHitLocally() {
+        LocalReplica<Route> replica = replica(true);
+        replica.sync().block();
+        when(mongoTemplate.findById(route.getRouteId(), Route.class, COLLECTION)).thenReturn(Mono.just(route));
+
+        StepVerifier.create(replica.get(route.getRouteId().toHexString(), this::live))
+                .expectNext(route)
+                .verifyComplete();
+
+        assertThat(fallbacks.get()).isZero();
+        assertThat(replica.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Get - Should Fall Back on a Miss Only When Configured To")
+    void get_shouldHonourFallbackOnMiss() {
+        ObjectId unknown = new ObjectId();
+        when(mongoTemplate.findById(unknown, Route.class, COLLECTION)).thenReturn(Mono.empty());
+        LocalReplica<Route> fallingBack = replica(true);
+        LocalReplica<Route> authoritative = replica(false);
+        fallingBack.sync().block();
+        authoritative.sync().block();
+
+        StepVerifier.create(fallingBack.get(unknown.toHexString(), this::live)).expectNext(route).verifyComplete();
+        StepVerifier.create(authoritative.get(unknown.toHexString(), this::live)).verifyComplete();
+
+        assertThat(fallbacks.get()).isEqualTo(1);
+        assertThat(authoritative.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Get - Should Fall Back Once the Replica Exceeds the Staleness Bound")
+    void get_shouldFallBackWhenStale() {
+        LocalReplica<Route> replica = replica(false);
+        replica.sync().block();
+        clock.advance(Duration.ofMinutes(6));
+
+        StepVerifier.create(replica.get(route.getRouteId().toHexString(), this::live)).expectNext(route).verifyComplete();
+
+        assertThat(replica.isStale()).isTrue();
+        assertThat(fallbacks.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Get - Should Fall Back When the Local Collection Cannot Be Read")
+    void get_shouldFallBackOnReadError() {
+        LocalReplica<Route> replica = replica(false);
+        replica.sync().block();
+        when(mongoTemplate.findById(route.getRouteId(), Route.class, COLLECTION))
+                .thenReturn(Mono.error(new IllegalStateException("mongo down")));
+
+        StepVerifier.create(replica.get(route.getRouteId().toHexString(), this::live)).expectNext(route).verifyComplete();
+
+        assertThat(replica.readErrorCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Sync - Should Only Write Changed Documents and Remove Deleted Ones")
+    void sync_shouldWriteOnlyChanges() {
+        Route other = Route.builder().routeId(new ObjectId()).routeName("Route 2").build();
+        upstream.set(Flux.just(route, other));
+        LocalReplica<Route> replica = replica(true);
+        replica.sync().block();
+
+        Route renamed = Route.builder().routeId(route.getRouteId()).routeName("Route 1 bis").build();
+        upstream.set(Flux.just(renamed));
+        when(mongoTemplate.remove(any(Query.class), eq(COLLECTION))).thenReturn(Mono.just(DeleteResult.acknowledged(1)));
+        replica.sync().block();
+
+        verify(bulkOperations, times(3)).replaceOne(any(Query.class), any(), any(FindAndReplaceOptions.class));
+        verify(bulkOperations).replaceOne(any(Query.class), eq(renamed), any(FindAndReplaceOptions.class));
+        assertThat(replica.upsertCount()).isEqualTo(3);
+        assertThat(replica.deleteCount()).isEqualTo(1);
+        assertThat(replica.documentCount()).isEqualTo(1);
+        assertThat(replica.syncCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Sync - Should Detect Changes by Content Even When the Hash Codes Collide")
+    void sync_shouldNotTrustHashCode() {
+        ObjectId id = new ObjectId();
+        AtomicReference<Flux<Collision>> source = new AtomicReference<>(Flux.just(new Collision(id, "before")));
+        ReactiveBulkOperations collisionOperations = mock(ReactiveBulkOperations.class, RETURNS_SELF);
+        when(collisionOperations.execute()).thenReturn(Mono.just(BulkWriteResult.unacknowledged()));
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(Collision.class), eq(COLLECTION)))
+                .thenReturn(collisionOperations);
+        LocalReplica<Collision> replica = new LocalReplica<>("collisions", mongoTemplate, Collision.class, COLLECTION,
+                Collision::getId, source::get, Duration.ofMinutes(1), Duration.ofMinutes(5), true, clock);
+        replica.sync().block();
+
+        Collision after = new Collision(id, "after");
+        source.set(Flux.just(after));
+        replica.sync().block();
+
+        verify(collisionOperations).replaceOne(any(Query.class), eq(after), any(FindAndReplaceOptions.class));
+        assertThat(replica.upsertCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Sync - Should Keep Serving the Previous Data When the Upstream Pull Fails")
+    void sync_shouldRecordFailure() {
+        LocalReplica<Route> replica = replica(true);
+        replica.sync().block();
+        upstream.set(Flux.error(new IllegalStateException("upstream down")));
+
+        StepVerifier.create(replica.sync()).expectError(IllegalStateException.class).verify();
+
+        assertThat(replica.syncFailureCount()).isEqualTo(1);
+        assertThat(replica.isStale()).isFalse();
+        assertThat(replica.documentCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("BindTo - Should Expose Staleness and Sync Metrics")
+    void bindTo_shouldRegisterMeters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LocalReplica<Route> replica = replica(true);
+        replica.bindTo(registry, "routes.replica");
+        replica.sync().block();
+        clock.advance(Duration.ofSeconds(30));
+
+        assertThat(registry.get("routes.replica.documents").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("routes.replica.staleness").timeGauge().value(TimeUnit.MILLISECONDS)).isEqualTo(30_000);
+        assertThat(registry.get("routes.replica.syncs").functionCounter().count()).isEqualTo(1);
+        assertThat(LocalReplica.disabled().isEnabled()).isFalse();
+    }
+
+    private LocalReplica<Route> replica(boolean fallbackOnMiss) {
+        return new LocalReplica<>("routes", mongoTemplate, Route.class, COLLECTION, Route::getRouteId, upstream::get,
+                Duration.ofMinutes(1), Duration.ofMinutes(5), fallbackOnMiss, clock);
+    }
+
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private Mono<Route> live(String id) {
+        fallbacks.incrementAndGet();
+        return Mono.just(route);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private static class Collision {
+
+        private final ObjectId id;
+        private final String name;
+
+        Collision(ObjectId id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        ObjectId getId() {
+            return id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.workshop.passenger.infrastructure.client;
+
+import com.workshop.passenger.infraestructure.client.BatchingLookup;
+import com.workshop.passenger.infraestructure.client.BulkLoader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BatchingLookup Unit Tests")
+class BatchingLookupTest {
+
+    private BatchingLookup<String, String> batchingLookup;
+
+    @BeforeEach
+    void setUp() {
+        batchingLookup = new BatchingLookup<>(Duration.ofMillis(20), 3, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchingLookup.close();
+    }
+
+    @Test
+    @DisplayName("Get - Keys Requested in the Same Window Should Be Resolved in One Bulk Call")
+    void get_shouldResolveWindowInOneBulkCall() {
+        RecordingLoader loader = new RecordingLoader(true);
+
+        StepVerifier.create(Mono.zip(
+                        batchingLookup.get("a", loader),
+                        batchingLookup.get("b", loader),
+                        batchingLookup.get("a", loader)))
+                .assertNext(results -> {
+                    assertThat(results.getT1()).isEqualTo("value-a");
+                    assertThat(results.getT2()).isEqualTo("value-b");
+                    assertThat(results.getT3()).isEqualTo("value-a");
+                })
+                .verifyComplete();
+
+        assertThat(loader.bulkCalls).containsExactly(List.of("a", "b"));
+        assertThat(loader.singleCalls).isEmpty();
+        assertThat(batchingLookup.bulkRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Get - Keys Missing from the Bulk Response Should Complete Empty")
+    void get_shouldCompleteEmptyForMissingKeys() {
+        RecordingLoader loader = new RecordingLoader(true);
+
+        StepVerifier.create(Mono.zip(
+                        batchingLookup.get("a", loader),
+                        batchingLookup.get("missing", loader).hasElement()))
+                .assertNext(results -> {
+                    assertThat(results.getT1()).isEqualTo("value-a");
+                    assertThat(results.getT2()).isFalse();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Get - Without a Bulk Endpoint Should Fall Back to Single Calls")
+    void get_shouldUseSingleCallsWithoutBulkSupport() {
+        RecordingLoader loader = new RecordingLoader(false);
+
+        StepVerifier.create(Mono.zip(batchingLookup.get("a", loader), batchingLookup.get("b", loader)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(loader.bulkCalls).isEmpty();
+        assertThat(loader.singleCalls).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    @DisplayName("Get - A Failing Bulk Call Should Fall Back to Single Calls")
+    void get_shouldFallBackWhenBulkFails() {
+        RecordingLoader loader = new RecordingLoader(true) {
+            @Override
+            public Mono<Map<String, String>> loadAll(Collection<String> keys) {
+                return Mono.error(new IllegalStateException("bulk endpoint down"));
+            }
+        };
+
+        StepVerifier.create(Mono.zip(batchingLookup.get("a", loader), batchingLookup.get("b", loader)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(loader.singleCalls).containsExactlyInAnyOrder("a", "b");
+        assertThat(batchingLookup.bulkFallbackCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Get - A Loader That Throws Should Fail Only Its Own Waiters and Keep Serving Later Lookups")
+    void get_shouldSurviveThrowingLoader() {
+        RecordingLoader loader = new RecordingLoader(false) {
+            @Override
+            public Mono<String> load(String key) {
+                if (key.equals("broken")) {
+                    throw new IllegalStateException("loader bug");
+                }
+                return super.load(key);
+            }
+        };
+
+        StepVerifier.create(Mono.zip(
+                        batchingLookup.get("broken", loader).onErrorReturn("failed"),
+                        batchingLookup.get("a", loader)))
+                .assertNext(results -> {
+                    assertThat(results.getT1()).isEqualTo("failed");
+                    assertThat(results.getT2()).isEqualTo("value-a");
+                })
+                .verifyComplete();
+
+        StepVerifier.create(batchingLookup.get("b", loader))
+                .expectNext("value-b")
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("LoadAll - The Default Bulk Load Should Fan Out to Single Loads")
+    void loadAll_shouldFanOutByDefault() {
+        RecordingLoader singleLoader = new RecordingLoader(false);
+        BulkLoader<String, String> loader = singleLoader::load;
+
+        StepVerifier.create(loader.loadAll(List.of("a", "b")))
+                .assertNext(found -> assertThat(found).containsOnly(Map.entry("a", "value-a"), Map.entry("b", "value-b")))
+                .verifyComplete();
+
+        assertThat(singleLoader.singleCalls).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    @DisplayName("Get - A Full Batch Should Be Dispatched Without Waiting for the Window")
+    void get_shouldSplitBatchesAtMaxSize() {
+        RecordingLoader loader = new RecordingLoader(true);
+        List<Mono<String>> lookups = new ArrayList<>();
+        for (String key : List.of("a", "b", "c", "d")) {
+            lookups.add(batchingLookup.get(key, loader));
+        }
+
+        StepVerifier.create(Mono.zip(lookups, results -> results))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(batchingLookup.batchCount()).isEqualTo(2);
+        assertThat(batchingLookup.batchedKeyCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Disabled - Should Call the Single Loader Directly")
+    void disabled_shouldLoadDirectly() {
+        BatchingLookup<String, String> disabled = BatchingLookup.disabled();
+        RecordingLoader loader = new RecordingLoader(true);
+
+        StepVerifier.create(disabled.get("a", loader)).expectNext("value-a").verifyComplete();
+        assertThat(loader.singleCalls).containsExactly("a");
+    }
+
+    private static class RecordingLoader implements BulkLoader<String, String> {
+
+        private final boolean bulk;
+        private final List<List<String>> bulkCalls = new CopyOnWriteArrayList<>();
+        private final List<String> singleCalls = new CopyOnWriteArrayList<>();
+
+        RecordingLoader(boolean bulk) {
+            this.bulk = bulk;
+        }
+
+        @Override
+        public Mono<String> load(String key) {
+            singleCalls.add(key);
+            return Mono.just("value-" + key);
+        }
+
+        @Override
+        public boolean supportsBulk() {
+            return bulk;
+        }
+
+        @Override
+        public Mono<Map<String, String>> loadAll(Collection<String> keys) {
+            bulkCalls.add(List.copyOf(keys));
+            return Mono.just(keys.stream()
+                    .filter(key -> !key.equals("missing"))
+                    .collect(Collectors.toMap(key -> key, key -> "value-" + key)));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.workshop.passenger.infrastructure.client;
+
+import com.workshop.passenger.infraestructure.client.Bulkhead;
+import com.workshop.passenger.infraestructure.client.DownstreamUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Bulkhead Unit Tests")
+class BulkheadTest {
+
+    @Test
+    @DisplayName("Execute - Should Reject Calls Beyond the Concurrency Limit and Admit Them Once a Slot Frees")
+    void execute_shouldRejectBeyondLimit() {
+        Bulkhead bulkhead = new Bulkhead("vehicles", 1);
+        Sinks.One<String> pending = Sinks.one();
+
+        StepVerifier.create(bulkhead.execute(pending::asMono))
+                .then(() -> {
+                    assertThat(bulkhead.activeCallCount()).isEqualTo(1);
+                    StepVerifier.create(bulkhead.execute(() -> Mono.just("second")))
+                            .expectError(DownstreamUnavailableException.class)
+                            .verify();
+                    pending.tryEmitValue("first");
+                })
+                .expectNext("first")
+                .verifyComplete();
+
+        StepVerifier.create(bulkhead.execute(() -> Mono.just("third")))
+                .expectNext("third")
+                .verifyComplete();
+        assertThat(bulkhead.rejectedCallCount()).isEqualTo(1);
+        assertThat(bulkhead.activeCallCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Execute - Disabled Bulkhead Should Not Limit Calls")
+    void execute_disabledShouldPassThrough() {
+        Bulkhead bulkhead = Bulkhead.disabled("vehicles");
+
+        StepVerifier.create(bulkhead.execute(() -> Mono.just("direct")))
+                .expectNext("direct")
+                .verifyComplete();
+
+        assertThat(bulkhead.rejectedCallCount()).isZero();
+    }
+}
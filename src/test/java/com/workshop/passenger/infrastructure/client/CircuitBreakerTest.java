@@ -0,0 +1,161 @@
+package com.workshop.passenger.infrastructure.client;
+
+import com.workshop.passenger.infraestructure.client.CircuitBreaker;
+import com.workshop.passenger.infraestructure.client.DownstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CircuitBreaker Unit Tests")
+class CircuitBreakerTest {
+
+    private MutableClock clock;
+    private CircuitBreaker circuitBreaker;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        circuitBreaker = new CircuitBreaker("routes", 4, 4, 50, Duration.ofSeconds(10), 2,
+                error -> !(error instanceof IllegalArgumentException), clock);
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Execute - Should Open Once the Failure Rate Reaches the Threshold")
+    void execute_shouldOpenAtFailureThreshold() {
+        succeed();
+        succeed();
+        fail();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        fail();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("Execute - Should Fail Fast Without Calling the Downstream While Open")
+    void execute_shouldFailFastWhileOpen() {
+        open();
+        int callsBefore = calls.get();
+
+        StepVerifier.create(circuitBreaker.execute(this::success))
+                .expectError(DownstreamUnavailableException.class)
+                .verify();
+
+        assertThat(calls.get()).isEqualTo(callsBefore);
+        assertThat(circuitBreaker.notPermittedCallCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Execute - Should Close After Successful Half-Open Probes")
+    void execute_shouldCloseAfterHalfOpenProbes() {
+        open();
+        clock.advance(Duration.ofSeconds(10));
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        succeed();
+        succeed();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Execute - Should Reopen When a Half-Open Probe Fails")
+    void execute_shouldReopenOnFailedProbe() {
+        open();
+        clock.advance(Duration.ofSeconds(10));
+
+        fail();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("Execute - Should Not Count Ignored Errors as Failures")
+    void execute_shouldIgnoreUnrecordedErrors() {
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(circuitBreaker.execute(() -> Mono.error(new IllegalArgumentException("bad request"))))
+                    .expectError(IllegalArgumentException.class)
+                    .verify();
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.failedCallCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Bind To - Should Export the Breaker State")
+    void bindTo_shouldExportState() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        circuitBreaker.bindTo(registry, "routes.circuit-breaker");
+        open();
+
+        assertThat(registry.get("routes.circuit-breaker.state").gauge().value()).isEqualTo(CircuitBreaker.State.OPEN.ordinal());
+        assertThat(registry.get("routes.circuit-breaker.calls").tag("outcome", "failed").functionCounter().count()).isEqualTo(4);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void succeed() {
+        StepVerifier.create(circuitBreaker.execute(this::success))
+                .expectNext("ok")
+                .verifyComplete();
+    }
+
+    private void fail() {
+        StepVerifier.create(circuitBreaker.execute(() -> {
+                    calls.incrementAndGet();
+                    return Mono.error(new IllegalStateException("503"));
+                }))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    private Mono<String> success() {
+        calls.incrementAndGet();
+        return Mono.just("ok");
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.workshop.passenger.infrastructure.client;
+
+import com.workshop.passenger.infraestructure.client.DownstreamWebClients;
+import com.workshop.passenger.infraestructure.client.config.DownstreamClientProperties;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DownstreamWebClients Unit Tests")
+class DownstreamWebClientsTest {
+
+    private MockWebServer mockWebServer;
+    private ConnectionProvider connectionProvider;
+    private DownstreamClientProperties properties;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        properties = new DownstreamClientProperties();
+        properties.setMaxConnections(7);
+        properties.setResponseTimeout(Duration.ofMillis(200));
+        connectionProvider = DownstreamWebClients.connectionProvider("test", properties);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connectionProvider.dispose();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Connection Provider - Should Apply the Configured Pool Limits")
+    void connectionProvider_shouldApplyPoolLimits() {
+        assertThat(connectionProvider.name()).isEqualTo("test");
+        assertThat(connectionProvider.maxConnections()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Web Client - Should Serve Requests Through the Pooled Connector")
+    void webClient_shouldServeRequestsThroughPool() {
+        mockWebServer.enqueue(new MockResponse().setBody("first"));
+        mockWebServer.enqueue(new MockResponse().setBody("second"));
+        WebClient webClient = DownstreamWebClients.webClient(WebClient.builder(), connectionProvider, properties);
+        String url = mockWebServer.url("/ping").toString();
+
+        StepVerifier.create(webClient.get().uri(url).retrieve().bodyToMono(String.class)
+                        .then(webClient.get().uri(url).retrieve().bodyToMono(String.class)))
+                .expectNext("second")
+                .verifyComplete();
+
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Web Client - Should Fail a Request That Exceeds the Response Timeout")
+    void webClient_shouldApplyResponseTimeout() {
+        mockWebServer.enqueue(new MockResponse().setBody("late").setHeadersDelay(1, TimeUnit.SECONDS));
+        WebClient webClient = DownstreamWebClients.webClient(WebClient.builder(), connectionProvider, properties);
+
+        StepVerifier.create(webClient.get().uri(mockWebServer.url("/slow").toString()).retrieve().bodyToMono(String.class))
+                .expectError()
+                .verify(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,127 @@
+package com.workshop.passenger.infrastructure.client;
+
+import com.workshop.passenger.infraestructure.client.RequestHedger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RequestHedger Unit Tests")
+class RequestHedgerTest {
+
+    @Test
+    @DisplayName("Execute - A Fast Primary Should Not Be Hedged")
+    void execute_fastPrimaryIsNotHedged() {
+        RequestHedger hedger = new RequestHedger(0.95, Duration.ofMillis(200), Duration.ofMillis(1), 5, 64);
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(hedger.execute(() -> {
+                    calls.incrementAndGet();
+                    return Mono.just("route");
+                }))
+                .expectNext("route")
+                .verifyComplete();
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(hedger.hedgeCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Execute - A Slow Primary Should Be Hedged and the Faster Hedge Should Win")
+    void execute_slowPrimaryIsHedged() {
+        RequestHedger hedger = new RequestHedger(0.95, Duration.ofMillis(20), Duration.ofMillis(1), 5, 64);
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(hedger.execute(slowThenFast(calls)))
+                .expectNext("hedge")
+                .verifyComplete();
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(hedger.hedgeCount()).isEqualTo(1);
+        assertThat(hedger.hedgeWinCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Execute - Hedges Should Stop Once the Budget Is Spent")
+    void execute_respectsBudget() {
+        RequestHedger hedger = new RequestHedger(0.95, Duration.ofMillis(20), Duration.ofMillis(1), 0, 64);
+
+        StepVerifier.create(hedger.execute(slowThenFast(new AtomicInteger())))
+                .expectNext("hedge")
+                .verifyComplete();
+        AtomicInteger calls = new AtomicInteger();
+        StepVerifier.create(hedger.execute(slowThenFast(calls)))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(hedger.hedgeCount()).isEqualTo(1);
+        assertThat(hedger.budgetExhaustedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Execute - An Empty Primary Should Complete Empty Without Waiting for a Hedge")
+    void execute_emptyPrimaryCompletesEmpty() {
+        RequestHedger hedger = new RequestHedger(0.95, Duration.ofMillis(200), Duration.ofMillis(1), 5, 64);
+
+        StepVerifier.create(hedger.execute(Mono::empty))
+                .verifyComplete();
+
+        assertThat(hedger.hedgeCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Execute - The Hedge Delay Should Follow the Observed Latency Percentile")
+    void execute_delayTracksPercentile() {
+        RequestHedger hedger = new RequestHedger(0.5, Duration.ofSeconds(1), Duration.ofMillis(1), 5, 8);
+
+        for (int i = 0; i < 8; i++) {
+            StepVerifier.create(hedger.execute(() -> Mono.delay(Duration.ofMillis(10)).thenReturn("route")))
+                    .expectNext("route")
+                    .verifyComplete();
+        }
+
+        assertThat(hedger.currentDelay()).isGreaterThanOrEqualTo(Duration.ofMillis(10)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Execute - A Cancelled Slow Primary Should Still Count Toward the Hedge Delay")
+    void execute_cancelledPrimaryRecordsLatency() {
+        RequestHedger hedger = new RequestHedger(0.99, Duration.ofMillis(20), Duration.ofMillis(1), 100, 2);
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(hedger.execute(slowThenFast(new AtomicInteger())))
+                    .expectNext("hedge")
+                    .verifyComplete();
+        }
+
+        assertThat(hedger.hedgeWinCount()).isEqualTo(2);
+        assertThat(hedger.currentDelay()).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+    }
+
+    @Test
+    @DisplayName("Execute - Disabled Hedger Should Call Through Once")
+    void execute_disabledCallsThrough() {
+        RequestHedger hedger = RequestHedger.disabled();
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(hedger.execute(slowThenFast(calls)))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(hedger.requestCount()).isZero();
+    }
+
+    private static Supplier<Mono<String>> slowThenFast(AtomicInteger calls) {
+        return () -> calls.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(300)).thenReturn("primary")
+                : Mono.just("hedge");
+    }
+}
@@ -0,0 +1,95 @@
+package com.workshop.passenger.infrastructure.client;
+
+import com.workshop.passenger.infraestructure.client.SingleFlight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SingleFlight Unit Tests")
+class SingleFlightTest {
+
+    private SingleFlight<String, String> singleFlight;
+    private AtomicInteger subscriptions;
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight<>();
+        subscriptions = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Execute - Concurrent Callers for the Same Key Should Share One Call")
+    void execute_shouldCoalesceConcurrentCallers() {
+        Sinks.One<String> response = Sinks.one();
+        Mono<String> first = singleFlight.execute("vehicle-1", key -> pending(response));
+        Mono<String> second = singleFlight.execute("vehicle-1", key -> pending(response));
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> response.tryEmitValue("bus"))
+                .assertNext(results -> {
+                    assertThat(results.getT1()).isEqualTo("bus");
+                    assertThat(results.getT2()).isEqualTo("bus");
+                })
+                .verifyComplete();
+
+        assertThat(subscriptions.get()).isEqualTo(1);
+        assertThat(singleFlight.coalescedCount()).isEqualTo(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Execute - Different Keys Should Not Be Coalesced")
+    void execute_shouldNotCoalesceDifferentKeys() {
+        Sinks.One<String> response = Sinks.one();
+        Mono<String> first = singleFlight.execute("vehicle-1", key -> pending(response));
+        Mono<String> second = singleFlight.execute("vehicle-2", key -> pending(response));
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> response.tryEmitValue("bus"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(subscriptions.get()).isEqualTo(2);
+        assertThat(singleFlight.coalescedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Execute - Completed Calls Should Not Be Reused")
+    void execute_shouldStartNewCallAfterCompletion() {
+        singleFlight.execute("vehicle-1", this::counted).block();
+        singleFlight.execute("vehicle-1", this::counted).block();
+
+        assertThat(subscriptions.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Execute - Errors Should Be Shared and Then Released")
+    void execute_shouldShareErrorsAndRelease() {
+        StepVerifier.create(singleFlight.execute("vehicle-1", key -> Mono.error(new IllegalStateException("down"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        StepVerifier.create(singleFlight.execute("vehicle-1", this::counted))
+                .expectNext("value-vehicle-1")
+                .verifyComplete();
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    private Mono<String> pending(Sinks.One<String> response) {
+        return response.asMono().doOnSubscribe(subscription -> subscriptions.incrementAndGet());
+    }
+
+    private Mono<String> counted(String key) {
+        return Mono.fromCallable(() -> {
+            subscriptions.incrementAndGet();
+            return "value-" + key;
+        });
+    }
+}
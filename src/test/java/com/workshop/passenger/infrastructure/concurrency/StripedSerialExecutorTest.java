@@ -0,0 +1,141 @@
+package com.workshop.passenger.infrastructure.concurrency;
+
+import com.workshop.passenger.infraestructure.concurrency.StripedSerialExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StripedSerialExecutor Unit Tests")
+class StripedSerialExecutorTest {
+
+    private StripedSerialExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new StripedSerialExecutor(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Execute - Commands for the Same Key Should Run One at a Time in Submission Order")
+    void execute_shouldSerializeSameKey() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        List<Integer> order = new CopyOnWriteArrayList<>();
+
+        StepVerifier.create(Flux.range(0, 10)
+                        .flatMap(i -> executor.execute("passenger-1", tracked(i, active, maxActive, order)))
+                        .collectList())
+                .assertNext(results -> assertThat(results).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7, 8, 9))
+                .verifyComplete();
+
+        assertThat(maxActive.get()).isEqualTo(1);
+        assertThat(order).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(executor.completedCount()).isEqualTo(10);
+        assertThat(executor.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Execute - Commands for Different Keys Should Run in Parallel")
+    void execute_shouldRunDifferentKeysInParallel() {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        StripedSerialExecutor wide = new StripedSerialExecutor(1024);
+
+        try {
+            StepVerifier.create(Flux.range(0, 8)
+                            .flatMap(i -> wide.execute(distinctStripeKey(i), tracked(i, active, maxActive, order)))
+                            .then())
+                    .verifyComplete();
+        } finally {
+            wide.close();
+        }
+
+        assertThat(maxActive.get()).isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("Execute - A Failing Command Should Not Block the Next One on the Same Key")
+    void execute_shouldPropagateErrorsAndContinue() {
+        StepVerifier.create(executor.execute("passenger-1", () -> Mono.<String>error(new IllegalStateException("boom"))))
+                .expectErrorMessage("boom")
+                .verify();
+
+        StepVerifier.create(executor.execute("passenger-1", () -> Mono.just("next")))
+                .expectNext("next")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Execute - A Hung Command Should Time Out and Release Its Stripe")
+    void execute_shouldTimeOutHungCommand() {
+        StripedSerialExecutor bounded = new StripedSerialExecutor(1, Duration.ofMillis(50));
+
+        try {
+            StepVerifier.create(bounded.execute("passenger-1", Mono::never))
+                    .expectError(TimeoutException.class)
+                    .verify(Duration.ofSeconds(5));
+
+            StepVerifier.create(bounded.execute("passenger-1", () -> Mono.just("next")))
+                    .expectNext("next")
+                    .verifyComplete();
+        } finally {
+            bounded.close();
+        }
+
+        assertThat(bounded.timedOutCount()).isEqualTo(1);
+        assertThat(bounded.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Execute - An Empty Command Should Complete Empty")
+    void execute_shouldCompleteEmpty() {
+        StepVerifier.create(executor.execute("passenger-1", Mono::empty))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Execute - Disabled Executor Should Run the Command Directly")
+    void execute_disabledShouldPassThrough() {
+        StripedSerialExecutor disabled = StripedSerialExecutor.disabled();
+
+        StepVerifier.create(disabled.execute("passenger-1", () -> Mono.just("direct")))
+                .expectNext("direct")
+                .verifyComplete();
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.submittedCount()).isZero();
+    }
+
+    private static String distinctStripeKey(int i) {
+        return String.valueOf((char) ('a' + i));
+    }
+
+    private static Supplier<Mono<Integer>> tracked(int i, AtomicInteger active, AtomicInteger maxActive, List<Integer> order) {
+        return () -> Mono.fromRunnable(() -> {
+                    order.add(i);
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                })
+                .then(Mono.delay(Duration.ofMillis(20)))
+                .doOnNext(tick -> active.decrementAndGet())
+                .thenReturn(i);
+    }
+}
@@ -0,0 +1,202 @@
+package com.workshop.passenger.infrastructure.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mongodb.client.result.DeleteResult;
+import com.workshop.passenger.domain.model.events.PassengerEvent;
+import com.workshop.passenger.infraestructure.outbox.EventSink;
+import com.workshop.passenger.infraestructure.outbox.FileEventSink;
+import com.workshop.passenger.infraestructure.outbox.InMemoryEventSink;
+import com.workshop.passenger.infraestructure.outbox.OutboxRelay;
+import com.workshop.passenger.infraestructure.outbox.OutboxRelayLease;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("OutboxRelay Unit Tests")
+class OutboxRelayTest {
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private List<PassengerEvent> outbox;
+    private InMemoryEventSink sink;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        outbox = new ArrayList<>();
+        sink = new InMemoryEventSink();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(OutboxRelayLease.class))).thenReturn(Mono.just(new OutboxRelayLease()));
+        when(mongoTemplate.find(any(Query.class), eq(PassengerEvent.class)))
+                .thenAnswer(invocation -> Flux.fromIterable(outbox.stream()
+                                .sorted(Comparator.comparing(PassengerEvent::getPassengerId).thenComparing(PassengerEvent::getVersion))
+                                .toList())
+                        .take(invocation.<Query>getArgument(0).getLimit()));
+        when(mongoTemplate.remove(any(Query.class), eq(PassengerEvent.class))).thenAnswer(invocation -> {
+            List<ObjectId> ids = invocation.<Query>getArgument(0).getQueryObject()
+                    .get("_id", Document.class).getList("$in", ObjectId.class);
+            outbox.removeIf(event -> ids.contains(event.getId()));
+            return Mono.just(DeleteResult.acknowledged(ids.size()));
+        });
+    }
+
+    @Test
+    @DisplayName("RelayBatch - Should Publish Events Ordered by Passenger and Version and Remove Them")
+    void relayBatch_shouldPublishInPassengerOrder() {
+        outbox.addAll(List.of(
+                event("p1", PassengerEvent.Type.PASSENGER_CREATED, 0L),
+                event("p2", PassengerEvent.Type.PASSENGER_CREATED, 0L),
+                event("p1", PassengerEvent.Type.TRIP_REMOVED, 2L),
+                event("p2", PassengerEvent.Type.PASSENGER_DELETED, 1L),
+                event("p1", PassengerEvent.Type.TRIP_ADDED, 1L)));
+        OutboxRelay relay = relay(sink, 10);
+
+        StepVerifier.create(relay.relayBatch())
+                .expectNext(5)
+                .verifyComplete();
+
+        assertThat(sink.events()).extracting(PassengerEvent::getPassengerId, PassengerEvent::getType).containsExactly(
+                tuple("p1", PassengerEvent.Type.PASSENGER_CREATED),
+                tuple("p1", PassengerEvent.Type.TRIP_ADDED),
+                tuple("p1", PassengerEvent.Type.TRIP_REMOVED),
+                tuple("p2", PassengerEvent.Type.PASSENGER_CREATED),
+                tuple("p2", PassengerEvent.Type.PASSENGER_DELETED));
+        assertThat(outbox).isEmpty();
+        assertThat(relay.publishedCount()).isEqualTo(5);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(PassengerEvent.class));
+        assertThat(query.getValue().getSortObject().keySet()).containsExactly("passengerId", "version", "_id");
+    }
+
+    @Test
+    @DisplayName("RelayBatch - Should Leave the Outbox Alone While Another Relay Holds the Lease")
+    void relayBatch_shouldSkipWithoutLease() {
+        outbox.add(event("p1", PassengerEvent.Type.PASSENGER_CREATED, 0L));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(OutboxRelayLease.class))).thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key")));
+        OutboxRelay relay = relay(sink, 10);
+
+        StepVerifier.create(relay.relayBatch())
+                .expectNext(0)
+                .verifyComplete();
+
+        assertThat(sink.events()).isEmpty();
+        assertThat(outbox).hasSize(1);
+        assertThat(relay.leaseMissCount()).isEqualTo(1);
+        verify(mongoTemplate, never()).find(any(Query.class), eq(PassengerEvent.class));
+    }
+
+    @Test
+    @DisplayName("RelayBatch - Should Claim the Lease for This Relay Until It Expires")
+    void relayBatch_shouldClaimLease() {
+        OutboxRelay relay = relay(sink, 10);
+
+        StepVerifier.create(relay.relayBatch())
+                .expectNext(0)
+                .verifyComplete();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), options.capture(), eq(OutboxRelayLease.class));
+        assertThat(query.getValue().getQueryObject()).containsEntry("_id", "relay").containsKey("$or");
+        assertThat(update.getValue().getUpdateObject().get("$set", Document.class)).containsKeys("owner", "leasedUntil");
+        assertThat(options.getValue().isUpsert()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Drain - Should Keep Relaying While Batches Come Back Full")
+    void drain_shouldRelayAllBatches() {
+        for (long version = 0; version < 5; version++) {
+            outbox.add(event("p1", PassengerEvent.Type.PASSENGER_UPDATED, version));
+        }
+        OutboxRelay relay = relay(sink, 2);
+
+        StepVerifier.create(relay.drain())
+                .expectNext(5L)
+                .verifyComplete();
+
+        assertThat(sink.events()).extracting(PassengerEvent::getVersion).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(relay.batchCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("RelayBatch - Should Keep Events in the Outbox When the Sink Fails")
+    void relayBatch_shouldKeepEventsOnSinkFailure() {
+        outbox.add(event("p1", PassengerEvent.Type.PASSENGER_CREATED, 0L));
+        OutboxRelay relay = relay(events -> Mono.error(new IllegalStateException("sink down")), 10);
+
+        StepVerifier.create(relay.relayBatch())
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertThat(outbox).hasSize(1);
+        assertThat(relay.failureCount()).isEqualTo(1);
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(PassengerEvent.class));
+    }
+
+    @Test
+    @DisplayName("FileEventSink - Should Append One JSON Line per Event")
+    void fileEventSink_shouldAppendJsonLines(@TempDir Path directory) throws Exception {
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        FileEventSink fileSink = new FileEventSink(directory.resolve("events.jsonl"), objectMapper);
+        outbox.add(event("p1", PassengerEvent.Type.PASSENGER_CREATED, 0L));
+        outbox.add(event("p1", PassengerEvent.Type.TRIP_REMOVED, 1L));
+        OutboxRelay relay = relay(fileSink, 10);
+
+        relay.drain().block();
+
+        List<String> lines = Files.readAllLines(fileSink.getPath());
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines.get(1)).get("type").asText()).isEqualTo("TRIP_REMOVED");
+        assertThat(ObjectId.isValid(objectMapper.readTree(lines.get(0)).get("id").asText())).isTrue();
+        verify(mongoTemplate, times(1)).remove(any(Query.class), eq(PassengerEvent.class));
+    }
+
+    private OutboxRelay relay(EventSink eventSink, int batchSize) {
+        return new OutboxRelay(mongoTemplate, eventSink, batchSize, Duration.ofSeconds(1), Duration.ofSeconds(30));
+    }
+
+    private static PassengerEvent event(String passengerId, PassengerEvent.Type type, Long version) {
+        return PassengerEvent.builder()
+                .id(new ObjectId())
+                .passengerId(passengerId)
+                .type(type)
+                .version(version)
+                .payload(Map.of())
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.workshop.passenger.infrastructure.outbox;
+
+import com.mongodb.MongoException;
+import com.workshop.passenger.domain.model.events.PassengerEvent;
+import com.workshop.passenger.infraestructure.outbox.PassengerOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("PassengerOutbox Unit Tests")
+class PassengerOutboxTest {
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private PassengerOutbox outbox;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionalOperator.transactional(anyMono())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mongoTemplate.insert(any(PassengerEvent.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        outbox = new PassengerOutbox(mongoTemplate, transactionalOperator, 3);
+    }
+
+    @Test
+    @DisplayName("Transactional - Should Retry the Whole Command on a Transient Transaction Error")
+    void transactional_shouldRetryTransientErrors() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> command = Mono.defer(() -> attempts.incrementAndGet() == 1
+                ? Mono.error(transientError())
+                : Mono.just("written"));
+
+        StepVerifier.create(outbox.transactional(command))
+                .expectNext("written")
+                .verifyComplete();
+
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(outbox.transactionRetryCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Transactional - Should Not Retry Errors Without the Transient Label")
+    void transactional_shouldNotRetryOtherErrors() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> command = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new IllegalStateException("boom"));
+        });
+
+        StepVerifier.create(outbox.transactional(command))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Append - Should Insert the Event Into the Outbox Collection")
+    void append_shouldInsertEvent() {
+        StepVerifier.create(outbox.append(() -> PassengerEvent.deleted("p1", 3L)))
+                .verifyComplete();
+
+        verify(mongoTemplate).insert(any(PassengerEvent.class));
+        assertThat(outbox.appendedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("AppendAll - Should Insert Every Event in One Round Trip")
+    void appendAll_shouldInsertEventsTogether() {
+        when(mongoTemplate.insertAll(anyCollection())).thenAnswer(invocation -> Flux.fromIterable(invocation.getArgument(0)));
+
+        StepVerifier.create(outbox.appendAll(() -> List.of(PassengerEvent.deleted("p1", 3L), PassengerEvent.deleted("p2", 1L))))
+                .verifyComplete();
+        StepVerifier.create(outbox.appendAll(List::of))
+                .verifyComplete();
+
+        verify(mongoTemplate, times(1)).insertAll(anyCollection());
+        verify(mongoTemplate, never()).insert(any(PassengerEvent.class));
+        assertThat(outbox.appendedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Disabled - Should Run the Command Without a Transaction and Record Nothing")
+    void disabled_shouldPassThrough() {
+        PassengerOutbox disabled = PassengerOutbox.disabled();
+
+        StepVerifier.create(disabled.transactional(Mono.just("written"))
+                        .flatMap(result -> disabled.append(() -> {
+                            throw new AssertionError("Event should not be built");
+                        }).thenReturn(result)))
+                .expectNext("written")
+                .verifyComplete();
+
+        verify(transactionalOperator, never()).transactional(anyMono());
+    }
+
+    private static RuntimeException transientError() {
+        MongoException writeConflict = new MongoException(112, "WriteConflict");
+        writeConflict.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+        return new UncategorizedMongoDbException("Write conflict", writeConflict);
+    }
+
+    private static <T> Mono<T> anyMono() {
+        return any();
+    }
+}
@@ -0,0 +1,141 @@
+package com.workshop.passenger.infrastructure.persistence;
+
+import com.workshop.passenger.infraestructure.persistence.IndexRegistry;
+import com.workshop.passenger.infraestructure.persistence.IndexSpec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("IndexRegistry Unit Tests")
+class IndexRegistryTest {
+
+    private static final IndexSpec EMAIL = IndexSpec.uniqueWhenPresent("Passenger", "email_unique", "email");
+    private static final IndexSpec TRIP_ID = IndexSpec.on("Passenger", "trips_tripId", "trips.tripId");
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private ReactiveIndexOperations indexOperations;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        indexOperations = mock(ReactiveIndexOperations.class);
+        when(mongoTemplate.indexOps("Passenger")).thenReturn(indexOperations);
+        when(indexOperations.ensureIndex(any(IndexDefinition.class)))
+                .thenAnswer(invocation -> Mono.just(name(invocation.getArgument(0))));
+    }
+
+    @Test
+    @DisplayName("EnsureIndexes - Should Build Every Declared Index and Mark It Ready Once Listed")
+    void ensureIndexes_shouldBuildAndVerify() {
+        when(indexOperations.getIndexInfo()).thenReturn(Flux.just(info("_id_"), info("email_unique"), info("trips_tripId")));
+        IndexRegistry registry = new IndexRegistry(mongoTemplate, List.of(EMAIL, TRIP_ID), Duration.ZERO);
+
+        StepVerifier.create(registry.ensureIndexes()).verifyComplete();
+
+        ArgumentCaptor<IndexDefinition> definitions = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOperations, times(2)).ensureIndex(definitions.capture());
+        Document email = definitions.getAllValues().get(0).getIndexOptions();
+        assertThat(email.get("unique")).isEqualTo(true);
+        assertThat(email.get("partialFilterExpression", Document.class).get("email", Document.class))
+                .containsEntry("$exists", true);
+        assertThat(definitions.getAllValues().get(1).getIndexOptions()).doesNotContainKey("partialFilterExpression");
+        assertThat(definitions.getAllValues().get(1).getIndexKeys()).containsEntry("trips.tripId", 1);
+        assertThat(registry.status(EMAIL)).isEqualTo(IndexRegistry.Status.READY);
+        assertThat(registry.status(TRIP_ID)).isEqualTo(IndexRegistry.Status.READY);
+        assertThat(registry.missingCount()).isZero();
+        assertThat(registry.buildCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("EnsureIndexes - Should Mark a Failed Build Without Stopping the Others")
+    void ensureIndexes_shouldContinueAfterFailure() {
+        when(indexOperations.ensureIndex(any(IndexDefinition.class)))
+                .thenReturn(Mono.error(new IllegalStateException("E11000 duplicate key")))
+                .thenReturn(Mono.just("trips_tripId"));
+        when(indexOperations.getIndexInfo()).thenReturn(Flux.just(info("_id_"), info("trips_tripId")));
+        IndexRegistry registry = new IndexRegistry(mongoTemplate, List.of(EMAIL, TRIP_ID), Duration.ZERO);
+
+        StepVerifier.create(registry.ensureIndexes()).verifyComplete();
+
+        assertThat(registry.status(EMAIL)).isEqualTo(IndexRegistry.Status.FAILED);
+        assertThat(registry.status(TRIP_ID)).isEqualTo(IndexRegistry.Status.READY);
+        assertThat(registry.buildFailureCount()).isEqualTo(1);
+        assertThat(registry.missingCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Verify - Should Report an Index Dropped After Startup as Missing")
+    void verify_shouldReportDroppedIndex() {
+        when(indexOperations.getIndexInfo())
+                .thenReturn(Flux.just(info("email_unique"), info("trips_tripId")))
+                .thenReturn(Flux.just(info("email_unique")));
+        IndexRegistry registry = new IndexRegistry(mongoTemplate, List.of(EMAIL, TRIP_ID), Duration.ZERO);
+        registry.ensureIndexes().block();
+
+        StepVerifier.create(registry.verify()).verifyComplete();
+
+        assertThat(registry.status(TRIP_ID)).isEqualTo(IndexRegistry.Status.MISSING);
+        assertThat(registry.verificationCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("BindTo - Should Expose Per-Index Readiness and Missing Count as Metrics")
+    void bindTo_shouldExposeStatus() {
+        when(indexOperations.getIndexInfo()).thenReturn(Flux.just(info("email_unique")));
+        IndexRegistry registry = new IndexRegistry(mongoTemplate, List.of(EMAIL, TRIP_ID), Duration.ZERO);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        registry.bindTo(meterRegistry, "passengers.indexes");
+
+        registry.ensureIndexes().block();
+
+        assertThat(meterRegistry.get("passengers.indexes.index.ready").tag("index", "email_unique").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("passengers.indexes.index.ready").tag("index", "trips_tripId").gauge().value()).isZero();
+        assertThat(meterRegistry.get("passengers.indexes.missing").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("passengers.indexes.builds").functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Start - Should Not Touch Mongo When Disabled")
+    void start_shouldDoNothingWhenDisabled() {
+        IndexRegistry registry = IndexRegistry.disabled();
+
+        registry.start();
+        registry.close();
+
+        assertThat(registry.isEnabled()).isFalse();
+        verify(mongoTemplate, never()).indexOps(any(String.class));
+    }
+
+    private static String name(IndexDefinition definition) {
+        return definition.getIndexOptions().getString("name");
+    }
+
+    private static IndexInfo info(String name) {
+        return new IndexInfo(List.of(), name, false, false, "");
+    }
+}
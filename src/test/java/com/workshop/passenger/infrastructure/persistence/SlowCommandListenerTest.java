@@ -0,0 +1,82 @@
+package com.workshop.passenger.infrastructure.persistence;
+
+import com.mongodb.RequestContext;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.workshop.passenger.infraestructure.persistence.SlowCommandListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("SlowCommandListener Unit Tests")
+class SlowCommandListenerTest {
+
+    private static final String NAME = "passengers.mongo.slow-commands";
+
+    private SimpleMeterRegistry meterRegistry;
+    private SlowCommandListener listener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new SlowCommandListener(meterRegistry, NAME, Duration.ofMillis(100));
+    }
+
+    @Test
+    @DisplayName("CommandSucceeded - Should Count Commands Slower Than the Threshold by Command and Collection")
+    void commandSucceeded_shouldCountSlowCommands() {
+        listener.commandStarted(started(1, "find"));
+        listener.commandSucceeded(succeeded(1, "find", Duration.ofMillis(250)));
+
+        assertThat(listener.slowCommandCount()).isEqualTo(1);
+        assertThat(meterRegistry.get(NAME)
+                .tag("command", "find")
+                .tag("collection", "Passenger")
+                .tag("outcome", "success")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(NAME + ".duration").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(250);
+    }
+
+    @Test
+    @DisplayName("CommandSucceeded - Should Ignore Commands Under the Threshold")
+    void commandSucceeded_shouldIgnoreFastCommands() {
+        listener.commandStarted(started(2, "find"));
+        listener.commandSucceeded(succeeded(2, "find", Duration.ofMillis(5)));
+
+        assertThat(listener.slowCommandCount()).isZero();
+        assertThat(meterRegistry.find(NAME).counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("CommandFailed - Should Count Slow Failures With a Failure Outcome")
+    void commandFailed_shouldCountSlowFailures() {
+        listener.commandStarted(started(3, "update"));
+        listener.commandFailed(new CommandFailedEvent(mock(RequestContext.class), 1, 3, null, "Workshop", "update",
+                Duration.ofMillis(400).toNanos(), new IllegalStateException("timeout")));
+
+        assertThat(meterRegistry.get(NAME)
+                .tag("command", "update")
+                .tag("outcome", "failure")
+                .counter().count()).isEqualTo(1);
+    }
+
+    private static CommandStartedEvent started(int requestId, String command) {
+        return new CommandStartedEvent(mock(RequestContext.class), 1, requestId, null, "Workshop", command,
+                new BsonDocument(command, new BsonString("Passenger")));
+    }
+
+    private static CommandSucceededEvent succeeded(int requestId, String command, Duration elapsed) {
+        return new CommandSucceededEvent(mock(RequestContext.class), 1, requestId, null, "Workshop", command,
+                new BsonDocument(), elapsed.toNanos());
+    }
+}
@@ -0,0 +1,134 @@
+package com.workshop.passenger.infrastructure.route;
+
+import com.workshop.passenger.infraestructure.Route.model.aggregates.Route;
+import com.workshop.passenger.infraestructure.Route.model.entities.Schedule;
+import com.workshop.passenger.infraestructure.Route.model.entities.Stop;
+import com.workshop.passenger.infraestructure.Route.model.valueobjects.RouteIndex;
+import com.workshop.passenger.infraestructure.Route.model.valueobjects.WeekSchedule;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RouteIndex Unit Tests")
+class RouteIndexTest {
+
+    private final Route route = Route.builder()
+            .routeId(new ObjectId("672caeb97e634e3fe18ada37"))
+            .stops(List.of(
+                    stop("stop1", "Central"),
+                    stop("stop2", "Market"),
+                    stop("stop3", "Harbour"),
+                    stop("stop1", "Central")))
+            .build();
+
+    @Test
+    @DisplayName("CheckStops - Should Accept Stops in Route Order by ID or Name")
+    void checkStops_shouldAcceptForwardStops() {
+        RouteIndex routeIndex = RouteIndex.of(route);
+
+        assertThat(routeIndex.getRouteId()).isEqualTo("672caeb97e634e3fe18ada37");
+        assertThat(routeIndex.checkStops("stop1", "stop3")).isEqualTo(RouteIndex.StopOrder.VALID);
+        assertThat(routeIndex.checkStops("Market", "Harbour")).isEqualTo(RouteIndex.StopOrder.VALID);
+    }
+
+    @Test
+    @DisplayName("CheckStops - Should Reject Unknown Stops and the Wrong Direction")
+    void checkStops_shouldRejectInvalidStops() {
+        RouteIndex routeIndex = RouteIndex.of(route);
+
+        assertThat(routeIndex.checkStops("Nowhere", "stop2")).isEqualTo(RouteIndex.StopOrder.UNKNOWN_START);
+        assertThat(routeIndex.checkStops("stop2", "Nowhere")).isEqualTo(RouteIndex.StopOrder.UNKNOWN_END);
+        assertThat(routeIndex.checkStops("stop3", "stop2")).isEqualTo(RouteIndex.StopOrder.WRONG_DIRECTION);
+        assertThat(routeIndex.checkStops("stop2", "stop2")).isEqualTo(RouteIndex.StopOrder.WRONG_DIRECTION);
+    }
+
+    @Test
+    @DisplayName("CheckStops - Should Allow Returning to the First Stop on a Loop Route")
+    void checkStops_shouldHandleLoopRoutes() {
+        RouteIndex routeIndex = RouteIndex.of(route);
+
+        assertThat(routeIndex.checkStops("stop3", "Central")).isEqualTo(RouteIndex.StopOrder.VALID);
+    }
+
+    @Test
+    @DisplayName("CheckStops - Should Skip the Check When the Route or Trip Has No Stops")
+    void checkStops_shouldSkipWithoutStops() {
+        RouteIndex emptyIndex = RouteIndex.of(new Route());
+
+        assertThat(emptyIndex.hasStops()).isFalse();
+        assertThat(emptyIndex.checkStops("A", "B")).isEqualTo(RouteIndex.StopOrder.NOT_CHECKED);
+        assertThat(RouteIndex.of(route).checkStops(null, "stop2")).isEqualTo(RouteIndex.StopOrder.NOT_CHECKED);
+        assertThat(RouteIndex.of(route).hasStop("Market")).isTrue();
+    }
+
+    @Test
+    @DisplayName("CheckSchedule - Should Accept Trips Inside the Day Type Operating Window")
+    void checkSchedule_shouldAcceptTripsInsideWindow() {
+        RouteIndex routeIndex = RouteIndex.of(scheduledRoute());
+
+        assertThat(routeIndex.checkSchedule(at("2024-01-01T08:00"), at("2024-01-01T08:40")))
+                .isEqualTo(RouteIndex.ScheduleFit.VALID);
+        assertThat(routeIndex.checkSchedule(at("2024-01-06T19:40"), at("2024-01-06T20:00")))
+                .isEqualTo(RouteIndex.ScheduleFit.VALID);
+    }
+
+    @Test
+    @DisplayName("CheckSchedule - Should Reject Departures Outside the Precomputed Slots")
+    void checkSchedule_shouldRejectDeparturesOutsideSlots() {
+        RouteIndex routeIndex = RouteIndex.of(scheduledRoute());
+
+        assertThat(routeIndex.windowFor(DayOfWeek.MONDAY).lastDeparture()).isEqualTo(21 * 60 + 45);
+        assertThat(routeIndex.checkSchedule(at("2024-01-01T07:59"), at("2024-01-01T08:30")))
+                .isEqualTo(RouteIndex.ScheduleFit.NO_DEPARTURE);
+        assertThat(routeIndex.checkSchedule(at("2024-01-01T21:50"), at("2024-01-01T21:55")))
+                .isEqualTo(RouteIndex.ScheduleFit.NO_DEPARTURE);
+        assertThat(routeIndex.checkSchedule(at("2024-01-06T08:30"), at("2024-01-06T09:30")))
+                .isEqualTo(RouteIndex.ScheduleFit.NO_DEPARTURE);
+    }
+
+    @Test
+    @DisplayName("CheckSchedule - Should Reject Trips Ending After Close or Before They Start")
+    void checkSchedule_shouldRejectInvalidArrivals() {
+        RouteIndex routeIndex = RouteIndex.of(scheduledRoute());
+
+        assertThat(routeIndex.checkSchedule(at("2024-01-01T21:30"), at("2024-01-01T22:10")))
+                .isEqualTo(RouteIndex.ScheduleFit.AFTER_CLOSE);
+        assertThat(routeIndex.checkSchedule(at("2024-01-01T21:30"), at("2024-01-02T08:10")))
+                .isEqualTo(RouteIndex.ScheduleFit.AFTER_CLOSE);
+        assertThat(routeIndex.checkSchedule(at("2024-01-01T10:00"), at("2024-01-01T09:00")))
+                .isEqualTo(RouteIndex.ScheduleFit.END_BEFORE_START);
+    }
+
+    @Test
+    @DisplayName("CheckSchedule - Should Skip the Check Without Times or Schedule")
+    void checkSchedule_shouldSkipWithoutTimesOrSchedule() {
+        assertThat(RouteIndex.of(scheduledRoute()).checkSchedule(null, at("2024-01-01T10:00")))
+                .isEqualTo(RouteIndex.ScheduleFit.NOT_CHECKED);
+        assertThat(RouteIndex.of(route).checkSchedule(at("2024-01-01T03:00"), at("2024-01-01T04:00")))
+                .isEqualTo(RouteIndex.ScheduleFit.NOT_CHECKED);
+    }
+
+    private static Route scheduledRoute() {
+        return Route.builder()
+                .routeId(new ObjectId("672caeb97e634e3fe18ada37"))
+                .schedule(new Schedule(
+                        new WeekSchedule(LocalTime.of(8, 0), LocalTime.of(22, 0), 15),
+                        new WeekSchedule(LocalTime.of(9, 0), LocalTime.of(20, 0), 20)))
+                .build();
+    }
+
+    private static LocalDateTime at(String dateTime) {
+        return LocalDateTime.parse(dateTime);
+    }
+
+    private static Stop stop(String stopId, String stopName) {
+        return Stop.builder().stopId(stopId).stopName(stopName).arrivalTimes(List.of("08:00")).build();
+    }
+}
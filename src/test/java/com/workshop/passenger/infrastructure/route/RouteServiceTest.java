@@ -1,15 +1,34 @@
 package com.workshop.passenger.infrastructure.route;
 
 import com.workshop.passenger.infraestructure.Route.model.aggregates.Route;
+import com.workshop.passenger.infraestructure.Route.model.valueobjects.RouteIndex;
 import com.workshop.passenger.infraestructure.Route.service.RouteService;
+import com.workshop.passenger.infraestructure.cache.ExpiringCache;
+import com.workshop.passenger.infraestructure.cache.KnownIdFilter;
+import com.workshop.passenger.infraestructure.cache.LocalReplica;
+import com.workshop.passenger.infraestructure.client.BatchingLookup;
+import com.workshop.passenger.infraestructure.client.Bulkhead;
+import com.workshop.passenger.infraestructure.client.CircuitBreaker;
+import com.workshop.passenger.infraestructure.client.DownstreamGuard;
+import com.workshop.passenger.infraestructure.client.RequestHedger;
+import com.workshop.passenger.infraestructure.client.SingleFlight;
+import com.workshop.passenger.infraestructure.client.DownstreamUnavailableException;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -91,17 +110,226 @@ class RouteServiceTest {
     }
 
     @Test
-    @DisplayName("When fetching a route by ID and a server error occurs, then an empty result is returned")
+    @DisplayName("When fetching a route by ID and a server error occurs, then an unavailable error is returned instead of a missing route")
     void testGetRouteByIdServerError() {
         mockWebServer.enqueue(new MockResponse()
                 .setResponseCode(500)
                 .setBody("Internal Server Error")
                 .addHeader("Content-Type", "application/json"));
 
-        Mono<Route> routeMono = routeService.getRouteById("1");
-        Route route = routeMono.block();
+        StepVerifier.create(routeService.getRouteById("1"))
+                .expectError(DownstreamUnavailableException.class)
+                .verify();
+    }
 
-        assertNull(route);
+    @Test
+    @DisplayName("When a route index is fetched twice with caching enabled, then the Route microservice is called once")
+    void testGetRouteByIdCached() {
+        RouteService cachedRouteService = cachedRouteService();
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"_id\": \"672caeb97e634e3fe18ada37\", \"routeName\": \"Route 1\"}")
+                .addHeader("Content-Type", "application/json"));
+
+        RouteIndex first = cachedRouteService.getRouteIndex("1").block();
+        RouteIndex second = cachedRouteService.getRouteIndex("1").block();
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("When a missing route index is fetched twice with caching enabled, then the not found result is cached")
+    void testGetRouteByIdNotFoundCached() {
+        RouteService cachedRouteService = cachedRouteService();
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(404)
+                .setBody("Not Found")
+                .addHeader("Content-Type", "application/json"));
+
+        assertNull(cachedRouteService.getRouteIndex("999").block());
+        assertNull(cachedRouteService.getRouteIndex("999").block());
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("When the Route microservice fails with caching enabled, then the failure is not cached")
+    void testGetRouteByIdServerErrorNotCached() {
+        RouteService cachedRouteService = cachedRouteService();
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(500)
+                .setBody("Internal Server Error")
+                .addHeader("Content-Type", "application/json"));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"_id\": \"672caeb97e634e3fe18ada37\", \"routeName\": \"Route 1\"}")
+                .addHeader("Content-Type", "application/json"));
+
+        StepVerifier.create(cachedRouteService.getRouteIndex("1"))
+                .expectError(DownstreamUnavailableException.class)
+                .verify();
+        assertNotNull(cachedRouteService.getRouteIndex("1").block());
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("When an uncached route index is fetched concurrently with caching enabled, then the Route microservice is called once")
+    void testGetRouteIndexConcurrentMissesCoalesced() {
+        RouteService cachedRouteService = cachedRouteService();
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"_id\": \"672caeb97e634e3fe18ada37\", \"routeName\": \"Route 1\"}")
+                .addHeader("Content-Type", "application/json")
+                .setBodyDelay(100, TimeUnit.MILLISECONDS));
+
+        Tuple2<RouteIndex, RouteIndex> routeIndexes = Mono.zip(
+                cachedRouteService.getRouteIndex("1"),
+                cachedRouteService.getRouteIndex("1")).block(Duration.ofSeconds(5));
+
+        assertNotNull(routeIndexes);
+        assertSame(routeIndexes.getT1(), routeIndexes.getT2());
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("When routes are fetched concurrently with batching enabled, then one bulk request is sent")
+    void testGetRouteByIdBatched() throws Exception {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setBody("""
+                                [
+                                    {"routeId": "672caeb97e634e3fe18ada37", "routeName": "Route 1"},
+                                    {"routeId": "672caeb97e634e3fe18ada38", "routeName": "Route 2"}
+                                ]
+                                """)
+                        .addHeader("Content-Type", "application/json");
+            }
+        });
+        BatchingLookup<String, Route> batchingLookup = new BatchingLookup<>(Duration.ofMillis(20), 50, 8);
+        RouteService batchedRouteService = new RouteService(webClient,
+                mockWebServer.url("/").toString(),
+                "/routes/{id}",
+                "/routes?ids={ids}",
+                ExpiringCache.disabled(),
+                new SingleFlight<>(),
+                batchingLookup,
+                DownstreamGuard.disabled(),
+                RequestHedger.disabled(),
+                KnownIdFilter.disabled(),
+                LocalReplica.disabled());
+
+        Tuple2<Route, Route> routes = Mono.zip(
+                batchedRouteService.getRouteById("672caeb97e634e3fe18ada37"),
+                batchedRouteService.getRouteById("672caeb97e634e3fe18ada38")).block();
+        batchingLookup.close();
+
+        assertNotNull(routes);
+        assertEquals("Route 1", routes.getT1().getRouteName());
+        assertEquals("Route 2", routes.getT2().getRouteName());
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertTrue(mockWebServer.takeRequest().getPath().startsWith("/routes?ids="));
+    }
+
+    @Test
+    @DisplayName("When the circuit breaker opens, then lookups fail fast with an unavailable error instead of reporting a missing route")
+    void testGetRouteById_CircuitBreakerOpen() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        CircuitBreaker circuitBreaker = new CircuitBreaker("routes", 2, 2, 50, Duration.ofMinutes(1), 1, error -> true);
+        RouteService guardedRouteService = new RouteService(webClient,
+                mockWebServer.url("/").toString(),
+                "/routes/{id}",
+                "",
+                ExpiringCache.disabled(),
+                new SingleFlight<>(),
+                BatchingLookup.disabled(),
+                new DownstreamGuard(circuitBreaker, Bulkhead.disabled("routes")),
+                RequestHedger.disabled(),
+                KnownIdFilter.disabled(),
+                LocalReplica.disabled());
+
+        StepVerifier.create(guardedRouteService.getRouteById("1"))
+                .expectError(DownstreamUnavailableException.class)
+                .verify();
+        StepVerifier.create(guardedRouteService.getRouteById("2"))
+                .expectError(DownstreamUnavailableException.class)
+                .verify();
+        StepVerifier.create(guardedRouteService.getRouteById("3"))
+                .expectError(DownstreamUnavailableException.class)
+                .verify();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("When fetching a route index, then only the stop positions of the route are kept")
+    void testGetRouteIndex() {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        {
+                            "routeId": "672caeb97e634e3fe18ada37",
+                            "routeName": "Route 1",
+                            "stops": [
+                                {"stopId": "stop1", "stopName": "Stop A", "arrivalTimes": ["08:00"]},
+                                {"stopId": "stop2", "stopName": "Stop B", "arrivalTimes": ["08:10"]}
+                            ]
+                        }
+                        """)
+                .addHeader("Content-Type", "application/json"));
+
+        RouteIndex routeIndex = routeService.getRouteIndex("672caeb97e634e3fe18ada37").block();
+
+        assertNotNull(routeIndex);
+        assertEquals("672caeb97e634e3fe18ada37", routeIndex.getRouteId());
+        assertEquals(RouteIndex.StopOrder.VALID, routeIndex.checkStops("stop1", "Stop B"));
+        assertEquals(RouteIndex.StopOrder.WRONG_DIRECTION, routeIndex.checkStops("stop2", "stop1"));
+    }
+
+    @Test
+    @DisplayName("When a route ID is not in the known-id filter, then it is rejected without calling the Route microservice")
+    void testGetRouteById_UnknownIdRejectedByFilter() {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"_id\": \"672caeb97e634e3fe18ada37\", \"routeName\": \"Route 1\"}")
+                .addHeader("Content-Type", "application/json"));
+        KnownIdFilter knownIds = new KnownIdFilter("routes", 100, 0.01,
+                () -> Flux.just("672caeb97e634e3fe18ada37"),
+                Duration.ofMinutes(10), Duration.ofMinutes(1), null);
+        knownIds.refresh().block();
+        RouteService filteredRouteService = new RouteService(webClient,
+                mockWebServer.url("/").toString(),
+                "/routes/{id}",
+                "",
+                ExpiringCache.disabled(),
+                new SingleFlight<>(),
+                BatchingLookup.disabled(),
+                DownstreamGuard.disabled(),
+                RequestHedger.disabled(),
+                knownIds,
+                LocalReplica.disabled());
+
+        assertNull(filteredRouteService.getRouteById("5f0000000000000000000001").block());
+        assertEquals(0, mockWebServer.getRequestCount());
+
+        Route route = filteredRouteService.getRouteById("672caeb97e634e3fe18ada37").block();
+        assertNotNull(route);
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertEquals(1, knownIds.rejectedCount());
+        assertEquals(1, knownIds.passedCount());
+    }
+
+    private RouteService cachedRouteService() {
+        return new RouteService(webClient,
+                mockWebServer.url("/").toString(),
+                "/routes/{id}",
+                "",
+                new ExpiringCache<>(100, Duration.ofMinutes(5), Duration.ofSeconds(30)),
+                new SingleFlight<>(),
+                BatchingLookup.disabled(),
+                DownstreamGuard.disabled(),
+                RequestHedger.disabled(),
+                KnownIdFilter.disabled(),
+                LocalReplica.disabled());
     }
 
     @AfterEach
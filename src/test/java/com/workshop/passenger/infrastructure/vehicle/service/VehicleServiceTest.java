@@ -2,14 +2,28 @@ package com.workshop.passenger.infrastructure.vehicle.service;
 
 import com.workshop.passenger.infraestructure.Vehicle.model.aggregates.Vehicle;
 import com.workshop.passenger.infraestructure.Vehicle.service.VehicleService;
+import com.workshop.passenger.infraestructure.cache.KnownIdFilter;
+import com.workshop.passenger.infraestructure.cache.LocalReplica;
+import com.workshop.passenger.infraestructure.client.BatchingLookup;
+import com.workshop.passenger.infraestructure.client.DownstreamGuard;
+import com.workshop.passenger.infraestructure.client.DownstreamUnavailableException;
+import com.workshop.passenger.infraestructure.client.RequestHedger;
+import com.workshop.passenger.infraestructure.client.SingleFlight;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -89,17 +103,73 @@ class VehicleServiceTest {
     }
 
     @Test
-    @DisplayName("When fetching a route by ID and a server error occurs, then an empty result is returned")
+    @DisplayName("When fetching a vehicle by ID and a server error occurs, then an unavailable error is returned instead of a missing vehicle")
     void testGetRouteByIdServerError() {
         mockWebServer.enqueue(new MockResponse()
                 .setResponseCode(500)
                 .setBody("Internal Server Error")
                 .addHeader("Content-Type", "application/json"));
 
-        Mono<Vehicle> routeMono = vehicleService.getVehicleById("1");
-        Vehicle vehicle = routeMono.block();
+        StepVerifier.create(vehicleService.getVehicleById("1"))
+                .expectError(DownstreamUnavailableException.class)
+                .verify();
+    }
 
-        assertNull(vehicle);
+    @Test
+    @DisplayName("When the same vehicle is fetched concurrently, then the Vehicle microservice is called once")
+    void testGetVehicleByIdConcurrentCallsCoalesced() {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"_id\": \"672caeb97e634e3fe18ada37\", \"licensePlate\": \"AAA\"}")
+                .setHeadersDelay(200, TimeUnit.MILLISECONDS)
+                .addHeader("Content-Type", "application/json"));
+
+        Tuple2<Vehicle, Vehicle> vehicles = Mono.zip(
+                vehicleService.getVehicleById("1"),
+                vehicleService.getVehicleById("1")).block();
+
+        assertNotNull(vehicles);
+        assertEquals("AAA", vehicles.getT1().getLicensePlate());
+        assertSame(vehicles.getT1(), vehicles.getT2());
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("When the Vehicle microservice has no bulk endpoint, then batched lookups fall back to single calls")
+    void testGetVehicleByIdBatchedFallsBackToSingleCalls() {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getPath().startsWith("/vehicles?ids=")) {
+                    return new MockResponse().setResponseCode(404);
+                }
+                String id = request.getPath().substring("/vehicles/".length());
+                return new MockResponse()
+                        .setBody("{\"vehicleId\": \"" + id + "\", \"licensePlate\": \"" + id + "\"}")
+                        .addHeader("Content-Type", "application/json");
+            }
+        });
+        BatchingLookup<String, Vehicle> batchingLookup = new BatchingLookup<>(Duration.ofMillis(20), 50, 8);
+        VehicleService batchedVehicleService = new VehicleService(webClient,
+                mockWebServer.url("/").toString(),
+                "/vehicles/{id}",
+                "/vehicles?ids={ids}",
+                new SingleFlight<>(),
+                batchingLookup,
+                DownstreamGuard.disabled(),
+                RequestHedger.disabled(),
+                KnownIdFilter.disabled(),
+                LocalReplica.disabled());
+
+        Tuple2<Vehicle, Vehicle> vehicles = Mono.zip(
+                batchedVehicleService.getVehicleById("672caeb97e634e3fe18ada37"),
+                batchedVehicleService.getVehicleById("672caeb97e634e3fe18ada38")).block();
+        batchingLookup.close();
+
+        assertNotNull(vehicles);
+        assertEquals("672caeb97e634e3fe18ada37", vehicles.getT1().getLicensePlate());
+        assertEquals("672caeb97e634e3fe18ada38", vehicles.getT2().getLicensePlate());
+        assertEquals(3, mockWebServer.getRequestCount());
+        assertEquals(1, batchingLookup.bulkFallbackCount());
     }
 
     @AfterEach